@@ -1,6 +1,7 @@
 package com.physics.config;
 
-import com.physics.engine.PhysicsWorld;
+import com.physics.engine.WorldRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -12,11 +13,16 @@ import org.springframework.context.annotation.Configuration;
 public class AppConfig {
 
     /**
-     * Create a singleton PhysicsWorld bean.
-     * This ensures all services share the same physics world instance.
+     * Create the singleton WorldRegistry bean.
+     * All services look up their world in it; it starts with the "default"
+     * world used by the unscoped routes. The tick scheduler is stopped on shutdown.
      */
-    @Bean
-    public PhysicsWorld physicsWorld() {
-        return new PhysicsWorld();
+    @Bean(destroyMethod = "close")
+    public WorldRegistry worldRegistry(@Value("${simulation.tick-rate:60}") double tickRate,
+                                       @Value("${simulation.max-catch-up-steps:5}") int maxCatchUpSteps,
+                                       @Value("${simulation.scheduler.threads:0}") int schedulerThreads,
+                                       @Value("${simulation.scheduler.max-steps-per-slice:2}") int maxStepsPerSlice) {
+        int threads = schedulerThreads > 0 ? schedulerThreads : Runtime.getRuntime().availableProcessors();
+        return new WorldRegistry(tickRate, maxCatchUpSteps, threads, maxStepsPerSlice);
     }
 }
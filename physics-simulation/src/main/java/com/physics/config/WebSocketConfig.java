@@ -0,0 +1,28 @@
+package com.physics.config;
+
+import com.physics.controller.StateStreamHandler;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * WebSocket configuration.
+ * Registers the binary state stream endpoints.
+ */
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final StateStreamHandler stateStreamHandler;
+
+    public WebSocketConfig(StateStreamHandler stateStreamHandler) {
+        this.stateStreamHandler = stateStreamHandler;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(stateStreamHandler, "/ws/state", "/ws/worlds/*/state")
+            .setAllowedOrigins("*");
+    }
+}
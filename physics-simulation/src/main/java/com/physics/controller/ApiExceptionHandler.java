@@ -0,0 +1,24 @@
+package com.physics.controller;
+
+import com.physics.dto.ApiResponse;
+import com.physics.engine.WorldNotFoundException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps exceptions shared by all controllers to API responses.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    /**
+     * A /worlds/{worldId}/... route named a world that does not exist.
+     */
+    @ExceptionHandler(WorldNotFoundException.class)
+    public ResponseEntity<ApiResponse> handleWorldNotFound(WorldNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .body(ApiResponse.error(e.getMessage()));
+    }
+}
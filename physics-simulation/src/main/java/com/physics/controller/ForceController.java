@@ -4,6 +4,8 @@ import com.physics.dto.ApiResponse;
 import com.physics.dto.ApplyForceRequest;
 import com.physics.dto.ApplyImpulseRequest;
 import com.physics.dto.GravityRequest;
+import com.physics.engine.PhysicsWorld;
+import com.physics.engine.WorldRegistry;
 import com.physics.service.ForceService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -14,23 +16,26 @@ import org.springframework.web.bind.annotation.*;
  * Implements SRS Section 4.2 Force Handling Routes.
  */
 @RestController
-@RequestMapping("/forces")
+@RequestMapping({"/forces", "/worlds/{worldId}/forces"})
 @CrossOrigin(origins = "*")
 public class ForceController {
     
     private final ForceService forceService;
+    private final WorldRegistry worldRegistry;
 
-    public ForceController(ForceService forceService) {
+    public ForceController(ForceService forceService, WorldRegistry worldRegistry) {
         this.forceService = forceService;
+        this.worldRegistry = worldRegistry;
     }
 
     /**
      * POST /forces/apply - Apply a force to a body
      */
     @PostMapping("/apply")
-    public ResponseEntity<ApiResponse> applyForce(@RequestBody ApplyForceRequest request) {
+    public ResponseEntity<ApiResponse> applyForce(@PathVariable(required = false) String worldId, @RequestBody ApplyForceRequest request) {
+        PhysicsWorld world = worldRegistry.getWorld(worldId);
         try {
-            boolean applied = forceService.applyForce(request);
+            boolean applied = forceService.applyForce(world, request);
             if (applied) {
                 return ResponseEntity.ok(ApiResponse.success(
                     "Force applied to body " + request.getId()
@@ -48,9 +53,10 @@ public class ForceController {
      * POST /forces/impulse - Apply an impulse
      */
     @PostMapping("/impulse")
-    public ResponseEntity<ApiResponse> applyImpulse(@RequestBody ApplyImpulseRequest request) {
+    public ResponseEntity<ApiResponse> applyImpulse(@PathVariable(required = false) String worldId, @RequestBody ApplyImpulseRequest request) {
+        PhysicsWorld world = worldRegistry.getWorld(worldId);
         try {
-            boolean applied = forceService.applyImpulse(request);
+            boolean applied = forceService.applyImpulse(world, request);
             if (applied) {
                 return ResponseEntity.ok(ApiResponse.success(
                     "Impulse applied to body " + request.getId()
@@ -68,9 +74,10 @@ public class ForceController {
      * POST /forces/gravity - Change global gravity
      */
     @PostMapping("/gravity")
-    public ResponseEntity<ApiResponse> setGravity(@RequestBody GravityRequest request) {
+    public ResponseEntity<ApiResponse> setGravity(@PathVariable(required = false) String worldId, @RequestBody GravityRequest request) {
+        PhysicsWorld world = worldRegistry.getWorld(worldId);
         try {
-            forceService.setGravity(request);
+            forceService.setGravity(world, request);
             return ResponseEntity.ok(ApiResponse.success(
                 "Gravity updated to [" + request.getGravity()[0] + ", " + request.getGravity()[1] + "]"
             ));
@@ -84,7 +91,8 @@ public class ForceController {
      * GET /forces/gravity - Get current gravity
      */
     @GetMapping("/gravity")
-    public ResponseEntity<?> getGravity() {
-        return ResponseEntity.ok(forceService.getGravity());
+    public ResponseEntity<?> getGravity(@PathVariable(required = false) String worldId) {
+        PhysicsWorld world = worldRegistry.getWorld(worldId);
+        return ResponseEntity.ok(forceService.getGravity(world));
     }
 }
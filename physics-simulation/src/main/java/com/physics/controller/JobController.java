@@ -0,0 +1,135 @@
+package com.physics.controller;
+
+import com.physics.dto.ApiResponse;
+import com.physics.dto.JobRequest;
+import com.physics.engine.SimulationJob;
+import com.physics.engine.WorldNotFoundException;
+import com.physics.service.JobService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * REST Controller for background simulation jobs.
+ * A job runs a copy of a world (or a scene file) headless; clients poll its
+ * progress and download the final scene or trajectory when it is done.
+ */
+@RestController
+@RequestMapping("/jobs")
+@CrossOrigin(origins = "*")
+public class JobController {
+    
+    private final JobService jobService;
+
+    public JobController(JobService jobService) {
+        this.jobService = jobService;
+    }
+
+    /**
+     * POST /jobs - Start a background job
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse> createJob(@RequestBody JobRequest request) {
+        try {
+            SimulationJob job = jobService.submit(request);
+            return ResponseEntity.ok(ApiResponse.success(
+                "Job started with ID: " + job.getId(),
+                job.getSummary()
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (WorldNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to start job: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * GET /jobs - List all jobs with their progress
+     */
+    @GetMapping
+    public ResponseEntity<List<Map<String, Object>>> listJobs() {
+        return ResponseEntity.ok(jobService.listJobs());
+    }
+
+    /**
+     * GET /jobs/{id} - Retrieve a job's progress
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getJob(@PathVariable String id) {
+        Optional<SimulationJob> job = jobService.getJob(id);
+        if (job.isPresent()) {
+            return ResponseEntity.ok(job.get().getSummary());
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .body(ApiResponse.error("Job not found with ID: " + id));
+    }
+
+    /**
+     * POST /jobs/{id}/cancel - Cancel a job, keeping its partial results
+     */
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<ApiResponse> cancelJob(@PathVariable String id) {
+        if (jobService.cancelJob(id)) {
+            return ResponseEntity.ok(ApiResponse.success("Job cancelled with ID: " + id));
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .body(ApiResponse.error("Job not found with ID: " + id));
+    }
+
+    /**
+     * DELETE /jobs/{id} - Cancel a job and discard its results
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse> deleteJob(@PathVariable String id) {
+        if (jobService.deleteJob(id)) {
+            return ResponseEntity.ok(ApiResponse.success("Job deleted with ID: " + id));
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+            .body(ApiResponse.error("Job not found with ID: " + id));
+    }
+
+    /**
+     * GET /jobs/{id}/scene - Download the final scene of a finished job
+     */
+    @GetMapping("/{id}/scene")
+    public ResponseEntity<?> getJobScene(@PathVariable String id) {
+        Optional<SimulationJob> job = jobService.getJob(id);
+        if (job.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("Job not found with ID: " + id));
+        }
+        try {
+            return ResponseEntity.ok(jobService.getScene(job.get()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * GET /jobs/{id}/trajectory - Download the trajectory recorded by a job
+     */
+    @GetMapping("/{id}/trajectory")
+    public ResponseEntity<?> getJobTrajectory(@PathVariable String id) {
+        Optional<SimulationJob> job = jobService.getJob(id);
+        if (job.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("Job not found with ID: " + id));
+        }
+        try {
+            return ResponseEntity.ok(jobService.getTrajectory(job.get()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
@@ -1,15 +1,21 @@
 package com.physics.controller;
 
 import com.physics.dto.ApiResponse;
+import com.physics.dto.BatchResult;
 import com.physics.dto.CreateObjectRequest;
+import com.physics.dto.GenerateRequest;
 import com.physics.dto.UpdateObjectRequest;
+import com.physics.engine.PhysicsWorld;
+import com.physics.engine.WorldRegistry;
 import com.physics.model.PhysicsBody;
 import com.physics.service.ObjectService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -17,23 +23,26 @@ import java.util.Optional;
  * Implements SRS Section 4.1 Object Handling Routes.
  */
 @RestController
-@RequestMapping("/objects")
+@RequestMapping({"/objects", "/worlds/{worldId}/objects"})
 @CrossOrigin(origins = "*")
 public class ObjectController {
     
     private final ObjectService objectService;
+    private final WorldRegistry worldRegistry;
 
-    public ObjectController(ObjectService objectService) {
+    public ObjectController(ObjectService objectService, WorldRegistry worldRegistry) {
         this.objectService = objectService;
+        this.worldRegistry = worldRegistry;
     }
 
     /**
      * POST /objects/create - Add a new body
      */
     @PostMapping("/create")
-    public ResponseEntity<ApiResponse> createObject(@RequestBody CreateObjectRequest request) {
+    public ResponseEntity<ApiResponse> createObject(@PathVariable(required = false) String worldId, @RequestBody CreateObjectRequest request) {
+        PhysicsWorld world = worldRegistry.getWorld(worldId);
         try {
-            PhysicsBody body = objectService.createObject(request);
+            PhysicsBody body = objectService.createObject(world, request);
             return ResponseEntity.ok(ApiResponse.success(
                 "Body created with ID: " + body.getId(), 
                 body
@@ -48,19 +57,123 @@ public class ObjectController {
     }
 
     /**
-     * GET /objects/all - Retrieve all bodies
+     * POST /objects/batch/create - Add several bodies in one world change
+     * (all or none); returns the assigned IDs in request order
+     */
+    @PostMapping("/batch/create")
+    public ResponseEntity<ApiResponse> createObjects(@PathVariable(required = false) String worldId, @RequestBody List<CreateObjectRequest> requests) {
+        PhysicsWorld world = worldRegistry.getWorld(worldId);
+        try {
+            BatchResult result = objectService.createObjects(world, requests);
+            return ResponseEntity.ok(ApiResponse.success(
+                "Created " + result.getApplied() + " bodies",
+                result
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to create objects: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * POST /objects/batch/update - Update several bodies (each request names
+     * its body in "id") in one world change
+     */
+    @PostMapping("/batch/update")
+    public ResponseEntity<ApiResponse> updateObjects(@PathVariable(required = false) String worldId, @RequestBody List<UpdateObjectRequest> requests) {
+        PhysicsWorld world = worldRegistry.getWorld(worldId);
+        try {
+            BatchResult result = objectService.updateObjects(world, requests);
+            return ResponseEntity.ok(ApiResponse.success(
+                "Updated " + result.getApplied() + " of " + requests.size() + " bodies",
+                result
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to update objects: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * POST /objects/batch/delete - Remove several bodies by ID in one world change
+     */
+    @PostMapping("/batch/delete")
+    public ResponseEntity<ApiResponse> deleteObjects(@PathVariable(required = false) String worldId, @RequestBody int[] ids) {
+        PhysicsWorld world = worldRegistry.getWorld(worldId);
+        BatchResult result = objectService.deleteObjects(world, ids);
+        return ResponseEntity.ok(ApiResponse.success(
+            "Deleted " + result.getApplied() + " of " + ids.length + " bodies",
+            result
+        ));
+    }
+
+    /**
+     * POST /objects/generate - Create a procedural layout of bodies
+     * (grid, random, pyramid or rain) server-side
+     */
+    @PostMapping("/generate")
+    public ResponseEntity<ApiResponse> generateObjects(@PathVariable(required = false) String worldId, @RequestBody GenerateRequest request) {
+        PhysicsWorld world = worldRegistry.getWorld(worldId);
+        try {
+            Map<String, Object> result = objectService.generateObjects(world, request);
+            String message = result.containsKey("created")
+                ? "Generated " + result.get("created") + " bodies"
+                : "Scheduled " + result.get("scheduled") + " bodies";
+            return ResponseEntity.ok(ApiResponse.success(message, result));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to generate objects: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * GET /objects/all - Retrieve all bodies (304 if unchanged since the ETag in If-None-Match)
      */
     @GetMapping("/all")
-    public ResponseEntity<List<PhysicsBody>> getAllObjects() {
-        return ResponseEntity.ok(objectService.getAllObjects());
+    public ResponseEntity<List<PhysicsBody>> getAllObjects(@PathVariable(required = false) String worldId, WebRequest webRequest) {
+        PhysicsWorld world = worldRegistry.getWorld(worldId);
+        if (webRequest.checkNotModified(world.getVersionTag())) {
+            return null;
+        }
+        return ResponseEntity.ok(objectService.getAllObjects(world));
+    }
+
+    /**
+     * GET /objects/query/point - Retrieve bodies containing a point
+     */
+    @GetMapping("/query/point")
+    public ResponseEntity<List<PhysicsBody>> queryPoint(@PathVariable(required = false) String worldId, @RequestParam double x, @RequestParam double y) {
+        PhysicsWorld world = worldRegistry.getWorld(worldId);
+        return ResponseEntity.ok(objectService.queryPoint(world, x, y));
+    }
+
+    /**
+     * GET /objects/query/region - Retrieve bodies overlapping a rectangular region
+     */
+    @GetMapping("/query/region")
+    public ResponseEntity<List<PhysicsBody>> queryRegion(@PathVariable(required = false) String worldId,
+            @RequestParam double minX, @RequestParam double minY,
+            @RequestParam double maxX, @RequestParam double maxY) {
+        PhysicsWorld world = worldRegistry.getWorld(worldId);
+        return ResponseEntity.ok(objectService.queryRegion(world, minX, minY, maxX, maxY));
     }
 
     /**
      * GET /objects/{id} - Retrieve specific body
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getObject(@PathVariable int id) {
-        Optional<PhysicsBody> body = objectService.getObject(id);
+    public ResponseEntity<?> getObject(@PathVariable(required = false) String worldId, @PathVariable int id) {
+        PhysicsWorld world = worldRegistry.getWorld(worldId);
+        Optional<PhysicsBody> body = objectService.getObject(world, id);
         if (body.isPresent()) {
             return ResponseEntity.ok(body.get());
         }
@@ -72,11 +185,12 @@ public class ObjectController {
      * PUT /objects/{id} - Update body details
      */
     @PutMapping("/{id}")
-    public ResponseEntity<ApiResponse> updateObject(
+    public ResponseEntity<ApiResponse> updateObject(@PathVariable(required = false) String worldId,
             @PathVariable int id, 
             @RequestBody UpdateObjectRequest request) {
+        PhysicsWorld world = worldRegistry.getWorld(worldId);
         try {
-            Optional<PhysicsBody> body = objectService.updateObject(id, request);
+            Optional<PhysicsBody> body = objectService.updateObject(world, id, request);
             if (body.isPresent()) {
                 return ResponseEntity.ok(ApiResponse.success(
                     "Body updated with ID: " + id,
@@ -95,8 +209,9 @@ public class ObjectController {
      * DELETE /objects/{id} - Remove body
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<ApiResponse> deleteObject(@PathVariable int id) {
-        boolean deleted = objectService.deleteObject(id);
+    public ResponseEntity<ApiResponse> deleteObject(@PathVariable(required = false) String worldId, @PathVariable int id) {
+        PhysicsWorld world = worldRegistry.getWorld(worldId);
+        boolean deleted = objectService.deleteObject(world, id);
         if (deleted) {
             return ResponseEntity.ok(ApiResponse.success("Body deleted with ID: " + id));
         }
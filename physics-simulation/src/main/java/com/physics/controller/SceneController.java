@@ -2,10 +2,13 @@ package com.physics.controller;
 
 import com.physics.dto.ApiResponse;
 import com.physics.dto.SceneData;
+import com.physics.engine.PhysicsWorld;
+import com.physics.engine.WorldRegistry;
 import com.physics.service.SceneService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.io.IOException;
 import java.util.Map;
@@ -15,24 +18,27 @@ import java.util.Map;
  * Implements SRS Section 4.4 Scene Management Routes.
  */
 @RestController
-@RequestMapping("/scene")
+@RequestMapping({"/scene", "/worlds/{worldId}/scene"})
 @CrossOrigin(origins = "*")
 public class SceneController {
     
     private final SceneService sceneService;
+    private final WorldRegistry worldRegistry;
 
-    public SceneController(SceneService sceneService) {
+    public SceneController(SceneService sceneService, WorldRegistry worldRegistry) {
         this.sceneService = sceneService;
+        this.worldRegistry = worldRegistry;
     }
 
     /**
      * POST /scene/save - Save current scene
      */
     @PostMapping("/save")
-    public ResponseEntity<ApiResponse> saveScene(@RequestBody(required = false) Map<String, String> request) {
+    public ResponseEntity<ApiResponse> saveScene(@PathVariable(required = false) String worldId, @RequestBody(required = false) Map<String, String> request) {
+        PhysicsWorld world = worldRegistry.getWorld(worldId);
         try {
             String filename = (request != null) ? request.get("filename") : null;
-            String savedFile = sceneService.saveScene(filename);
+            String savedFile = sceneService.saveScene(world, filename);
             return ResponseEntity.ok(ApiResponse.success(
                 "Scene saved to " + savedFile
             ));
@@ -46,13 +52,14 @@ public class SceneController {
      * POST /scene/load - Load scene from file
      */
     @PostMapping("/load")
-    public ResponseEntity<ApiResponse> loadScene(@RequestBody(required = false) Map<String, String> request) {
+    public ResponseEntity<ApiResponse> loadScene(@PathVariable(required = false) String worldId, @RequestBody(required = false) Map<String, String> request) {
+        PhysicsWorld world = worldRegistry.getWorld(worldId);
         try {
             String filename = (request != null) ? request.get("filename") : null;
-            SceneData sceneData = sceneService.loadScene(filename);
+            Map<String, Object> result = sceneService.loadScene(world, filename);
             return ResponseEntity.ok(ApiResponse.success(
-                "Scene loaded with " + sceneData.getBodies().size() + " bodies",
-                sceneData
+                "Scene loaded with " + result.get("bodies") + " bodies",
+                result
             ));
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -61,10 +68,15 @@ public class SceneController {
     }
 
     /**
-     * GET /scene/current - Get current scene data (without saving)
+     * GET /scene/current - Get current scene data (without saving; 304 if
+     * unchanged since the ETag in If-None-Match)
      */
     @GetMapping("/current")
-    public ResponseEntity<SceneData> getCurrentScene() {
-        return ResponseEntity.ok(sceneService.getCurrentScene());
+    public ResponseEntity<SceneData> getCurrentScene(@PathVariable(required = false) String worldId, WebRequest webRequest) {
+        PhysicsWorld world = worldRegistry.getWorld(worldId);
+        if (webRequest.checkNotModified(world.getVersionTag())) {
+            return null;
+        }
+        return ResponseEntity.ok(sceneService.getCurrentScene(world));
     }
 }
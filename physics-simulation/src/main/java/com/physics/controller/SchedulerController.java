@@ -0,0 +1,74 @@
+package com.physics.controller;
+
+import com.physics.dto.ApiResponse;
+import com.physics.dto.SchedulerRequest;
+import com.physics.engine.FixedTimestepLoop;
+import com.physics.engine.TickScheduler;
+import com.physics.engine.WorldRegistry;
+import com.physics.engine.WorldSession;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for the tick scheduler shared by all worlds.
+ */
+@RestController
+@RequestMapping("/scheduler")
+@CrossOrigin(origins = "*")
+public class SchedulerController {
+    
+    private final WorldRegistry worldRegistry;
+
+    public SchedulerController(WorldRegistry worldRegistry) {
+        this.worldRegistry = worldRegistry;
+    }
+
+    /**
+     * GET /scheduler - Scheduler statistics with per-world lag and missed deadlines
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getScheduler() {
+        Map<String, Object> stats = worldRegistry.getScheduler().getStats();
+        List<Map<String, Object>> worlds = new ArrayList<>();
+        for (WorldSession session : worldRegistry.list()) {
+            FixedTimestepLoop loop = session.getLoop();
+            Map<String, Object> world = new LinkedHashMap<>();
+            world.put("id", session.getId());
+            world.put("running", session.getWorld().isRunning());
+            world.put("tickRate", loop.getTickRate());
+            world.put("lagMillis", loop.getLagMillis());
+            world.put("missedDeadlines", loop.getMissedDeadlines());
+            worlds.add(world);
+        }
+        stats.put("worlds", worlds);
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * POST /scheduler - Configure the scheduler's fairness cap
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse> configureScheduler(@RequestBody SchedulerRequest request) {
+        try {
+            TickScheduler scheduler = worldRegistry.getScheduler();
+            if (request.getMaxStepsPerSlice() != null) {
+                scheduler.setMaxStepsPerSlice(request.getMaxStepsPerSlice());
+            }
+            return ResponseEntity.ok(ApiResponse.success(
+                "Scheduler set to " + scheduler.getMaxStepsPerSlice() + " max steps per slice"
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to configure scheduler: " + e.getMessage()));
+        }
+    }
+}
@@ -1,11 +1,20 @@
 package com.physics.controller;
 
 import com.physics.dto.ApiResponse;
+import com.physics.dto.BroadphaseRequest;
+import com.physics.dto.LoopRequest;
+import com.physics.dto.ParallelismRequest;
+import com.physics.dto.SleepRequest;
+import com.physics.dto.SolverRequest;
 import com.physics.dto.StepRequest;
+import com.physics.engine.WorldRegistry;
+import com.physics.engine.WorldSession;
 import com.physics.service.SimulationService;
+import com.physics.service.TickEventService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Map;
 
@@ -14,23 +23,29 @@ import java.util.Map;
  * Implements SRS Section 4.3 Simulation Control Routes and 4.5 State Retrieval.
  */
 @RestController
-@RequestMapping("/simulation")
+@RequestMapping({"/simulation", "/worlds/{worldId}/simulation"})
 @CrossOrigin(origins = "*")
 public class SimulationController {
     
     private final SimulationService simulationService;
+    private final TickEventService tickEventService;
+    private final WorldRegistry worldRegistry;
 
-    public SimulationController(SimulationService simulationService) {
+    public SimulationController(SimulationService simulationService, TickEventService tickEventService,
+                                WorldRegistry worldRegistry) {
         this.simulationService = simulationService;
+        this.tickEventService = tickEventService;
+        this.worldRegistry = worldRegistry;
     }
 
     /**
      * POST /simulation/start - Begin simulation
      */
     @PostMapping("/start")
-    public ResponseEntity<ApiResponse> startSimulation() {
+    public ResponseEntity<ApiResponse> startSimulation(@PathVariable(required = false) String worldId) {
+        WorldSession session = worldRegistry.get(worldId);
         try {
-            simulationService.start();
+            simulationService.start(session);
             return ResponseEntity.ok(ApiResponse.success("Simulation started"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -42,9 +57,10 @@ public class SimulationController {
      * POST /simulation/pause - Pause simulation
      */
     @PostMapping("/pause")
-    public ResponseEntity<ApiResponse> pauseSimulation() {
+    public ResponseEntity<ApiResponse> pauseSimulation(@PathVariable(required = false) String worldId) {
+        WorldSession session = worldRegistry.get(worldId);
         try {
-            simulationService.pause();
+            simulationService.pause(session);
             return ResponseEntity.ok(ApiResponse.success("Simulation paused"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -56,9 +72,10 @@ public class SimulationController {
      * POST /simulation/reset - Reset engine
      */
     @PostMapping("/reset")
-    public ResponseEntity<ApiResponse> resetSimulation() {
+    public ResponseEntity<ApiResponse> resetSimulation(@PathVariable(required = false) String worldId) {
+        WorldSession session = worldRegistry.get(worldId);
         try {
-            simulationService.reset();
+            simulationService.reset(session);
             return ResponseEntity.ok(ApiResponse.success("Simulation has been reset to initial state."));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -67,35 +84,177 @@ public class SimulationController {
     }
 
     /**
-     * POST /simulation/step - Move simulation by dt
+     * POST /simulation/step - Move simulation by dt, or by many steps of dt
      */
     @PostMapping("/step")
-    public ResponseEntity<ApiResponse> stepSimulation(@RequestBody(required = false) StepRequest request) {
+    public ResponseEntity<ApiResponse> stepSimulation(@PathVariable(required = false) String worldId, @RequestBody(required = false) StepRequest request) {
+        WorldSession session = worldRegistry.get(worldId);
         try {
-            Double dt = (request != null) ? request.getDt() : null;
-            simulationService.step(dt);
+            Map<String, Object> result = simulationService.step(session, request);
+            int steps = (Integer) result.get("steps");
+            if (steps == 1 && !result.containsKey("state") && !result.containsKey("trajectory")) {
+                Double dt = (request != null) ? request.getDt() : null;
+                return ResponseEntity.ok(ApiResponse.success(
+                    "Simulation stepped by " + (dt != null ? dt : "1/60") + " seconds"
+                ));
+            }
             return ResponseEntity.ok(ApiResponse.success(
-                "Simulation stepped by " + (dt != null ? dt : "1/60") + " seconds"
+                "Simulation advanced " + steps + " steps (" + result.get("time") + " seconds)",
+                result
             ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponse.error("Failed to step simulation: " + e.getMessage()));
         }
     }
 
+
     /**
      * GET /simulation/state - Return body positions, velocities, collisions
+     * (304 if the world has not changed since the ETag in If-None-Match;
+     * with ?since=version, only the bodies changed after that version)
      */
     @GetMapping("/state")
-    public ResponseEntity<Map<String, Object>> getState() {
-        return ResponseEntity.ok(simulationService.getState());
+    public ResponseEntity<Map<String, Object>> getState(@PathVariable(required = false) String worldId,
+                                                        @RequestParam(required = false) Long since,
+                                                        WebRequest webRequest) {
+        WorldSession session = worldRegistry.get(worldId);
+        if (webRequest.checkNotModified(session.getWorld().getVersionTag())) {
+            return null;
+        }
+        return ResponseEntity.ok(simulationService.getState(session, since));
+    }
+
+    /**
+     * GET /simulation/events - Server-Sent Events stream of the state after each step
+     */
+    @GetMapping("/events")
+    public ResponseEntity<?> streamEvents(@PathVariable(required = false) String worldId,
+                                          @RequestParam(required = false) Double maxRate) {
+        try {
+            return ResponseEntity.ok(tickEventService.subscribe(worldId, maxRate));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * POST /simulation/broadphase - Select the collision broadphase
+     */
+    @PostMapping("/broadphase")
+    public ResponseEntity<ApiResponse> setBroadphase(@PathVariable(required = false) String worldId, @RequestBody BroadphaseRequest request) {
+        WorldSession session = worldRegistry.get(worldId);
+        try {
+            String name = simulationService.setBroadphase(session, request);
+            return ResponseEntity.ok(ApiResponse.success("Broadphase set to " + name));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * GET /simulation/broadphase - Get the current collision broadphase
+     */
+    @GetMapping("/broadphase")
+    public ResponseEntity<String> getBroadphase(@PathVariable(required = false) String worldId) {
+        WorldSession session = worldRegistry.get(worldId);
+        return ResponseEntity.ok(simulationService.getBroadphase(session));
+    }
+
+    /**
+     * POST /simulation/parallelism - Configure parallel force application and integration
+     */
+    @PostMapping("/parallelism")
+    public ResponseEntity<ApiResponse> setParallelism(@PathVariable(required = false) String worldId, @RequestBody ParallelismRequest request) {
+        WorldSession session = worldRegistry.get(worldId);
+        try {
+            int parallelism = simulationService.setParallelism(session, request);
+            return ResponseEntity.ok(ApiResponse.success("Parallelism set to " + parallelism));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * POST /simulation/solver - Select the contact solver and its iteration count
+     */
+    @PostMapping("/solver")
+    public ResponseEntity<ApiResponse> setContactSolver(@PathVariable(required = false) String worldId, @RequestBody SolverRequest request) {
+        WorldSession session = worldRegistry.get(worldId);
+        try {
+            String solver = simulationService.setContactSolver(session, request);
+            return ResponseEntity.ok(ApiResponse.success("Contact solver set to " + solver));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * GET /simulation/timings - Per-phase step timings and parallel speedup
+     */
+    @GetMapping("/timings")
+    public ResponseEntity<Map<String, Object>> getTimings(@PathVariable(required = false) String worldId) {
+        WorldSession session = worldRegistry.get(worldId);
+        return ResponseEntity.ok(simulationService.getTimings(session));
+    }
+
+    /**
+     * POST /simulation/sleep - Configure sleeping of resting bodies
+     */
+    @PostMapping("/sleep")
+    public ResponseEntity<ApiResponse> setSleeping(@PathVariable(required = false) String worldId, @RequestBody SleepRequest request) {
+        WorldSession session = worldRegistry.get(worldId);
+        try {
+            simulationService.setSleeping(session, request);
+            return ResponseEntity.ok(ApiResponse.success(
+                "Sleeping " + (Boolean.FALSE.equals(request.getEnabled()) ? "disabled" : "enabled")
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * POST /simulation/loop - Configure the server-side simulation loop
+     */
+    @PostMapping("/loop")
+    public ResponseEntity<ApiResponse> configureLoop(@PathVariable(required = false) String worldId, @RequestBody LoopRequest request) {
+        WorldSession session = worldRegistry.get(worldId);
+        try {
+            simulationService.configureLoop(session, request.getTickRate(), request.getMaxCatchUpSteps());
+            return ResponseEntity.ok(ApiResponse.success("Simulation loop configured"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * GET /simulation/loop - Tick rate, tick count and real-time ratio of the simulation loop
+     */
+    @GetMapping("/loop")
+    public ResponseEntity<Map<String, Object>> getLoopStats(@PathVariable(required = false) String worldId) {
+        WorldSession session = worldRegistry.get(worldId);
+        return ResponseEntity.ok(simulationService.getLoopStats(session));
     }
 
     /**
      * GET /simulation/running - Check if simulation is running
      */
     @GetMapping("/running")
-    public ResponseEntity<Boolean> isRunning() {
-        return ResponseEntity.ok(simulationService.isRunning());
+    public ResponseEntity<Boolean> isRunning(@PathVariable(required = false) String worldId) {
+        WorldSession session = worldRegistry.get(worldId);
+        return ResponseEntity.ok(simulationService.isRunning(session));
     }
 }
@@ -0,0 +1,68 @@
+package com.physics.controller;
+
+import com.physics.engine.WorldNotFoundException;
+import com.physics.service.StateStreamService;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
+
+import java.net.URI;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * WebSocket endpoint streaming world state as binary frames (see
+ * DeltaFrameEncoder for the layout).
+ * /ws/state streams the default world, /ws/worlds/{worldId}/state a named one.
+ * A client can send the text message "keyframe" to resync.
+ */
+@Component
+public class StateStreamHandler extends AbstractWebSocketHandler {
+
+    private static final Pattern WORLD_PATH = Pattern.compile(".*/ws/worlds/([^/]+)/state/?$");
+
+    private final StateStreamService stateStreamService;
+
+    public StateStreamHandler(StateStreamService stateStreamService) {
+        this.stateStreamService = stateStreamService;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        try {
+            stateStreamService.subscribe(worldId(session.getUri()), session);
+        } catch (WorldNotFoundException e) {
+            session.close(CloseStatus.POLICY_VIOLATION.withReason(e.getMessage()));
+        }
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        if ("keyframe".equalsIgnoreCase(message.getPayload().trim())) {
+            stateStreamService.requestKeyframe(session);
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        stateStreamService.unsubscribe(session);
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        stateStreamService.unsubscribe(session);
+    }
+
+    /**
+     * World ID of a stream URI (null = default world).
+     */
+    private static String worldId(URI uri) {
+        if (uri == null) {
+            return null;
+        }
+        Matcher matcher = WORLD_PATH.matcher(uri.getPath());
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+}
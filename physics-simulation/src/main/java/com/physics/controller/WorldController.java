@@ -0,0 +1,101 @@
+package com.physics.controller;
+
+import com.physics.dto.ApiResponse;
+import com.physics.dto.WorldRequest;
+import com.physics.engine.WorldRegistry;
+import com.physics.engine.WorldSession;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller for world management routes.
+ * Each world has its own bodies, gravity and run state; the object, force,
+ * simulation and scene routes are available under /worlds/{worldId}/.
+ */
+@RestController
+@RequestMapping("/worlds")
+@CrossOrigin(origins = "*")
+public class WorldController {
+    
+    private final WorldRegistry worldRegistry;
+
+    public WorldController(WorldRegistry worldRegistry) {
+        this.worldRegistry = worldRegistry;
+    }
+
+    /**
+     * POST /worlds - Create a new world
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse> createWorld(@RequestBody(required = false) WorldRequest request) {
+        try {
+            if (request == null) {
+                request = new WorldRequest();
+            }
+            double[] gravity = request.getGravity();
+            if (gravity != null && gravity.length != 2) {
+                throw new IllegalArgumentException("Gravity must be [x, y]");
+            }
+            WorldSession session = worldRegistry.create(
+                request.getId(), request.getTickRate(), request.getMaxCatchUpSteps());
+            if (gravity != null) {
+                session.getWorld().execute(world -> {
+                    world.setGravity(gravity[0], gravity[1]);
+                    return null;
+                });
+            }
+            return ResponseEntity.ok(ApiResponse.success(
+                "World created with ID: " + session.getId(),
+                session.getSummary()
+            ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to create world: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * GET /worlds - List all worlds
+     */
+    @GetMapping
+    public ResponseEntity<List<Map<String, Object>>> listWorlds() {
+        List<Map<String, Object>> summaries = new ArrayList<>();
+        for (WorldSession session : worldRegistry.list()) {
+            summaries.add(session.getSummary());
+        }
+        return ResponseEntity.ok(summaries);
+    }
+
+    /**
+     * GET /worlds/{worldId} - Retrieve a world's summary
+     */
+    @GetMapping("/{worldId}")
+    public ResponseEntity<Map<String, Object>> getWorld(@PathVariable String worldId) {
+        return ResponseEntity.ok(worldRegistry.get(worldId).getSummary());
+    }
+
+    /**
+     * DELETE /worlds/{worldId} - Destroy a world and its bodies
+     */
+    @DeleteMapping("/{worldId}")
+    public ResponseEntity<ApiResponse> deleteWorld(@PathVariable String worldId) {
+        try {
+            if (worldRegistry.destroy(worldId)) {
+                return ResponseEntity.ok(ApiResponse.success("World deleted with ID: " + worldId));
+            }
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("World not found with ID: " + worldId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
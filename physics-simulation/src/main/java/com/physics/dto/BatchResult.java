@@ -0,0 +1,67 @@
+package com.physics.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * DTO for the per-item results of a batch object operation.
+ * Entry i of each array belongs to item i of the request.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResult {
+
+    // Number of items applied
+    @JsonProperty("applied")
+    private int applied;
+
+    // Body ID of each item (assigned IDs for a batch create)
+    @JsonProperty("ids")
+    private int[] ids;
+
+    // Whether each item's body was found (null for a batch create, where every item applies)
+    @JsonProperty("found")
+    private boolean[] found;
+
+    // Default constructor
+    public BatchResult() {
+    }
+
+    public BatchResult(int[] ids, boolean[] found) {
+        this.ids = ids;
+        this.found = found;
+        if (found == null) {
+            this.applied = ids.length;
+        } else {
+            for (boolean f : found) {
+                if (f) {
+                    this.applied++;
+                }
+            }
+        }
+    }
+
+    // Getters and Setters
+    public int getApplied() {
+        return applied;
+    }
+
+    public void setApplied(int applied) {
+        this.applied = applied;
+    }
+
+    public int[] getIds() {
+        return ids;
+    }
+
+    public void setIds(int[] ids) {
+        this.ids = ids;
+    }
+
+    public boolean[] getFound() {
+        return found;
+    }
+
+    public void setFound(boolean[] found) {
+        this.found = found;
+    }
+}
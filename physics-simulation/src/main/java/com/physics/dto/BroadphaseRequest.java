@@ -0,0 +1,38 @@
+package com.physics.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * DTO for selecting the collision broadphase via API.
+ */
+public class BroadphaseRequest {
+    
+    @JsonProperty("type")
+    private String type;
+    
+    // Grid cell size for spatial-hash, fat-box margin for dynamic-tree (0 or null = default)
+    @JsonProperty("cellSize")
+    private Double cellSize;
+
+    // Default constructor
+    public BroadphaseRequest() {
+        this.type = "brute-force";
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Double getCellSize() {
+        return cellSize;
+    }
+
+    public void setCellSize(Double cellSize) {
+        this.cellSize = cellSize;
+    }
+}
@@ -32,6 +32,10 @@ public class CreateObjectRequest {
     
     @JsonProperty("sideLength")
     private Double sideLength;
+    
+    // Sweep the body each step so it cannot tunnel through thin walls
+    @JsonProperty("fast")
+    private Boolean fast;
 
     // Default constructor
     public CreateObjectRequest() {
@@ -104,4 +108,12 @@ public class CreateObjectRequest {
     public void setSideLength(Double sideLength) {
         this.sideLength = sideLength;
     }
+
+    public Boolean getFast() {
+        return fast;
+    }
+
+    public void setFast(Boolean fast) {
+        this.fast = fast;
+    }
 }
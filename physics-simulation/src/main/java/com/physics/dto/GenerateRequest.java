@@ -0,0 +1,182 @@
+package com.physics.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * DTO for generating a procedural layout of bodies via API.
+ */
+public class GenerateRequest {
+
+    // Layout: grid, random, pyramid or rain
+    @JsonProperty("pattern")
+    private String pattern;
+
+    // Number of bodies (for a pyramid, rows are derived from it unless rows is set)
+    @JsonProperty("count")
+    private Integer count;
+
+    // Blocks in the base row of a pyramid
+    @JsonProperty("rows")
+    private Integer rows;
+
+    // Bodies per grid row (null = as close to a square as possible)
+    @JsonProperty("columns")
+    private Integer columns;
+
+    // circle, square, rectangle or mixed (null = circle, square for a pyramid)
+    @JsonProperty("shape")
+    private String shape;
+
+    // Mass distribution: [min, max] drawn uniformly, or [value]
+    @JsonProperty("mass")
+    private double[] mass;
+
+    // Size distribution (circle radius, half side of a box): [min, max] or [value]
+    @JsonProperty("size")
+    private double[] size;
+
+    // Grid: top-left corner; pyramid: left end of the base (y = ground)
+    @JsonProperty("origin")
+    private double[] origin;
+
+    // Random and rain: region as [minX, minY, maxX, maxY] (rain drops from minY)
+    @JsonProperty("box")
+    private double[] box;
+
+    // Space between neighbouring grid cells or pyramid blocks
+    @JsonProperty("gap")
+    private Double gap;
+
+    // Initial velocity of every body
+    @JsonProperty("velocity")
+    private double[] velocity;
+
+    // Rain: bodies per second of simulated time
+    @JsonProperty("rate")
+    private Double rate;
+
+    // Random seed (null = random; the seed used is returned)
+    @JsonProperty("seed")
+    private Long seed;
+
+    // Sweep the bodies each step so they cannot tunnel through thin walls
+    @JsonProperty("fast")
+    private Boolean fast;
+
+    // Default constructor
+    public GenerateRequest() {
+    }
+
+    // Getters and Setters
+    public String getPattern() {
+        return pattern;
+    }
+
+    public void setPattern(String pattern) {
+        this.pattern = pattern;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+
+    public Integer getRows() {
+        return rows;
+    }
+
+    public void setRows(Integer rows) {
+        this.rows = rows;
+    }
+
+    public Integer getColumns() {
+        return columns;
+    }
+
+    public void setColumns(Integer columns) {
+        this.columns = columns;
+    }
+
+    public String getShape() {
+        return shape;
+    }
+
+    public void setShape(String shape) {
+        this.shape = shape;
+    }
+
+    public double[] getMass() {
+        return mass;
+    }
+
+    public void setMass(double[] mass) {
+        this.mass = mass;
+    }
+
+    public double[] getSize() {
+        return size;
+    }
+
+    public void setSize(double[] size) {
+        this.size = size;
+    }
+
+    public double[] getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(double[] origin) {
+        this.origin = origin;
+    }
+
+    public double[] getBox() {
+        return box;
+    }
+
+    public void setBox(double[] box) {
+        this.box = box;
+    }
+
+    public Double getGap() {
+        return gap;
+    }
+
+    public void setGap(Double gap) {
+        this.gap = gap;
+    }
+
+    public double[] getVelocity() {
+        return velocity;
+    }
+
+    public void setVelocity(double[] velocity) {
+        this.velocity = velocity;
+    }
+
+    public Double getRate() {
+        return rate;
+    }
+
+    public void setRate(Double rate) {
+        this.rate = rate;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    public Boolean getFast() {
+        return fast;
+    }
+
+    public void setFast(Boolean fast) {
+        this.fast = fast;
+    }
+}
@@ -0,0 +1,123 @@
+package com.physics.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * DTO for starting a background simulation job via API.
+ */
+public class JobRequest {
+    
+    // Where the job's world comes from: "world" (copy of a live world) or
+    // "scene" (a scene file) (null = "world")
+    @JsonProperty("source")
+    private String source;
+    
+    // World copied by the "world" source (null = default world)
+    @JsonProperty("worldId")
+    private String worldId;
+    
+    // Scene file loaded by the "scene" source (null = default scene file)
+    @JsonProperty("filename")
+    private String filename;
+    
+    @JsonProperty("dt")
+    private Double dt;
+    
+    // Number of steps to run (either this or duration)
+    @JsonProperty("steps")
+    private Long steps;
+    
+    // Simulated seconds to run (used when steps is null)
+    @JsonProperty("duration")
+    private Double duration;
+    
+    // Record a trajectory sample every this many steps (null = no trajectory)
+    @JsonProperty("sampleEvery")
+    private Long sampleEvery;
+    
+    // Stop early when this holds: "sleep" or "collision" (null = run all steps)
+    @JsonProperty("until")
+    private String until;
+    
+    // Body checked by the "collision" stop condition
+    @JsonProperty("bodyId")
+    private Integer bodyId;
+
+    // Default constructor
+    public JobRequest() {
+        this.dt = 1.0 / 60.0;  // Default: 1/60th of a second (60fps)
+    }
+
+    // Getters and Setters
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public String getWorldId() {
+        return worldId;
+    }
+
+    public void setWorldId(String worldId) {
+        this.worldId = worldId;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public Double getDt() {
+        return dt;
+    }
+
+    public void setDt(Double dt) {
+        this.dt = dt;
+    }
+
+    public Long getSteps() {
+        return steps;
+    }
+
+    public void setSteps(Long steps) {
+        this.steps = steps;
+    }
+
+    public Double getDuration() {
+        return duration;
+    }
+
+    public void setDuration(Double duration) {
+        this.duration = duration;
+    }
+
+    public Long getSampleEvery() {
+        return sampleEvery;
+    }
+
+    public void setSampleEvery(Long sampleEvery) {
+        this.sampleEvery = sampleEvery;
+    }
+
+    public String getUntil() {
+        return until;
+    }
+
+    public void setUntil(String until) {
+        this.until = until;
+    }
+
+    public Integer getBodyId() {
+        return bodyId;
+    }
+
+    public void setBodyId(Integer bodyId) {
+        this.bodyId = bodyId;
+    }
+}
@@ -0,0 +1,38 @@
+package com.physics.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * DTO for configuring the server-side simulation loop via API.
+ */
+public class LoopRequest {
+    
+    // Steps per simulated second (null = unchanged)
+    @JsonProperty("tickRate")
+    private Double tickRate;
+    
+    // Maximum steps per loop iteration when the loop falls behind (null = unchanged)
+    @JsonProperty("maxCatchUpSteps")
+    private Integer maxCatchUpSteps;
+
+    // Default constructor
+    public LoopRequest() {
+    }
+
+    // Getters and Setters
+    public Double getTickRate() {
+        return tickRate;
+    }
+
+    public void setTickRate(Double tickRate) {
+        this.tickRate = tickRate;
+    }
+
+    public Integer getMaxCatchUpSteps() {
+        return maxCatchUpSteps;
+    }
+
+    public void setMaxCatchUpSteps(Integer maxCatchUpSteps) {
+        this.maxCatchUpSteps = maxCatchUpSteps;
+    }
+}
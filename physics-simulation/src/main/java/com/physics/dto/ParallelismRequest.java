@@ -0,0 +1,50 @@
+package com.physics.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * DTO for configuring parallel stepping via API.
+ */
+public class ParallelismRequest {
+    
+    // Worker threads for the per-body phases (1 = serial, null = available processors)
+    @JsonProperty("parallelism")
+    private Integer parallelism;
+    
+    // Body count below which steps stay serial (null = engine default)
+    @JsonProperty("threshold")
+    private Integer threshold;
+    
+    // Contact solver: "serial" or "graph-coloring" (null = unchanged)
+    @JsonProperty("contactSolver")
+    private String contactSolver;
+
+    // Default constructor
+    public ParallelismRequest() {
+    }
+
+    // Getters and Setters
+    public Integer getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(Integer parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public Integer getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(Integer threshold) {
+        this.threshold = threshold;
+    }
+
+    public String getContactSolver() {
+        return contactSolver;
+    }
+
+    public void setContactSolver(String contactSolver) {
+        this.contactSolver = contactSolver;
+    }
+}
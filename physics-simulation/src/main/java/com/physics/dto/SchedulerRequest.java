@@ -0,0 +1,26 @@
+package com.physics.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * DTO for configuring the shared tick scheduler via API.
+ */
+public class SchedulerRequest {
+    
+    // Maximum steps one world takes before yielding its thread (null = unchanged)
+    @JsonProperty("maxStepsPerSlice")
+    private Integer maxStepsPerSlice;
+
+    // Default constructor
+    public SchedulerRequest() {
+    }
+
+    // Getters and Setters
+    public Integer getMaxStepsPerSlice() {
+        return maxStepsPerSlice;
+    }
+
+    public void setMaxStepsPerSlice(Integer maxStepsPerSlice) {
+        this.maxStepsPerSlice = maxStepsPerSlice;
+    }
+}
@@ -0,0 +1,50 @@
+package com.physics.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * DTO for configuring body sleeping via API.
+ */
+public class SleepRequest {
+    
+    @JsonProperty("enabled")
+    private Boolean enabled;
+    
+    // Speed below which a body counts as resting (null = unchanged)
+    @JsonProperty("velocityThreshold")
+    private Double velocityThreshold;
+    
+    // Consecutive resting steps before an island sleeps (null = unchanged)
+    @JsonProperty("steps")
+    private Integer steps;
+
+    // Default constructor
+    public SleepRequest() {
+        this.enabled = true;
+    }
+
+    // Getters and Setters
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Double getVelocityThreshold() {
+        return velocityThreshold;
+    }
+
+    public void setVelocityThreshold(Double velocityThreshold) {
+        this.velocityThreshold = velocityThreshold;
+    }
+
+    public Integer getSteps() {
+        return steps;
+    }
+
+    public void setSteps(Integer steps) {
+        this.steps = steps;
+    }
+}
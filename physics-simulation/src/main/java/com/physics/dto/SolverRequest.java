@@ -0,0 +1,38 @@
+package com.physics.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * DTO for selecting the contact solver via API.
+ */
+public class SolverRequest {
+    
+    // Solver name: serial, graph-coloring or sequential-impulse (null = unchanged)
+    @JsonProperty("contactSolver")
+    private String contactSolver;
+    
+    // Velocity iterations of the sequential-impulse solver (null = unchanged)
+    @JsonProperty("iterations")
+    private Integer iterations;
+
+    // Default constructor
+    public SolverRequest() {
+    }
+
+    // Getters and Setters
+    public String getContactSolver() {
+        return contactSolver;
+    }
+
+    public void setContactSolver(String contactSolver) {
+        this.contactSolver = contactSolver;
+    }
+
+    public Integer getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(Integer iterations) {
+        this.iterations = iterations;
+    }
+}
@@ -3,12 +3,35 @@ package com.physics.dto;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 /**
- * DTO for stepping the simulation by a time delta via API.
+ * DTO for stepping the simulation via API.
+ * A single request can advance the world by many steps of dt.
  */
 public class StepRequest {
     
     @JsonProperty("dt")
     private Double dt;
+    
+    // Number of steps to take (null = 1)
+    @JsonProperty("steps")
+    private Integer steps;
+    
+    // What to return: "none", "final" (state after the last step) or
+    // "trajectory" (sampled body states) (null = "none")
+    @JsonProperty("returnMode")
+    private String returnMode;
+    
+    // Record a trajectory sample every this many steps (null = 1)
+    @JsonProperty("sampleEvery")
+    private Integer sampleEvery;
+    
+    // Stop early when this holds: "sleep" (all bodies asleep) or
+    // "collision" (body bodyId collided) (null = run all steps)
+    @JsonProperty("until")
+    private String until;
+    
+    // Body checked by the "collision" stop condition
+    @JsonProperty("bodyId")
+    private Integer bodyId;
 
     // Default constructor
     public StepRequest() {
@@ -23,4 +46,44 @@ public class StepRequest {
     public void setDt(Double dt) {
         this.dt = dt;
     }
+
+    public Integer getSteps() {
+        return steps;
+    }
+
+    public void setSteps(Integer steps) {
+        this.steps = steps;
+    }
+
+    public String getReturnMode() {
+        return returnMode;
+    }
+
+    public void setReturnMode(String returnMode) {
+        this.returnMode = returnMode;
+    }
+
+    public Integer getSampleEvery() {
+        return sampleEvery;
+    }
+
+    public void setSampleEvery(Integer sampleEvery) {
+        this.sampleEvery = sampleEvery;
+    }
+
+    public String getUntil() {
+        return until;
+    }
+
+    public void setUntil(String until) {
+        this.until = until;
+    }
+
+    public Integer getBodyId() {
+        return bodyId;
+    }
+
+    public void setBodyId(Integer bodyId) {
+        this.bodyId = bodyId;
+    }
 }
@@ -7,6 +7,10 @@ import com.fasterxml.jackson.annotation.JsonProperty;
  */
 public class UpdateObjectRequest {
     
+    // Body to update in a batch update (single updates take it from the path)
+    @JsonProperty("id")
+    private Integer id;
+    
     @JsonProperty("mass")
     private Double mass;
     
@@ -28,12 +32,24 @@ public class UpdateObjectRequest {
     
     @JsonProperty("sideLength")
     private Double sideLength;
+    
+    // Sweep the body each step so it cannot tunnel through thin walls
+    @JsonProperty("fast")
+    private Boolean fast;
 
     // Default constructor
     public UpdateObjectRequest() {
     }
 
     // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
     public Double getMass() {
         return mass;
     }
@@ -89,4 +105,12 @@ public class UpdateObjectRequest {
     public void setSideLength(Double sideLength) {
         this.sideLength = sideLength;
     }
+
+    public Boolean getFast() {
+        return fast;
+    }
+
+    public void setFast(Boolean fast) {
+        this.fast = fast;
+    }
 }
@@ -0,0 +1,62 @@
+package com.physics.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * DTO for creating a world via API.
+ */
+public class WorldRequest {
+    
+    // World ID (null = generated)
+    @JsonProperty("id")
+    private String id;
+    
+    // Initial gravity [x, y] (null = default)
+    @JsonProperty("gravity")
+    private double[] gravity;
+    
+    // Steps per simulated second (null = server default)
+    @JsonProperty("tickRate")
+    private Double tickRate;
+    
+    // Maximum steps per loop iteration when the loop falls behind (null = server default)
+    @JsonProperty("maxCatchUpSteps")
+    private Integer maxCatchUpSteps;
+
+    // Default constructor
+    public WorldRequest() {
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public double[] getGravity() {
+        return gravity;
+    }
+
+    public void setGravity(double[] gravity) {
+        this.gravity = gravity;
+    }
+
+    public Double getTickRate() {
+        return tickRate;
+    }
+
+    public void setTickRate(Double tickRate) {
+        this.tickRate = tickRate;
+    }
+
+    public Integer getMaxCatchUpSteps() {
+        return maxCatchUpSteps;
+    }
+
+    public void setMaxCatchUpSteps(Integer maxCatchUpSteps) {
+        this.maxCatchUpSteps = maxCatchUpSteps;
+    }
+}
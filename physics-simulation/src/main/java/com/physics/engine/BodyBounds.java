@@ -0,0 +1,135 @@
+package com.physics.engine;
+
+import com.physics.model.Collider;
+import java.util.Arrays;
+
+/**
+ * Axis-aligned bounds of every body in the world, stored as parallel arrays.
+ * Filled by PhysicsWorld before each collision pass and handed to the broadphase.
+ *
+ * Index i refers to the i-th body of the world; ids[i] is that body's ID.
+ * Bodies without a collider get empty bounds (min = +inf, max = -inf) so
+ * they never overlap anything.
+ */
+public class BodyBounds {
+
+    private int count;
+    private int[] ids;
+    private double[] minX;
+    private double[] minY;
+    private double[] maxX;
+    private double[] maxY;
+
+    // Bodies that cannot start a contact on their own (sleeping, or static and not moving)
+    private boolean[] resting;
+
+    public BodyBounds() {
+        this(16);
+    }
+
+    public BodyBounds(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        this.ids = new int[capacity];
+        this.minX = new double[capacity];
+        this.minY = new double[capacity];
+        this.maxX = new double[capacity];
+        this.maxY = new double[capacity];
+        this.resting = new boolean[capacity];
+    }
+
+    /**
+     * Prepare the buffer to hold the given number of bodies.
+     * Existing arrays are reused when they are large enough.
+     */
+    public void reset(int count) {
+        if (count > ids.length) {
+            int capacity = Math.max(count, ids.length * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            minX = Arrays.copyOf(minX, capacity);
+            minY = Arrays.copyOf(minY, capacity);
+            maxX = Arrays.copyOf(maxX, capacity);
+            maxY = Arrays.copyOf(maxY, capacity);
+            resting = Arrays.copyOf(resting, capacity);
+        }
+        this.count = count;
+    }
+
+    /**
+     * Set the bounds of body i.
+     */
+    public void set(int i, int id, double minX, double minY, double maxX, double maxY) {
+        this.ids[i] = id;
+        this.minX[i] = minX;
+        this.minY[i] = minY;
+        this.maxX[i] = maxX;
+        this.maxY[i] = maxY;
+    }
+
+    /**
+     * Mark body i as resting. Two resting bodies never form a pair, so sleeping
+     * bodies piled on each other or on a static floor drop out of the broadphase.
+     */
+    public void setResting(int i, boolean resting) {
+        this.resting[i] = resting;
+    }
+
+    public boolean isResting(int i) {
+        return resting[i];
+    }
+
+    /**
+     * Set the bounds of body i from its collider (empty bounds if collider is null).
+     */
+    public void set(int i, int id, Collider collider) {
+        if (collider == null) {
+            set(i, id, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY);
+        } else {
+            set(i, id, collider.getMinX(), collider.getMinY(), collider.getMaxX(), collider.getMaxY());
+        }
+    }
+
+    /**
+     * Check whether the bounds of bodies i and j overlap.
+     * Uses strict comparisons to match the narrowphase (touching is not a collision).
+     * Pairs of resting bodies never overlap.
+     */
+    public boolean overlaps(int i, int j) {
+        if (resting[i] && resting[j]) {
+            return false;
+        }
+        return minX[i] < maxX[j] && maxX[i] > minX[j]
+            && minY[i] < maxY[j] && maxY[i] > minY[j];
+    }
+
+    /**
+     * Check whether body i has non-empty bounds.
+     */
+    public boolean isEmpty(int i) {
+        return !(minX[i] <= maxX[i] && minY[i] <= maxY[i]);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getId(int i) {
+        return ids[i];
+    }
+
+    public double getMinX(int i) {
+        return minX[i];
+    }
+
+    public double getMinY(int i) {
+        return minY[i];
+    }
+
+    public double getMaxX(int i) {
+        return maxX[i];
+    }
+
+    public double getMaxY(int i) {
+        return maxY[i];
+    }
+}
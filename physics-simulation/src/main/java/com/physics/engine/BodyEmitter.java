@@ -0,0 +1,19 @@
+package com.physics.engine;
+
+/**
+ * Source of bodies added to a world as simulated time passes (e.g. a stream
+ * of falling circles).
+ *
+ * Emitters run at the start of every step, after the queued commands and
+ * with the world's lock held, so unlike step listeners they may add bodies.
+ */
+@FunctionalInterface
+public interface BodyEmitter {
+
+    /**
+     * @param world The world being stepped
+     * @param deltaTime Length of the step about to be taken, in seconds
+     * @return false once the emitter is done and should be removed
+     */
+    boolean emit(PhysicsWorld world, double deltaTime);
+}
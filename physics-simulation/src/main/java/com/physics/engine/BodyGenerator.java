@@ -0,0 +1,213 @@
+package com.physics.engine;
+
+import com.physics.model.BodyStore;
+import com.physics.model.CircleBody;
+import com.physics.model.PhysicsBody;
+import com.physics.model.RectangleBody;
+import com.physics.model.SquareBody;
+import com.physics.model.Vector2D;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Procedural layouts of bodies for large test and benchmark worlds.
+ *
+ * Masses and sizes are drawn uniformly from [min, max] ranges from a seeded
+ * generator, so the same settings always build the same bodies. A size is
+ * the radius of a circle and half of each side of a square or rectangle, so
+ * shapes of the same size have the same extent.
+ * Bodies are created with ID 0 and get their IDs when added to a world.
+ * The bodies of a layout share one staging store sized for all of them,
+ * instead of each allocating a private one.
+ * Circles are positioned by their center, squares and rectangles by their
+ * top-left corner; y grows downwards, in the direction of default gravity.
+ */
+public final class BodyGenerator {
+
+    /**
+     * Shapes a generator can create.
+     */
+    public enum Shape {
+        CIRCLE, SQUARE, RECTANGLE, MIXED;
+
+        /**
+         * Parse a shape name (case-insensitive).
+         * @throws IllegalArgumentException if the name is unknown
+         */
+        public static Shape fromString(String name) {
+            for (Shape shape : values()) {
+                if (shape.name().equalsIgnoreCase(name)) {
+                    return shape;
+                }
+            }
+            throw new IllegalArgumentException("Unknown shape: " + name);
+        }
+    }
+
+    private static final Shape[] MIXED_SHAPES = {Shape.CIRCLE, Shape.SQUARE, Shape.RECTANGLE};
+
+    private final Shape shape;
+    private final double minMass;
+    private final double maxMass;
+    private final double minSize;
+    private final double maxSize;
+    private final SplittableRandom random;
+    private Vector2D velocity = new Vector2D(0, 0);
+    private boolean fast;
+
+    /**
+     * @throws IllegalArgumentException if a range is empty or a size is not positive
+     */
+    public BodyGenerator(Shape shape, double minMass, double maxMass, double minSize, double maxSize, long seed) {
+        if (!(minMass <= maxMass) || !(minSize <= maxSize)) {
+            throw new IllegalArgumentException("Range minimum must not exceed its maximum");
+        }
+        if (!(minSize > 0)) {
+            throw new IllegalArgumentException("Size must be positive");
+        }
+        this.shape = shape;
+        this.minMass = minMass;
+        this.maxMass = maxMass;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Set the initial velocity of every generated body.
+     */
+    public BodyGenerator velocity(double x, double y) {
+        this.velocity = new Vector2D(x, y);
+        return this;
+    }
+
+    /**
+     * Flag every generated body for continuous collision detection.
+     */
+    public BodyGenerator fast(boolean fast) {
+        this.fast = fast;
+        return this;
+    }
+
+    public double getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Lay bodies out row by row on a grid whose top-left cell starts at (x, y).
+     * Cells are large enough for the biggest body plus the given gap.
+     * @param columns Bodies per row (0 = as close to a square as possible)
+     */
+    public List<PhysicsBody> grid(int count, int columns, double x, double y, double gap) {
+        int perRow = columns > 0 ? columns : (int) Math.ceil(Math.sqrt(count));
+        double cell = 2 * maxSize + gap;
+        BodyStore staging = new BodyStore(count);
+        List<PhysicsBody> bodies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double cellX = x + (i % perRow) * cell;
+            double cellY = y + (i / perRow) * cell;
+            bodies.add(createAt(staging, pickShape(), cellX + cell / 2, cellY + cell / 2));
+        }
+        return bodies;
+    }
+
+    /**
+     * Place bodies at uniformly random positions inside a box (bodies may overlap).
+     */
+    public List<PhysicsBody> random(int count, double minX, double minY, double maxX, double maxY) {
+        if (!(minX <= maxX) || !(minY <= maxY)) {
+            throw new IllegalArgumentException("Box minimum must not exceed its maximum");
+        }
+        BodyStore staging = new BodyStore(count);
+        List<PhysicsBody> bodies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            bodies.add(createAt(staging, pickShape(), uniform(minX, maxX), uniform(minY, maxY)));
+        }
+        return bodies;
+    }
+
+    /**
+     * Create one body centered at a uniformly random point of a box.
+     * @param staging Store the body is created in (e.g. reused by an emitter)
+     */
+    public PhysicsBody createIn(BodyStore staging, double minX, double minY, double maxX, double maxY) {
+        return createAt(staging, pickShape(), uniform(minX, maxX), uniform(minY, maxY));
+    }
+
+    /**
+     * Stack a pyramid whose base row rests on y = baseY and starts at x. Every
+     * block has the largest size, so the rows sit exactly on one another.
+     * @param rows Blocks in the base row (the pyramid holds rows * (rows + 1) / 2)
+     * @param gap Horizontal gap between neighbouring blocks
+     */
+    public List<PhysicsBody> pyramid(int rows, double x, double baseY, double gap) {
+        double side = 2 * maxSize;
+        double pitch = side + gap;
+        int count = rows * (rows + 1) / 2;
+        BodyStore staging = new BodyStore(count);
+        List<PhysicsBody> bodies = new ArrayList<>(count);
+        for (int row = 0; row < rows; row++) {
+            double rowX = x + row * pitch / 2;
+            double rowY = baseY - (row + 1) * side;
+            for (int i = 0; i < rows - row; i++) {
+                bodies.add(createBlock(staging, pickShape(), rowX + i * pitch, rowY, side));
+            }
+        }
+        return bodies;
+    }
+
+    /**
+     * Create one body centered at (x, y).
+     */
+    private PhysicsBody createAt(BodyStore store, Shape kind, double x, double y) {
+        double mass = uniform(minMass, maxMass);
+        double size = uniform(minSize, maxSize);
+        PhysicsBody body;
+        switch (kind) {
+            case CIRCLE:
+                body = new CircleBody(store, 0, mass, new Vector2D(x, y), velocity, size);
+                break;
+            case SQUARE:
+                body = new SquareBody(store, 0, mass, new Vector2D(x - size, y - size), velocity, 2 * size);
+                break;
+            default:
+                double width = 2 * size;
+                double height = 2 * uniform(minSize, maxSize);
+                body = new RectangleBody(store, 0, mass, new Vector2D(x - width / 2, y - height / 2), velocity, width, height);
+                break;
+        }
+        body.setFast(fast);
+        return body;
+    }
+
+    /**
+     * Create a block that fills the square with top-left corner (x, y).
+     */
+    private PhysicsBody createBlock(BodyStore store, Shape kind, double x, double y, double side) {
+        double mass = uniform(minMass, maxMass);
+        PhysicsBody body;
+        switch (kind) {
+            case CIRCLE:
+                body = new CircleBody(store, 0, mass, new Vector2D(x + side / 2, y + side / 2), velocity, side / 2);
+                break;
+            case SQUARE:
+                body = new SquareBody(store, 0, mass, new Vector2D(x, y), velocity, side);
+                break;
+            default:
+                body = new RectangleBody(store, 0, mass, new Vector2D(x, y), velocity, side, side);
+                break;
+        }
+        body.setFast(fast);
+        return body;
+    }
+
+    private Shape pickShape() {
+        return shape == Shape.MIXED ? MIXED_SHAPES[random.nextInt(MIXED_SHAPES.length)] : shape;
+    }
+
+    private double uniform(double min, double max) {
+        return min == max ? min : min + random.nextDouble() * (max - min);
+    }
+}
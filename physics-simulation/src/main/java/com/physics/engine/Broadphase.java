@@ -0,0 +1,39 @@
+package com.physics.engine;
+
+/**
+ * Broadphase collision culling strategy.
+ *
+ * A broadphase looks at the bounds of every body and reports the pairs whose
+ * bounds overlap. PhysicsWorld then runs the exact narrowphase check
+ * (Collider.checkCollision) and resolution only on those candidates.
+ */
+public interface Broadphase {
+
+    /**
+     * Compute candidate pairs for the current body bounds.
+     * Pairs are body indices (a < b) and must be reported in ascending order
+     * without duplicates, so every strategy resolves contacts in the same order
+     * as the brute-force loop.
+     *
+     * @param bounds Bounds of every body in the world
+     * @param pairs Output buffer (cleared by the caller)
+     */
+    void computePairs(BodyBounds bounds, PairBuffer pairs);
+
+    /**
+     * Drop any state kept between steps (called when the world is reset).
+     */
+    default void reset() {
+    }
+
+    /**
+     * Create an empty broadphase of the same strategy and settings (e.g. for
+     * a copy of the world). State kept between steps is not carried over.
+     */
+    Broadphase newInstance();
+
+    /**
+     * Get the broadphase name as reported by the API.
+     */
+    String getName();
+}
@@ -0,0 +1,54 @@
+package com.physics.engine;
+
+/**
+ * Available broadphase strategies, selectable per PhysicsWorld.
+ */
+public enum BroadphaseType {
+
+    BRUTE_FORCE(BruteForceBroadphase.NAME),
+    SPATIAL_HASH(SpatialHashBroadphase.NAME),
+    SWEEP_AND_PRUNE(SweepAndPruneBroadphase.NAME),
+    DYNAMIC_TREE(DynamicTreeBroadphase.NAME);
+
+    private final String name;
+
+    BroadphaseType(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Create a new broadphase instance of this type.
+     * @param cellSize Grid cell size for grid-based strategies, or fat-box margin
+     *                 for the dynamic tree (0 = default)
+     */
+    public Broadphase create(double cellSize) {
+        switch (this) {
+            case SPATIAL_HASH:
+                return new SpatialHashBroadphase(cellSize);
+            case SWEEP_AND_PRUNE:
+                return new SweepAndPruneBroadphase();
+            case DYNAMIC_TREE:
+                return cellSize > 0 ? new DynamicTreeBroadphase(cellSize) : new DynamicTreeBroadphase();
+            case BRUTE_FORCE:
+            default:
+                return new BruteForceBroadphase();
+        }
+    }
+
+    /**
+     * Look up a broadphase type by its API name (e.g. "spatial-hash").
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    public static BroadphaseType fromName(String name) {
+        for (BroadphaseType type : values()) {
+            if (type.name.equalsIgnoreCase(name) || type.name().equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown broadphase type: " + name);
+    }
+}
@@ -0,0 +1,33 @@
+package com.physics.engine;
+
+/**
+ * Brute-force broadphase: tests the bounds of every pair of bodies.
+ * This is the original nested i/j loop of PhysicsWorld.handleCollisions and is
+ * kept as the reference strategy for comparing the faster broadphases.
+ */
+public class BruteForceBroadphase implements Broadphase {
+
+    public static final String NAME = "brute-force";
+
+    @Override
+    public void computePairs(BodyBounds bounds, PairBuffer pairs) {
+        int count = bounds.getCount();
+        for (int i = 0; i < count; i++) {
+            for (int j = i + 1; j < count; j++) {
+                if (bounds.overlaps(i, j)) {
+                    pairs.add(i, j);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Broadphase newInstance() {
+        return new BruteForceBroadphase();
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+}
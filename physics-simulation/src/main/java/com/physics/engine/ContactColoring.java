@@ -0,0 +1,130 @@
+package com.physics.engine;
+
+import com.physics.model.BodyStore;
+
+import java.util.Arrays;
+
+/**
+ * Greedy coloring of the contact graph for parallel contact resolution.
+ *
+ * Resolving a contact writes the velocities of both bodies, so two contacts
+ * that share a dynamic body cannot be resolved at the same time. Each contact
+ * gets the lowest color not yet used by either of its dynamic bodies; all
+ * contacts of one color are then independent and can be resolved as a
+ * parallel batch. Static bodies (mass <= 0) are never written by resolution,
+ * so contacts that only share a floor or wall do not conflict.
+ *
+ * Contacts that find no free color among MAX_COLORS go to one extra batch
+ * that is resolved serially. The coloring only depends on the contact order,
+ * so results are deterministic regardless of the number of worker threads.
+ */
+public class ContactColoring {
+
+    // Colors tracked per body in a 64-bit mask
+    public static final int MAX_COLORS = 64;
+
+    // Colors already used by each body slot
+    private long[] bodyColors = new long[64];
+
+    // Contact indices grouped by color, with the start of each batch
+    private int[] colorOf = new int[64];
+    private int[] order = new int[64];
+    private final int[] batchStart = new int[MAX_COLORS + 2];
+    private int batchCount;
+    private int colorCount;
+    private boolean overflow;
+
+    /**
+     * Color the contacts (slotA[k], slotB[k]) for k < contactCount.
+     */
+    public void color(int contactCount, int[] slotA, int[] slotB, BodyStore store) {
+        int bodyCount = store.size();
+        if (bodyColors.length < bodyCount) {
+            bodyColors = new long[Math.max(bodyCount, bodyColors.length * 2)];
+        }
+        Arrays.fill(bodyColors, 0, bodyCount, 0L);
+        if (colorOf.length < contactCount) {
+            int capacity = Math.max(contactCount, colorOf.length * 2);
+            colorOf = new int[capacity];
+            order = new int[capacity];
+        }
+
+        // Assign colors and count contacts per color (batchStart[c + 1])
+        Arrays.fill(batchStart, 0);
+        int colors = 0;
+        overflow = false;
+        for (int k = 0; k < contactCount; k++) {
+            int a = slotA[k];
+            int b = slotB[k];
+            boolean dynamicA = store.getInvMass(a) > 0;
+            boolean dynamicB = store.getInvMass(b) > 0;
+            long used = (dynamicA ? bodyColors[a] : 0L) | (dynamicB ? bodyColors[b] : 0L);
+
+            int c;
+            if (used == -1L) {
+                c = MAX_COLORS;
+                overflow = true;
+            } else {
+                c = Long.numberOfTrailingZeros(~used);
+                long bit = 1L << c;
+                if (dynamicA) bodyColors[a] |= bit;
+                if (dynamicB) bodyColors[b] |= bit;
+                colors = Math.max(colors, c + 1);
+            }
+            colorOf[k] = c;
+            batchStart[c + 1]++;
+        }
+        colorCount = colors;
+        batchCount = overflow ? MAX_COLORS + 1 : colors;
+
+        // Prefix sums, then a stable counting sort of contacts by color
+        for (int c = 0; c <= MAX_COLORS; c++) {
+            batchStart[c + 1] += batchStart[c];
+        }
+        for (int k = 0; k < contactCount; k++) {
+            order[batchStart[colorOf[k]]++] = k;
+        }
+        // The scatter advanced each start to the next batch's start; shift back
+        for (int c = MAX_COLORS + 1; c > 0; c--) {
+            batchStart[c] = batchStart[c - 1];
+        }
+        batchStart[0] = 0;
+    }
+
+    /**
+     * Get the number of batches (colors, plus the serial overflow batch if used).
+     * Batches between the last color and the overflow batch are empty.
+     */
+    public int getBatchCount() {
+        return batchCount;
+    }
+
+    /**
+     * Get the number of colors used by the last coloring (excluding overflow).
+     */
+    public int getColorCount() {
+        return colorCount;
+    }
+
+    public int getBatchStart(int batch) {
+        return batchStart[batch];
+    }
+
+    public int getBatchEnd(int batch) {
+        return batchStart[batch + 1];
+    }
+
+    /**
+     * Check if a batch must be resolved serially (the overflow batch).
+     */
+    public boolean isSerialBatch(int batch) {
+        return overflow && batch == MAX_COLORS;
+    }
+
+    /**
+     * Get the contact index at a position of the color-sorted order.
+     */
+    public int getContact(int position) {
+        return order[position];
+    }
+}
@@ -0,0 +1,80 @@
+package com.physics.engine;
+
+import java.util.Arrays;
+
+/**
+ * Union-find over body slots, used to group bodies connected by contacts
+ * into islands. Only dynamic bodies are joined; static bodies such as the
+ * floor would otherwise merge every pile in the scene into one island.
+ *
+ * Arrays are reused between steps, so building islands does not allocate.
+ */
+public class ContactIslands {
+
+    private int[] parent = new int[64];
+    private int[] rank = new int[64];
+
+    // Per-root scratch value (e.g. the minimum rest counter of the island)
+    private int[] rootValue = new int[64];
+
+    private int count;
+
+    /**
+     * Start with every slot in its own island.
+     */
+    public void reset(int count) {
+        if (parent.length < count) {
+            int capacity = Math.max(count, parent.length * 2);
+            parent = new int[capacity];
+            rank = new int[capacity];
+            rootValue = new int[capacity];
+        }
+        this.count = count;
+        for (int i = 0; i < count; i++) {
+            parent[i] = i;
+        }
+        Arrays.fill(rank, 0, count, 0);
+    }
+
+    /**
+     * Find the root slot of a slot's island (with path halving).
+     */
+    public int find(int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    /**
+     * Merge the islands of two slots.
+     */
+    public void union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return;
+        }
+        if (rank[rootA] < rank[rootB]) {
+            parent[rootA] = rootB;
+        } else if (rank[rootA] > rank[rootB]) {
+            parent[rootB] = rootA;
+        } else {
+            parent[rootB] = rootA;
+            rank[rootA]++;
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getRootValue(int root) {
+        return rootValue[root];
+    }
+
+    public void setRootValue(int root, int value) {
+        rootValue[root] = value;
+    }
+}
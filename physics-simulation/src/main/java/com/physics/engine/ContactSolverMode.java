@@ -0,0 +1,39 @@
+package com.physics.engine;
+
+/**
+ * How PhysicsWorld resolves the contacts found in a step.
+ */
+public enum ContactSolverMode {
+
+    // Resolve contacts one after another in pair order
+    SERIAL("serial"),
+
+    // Color the contact graph and resolve each color as a parallel batch
+    GRAPH_COLORING("graph-coloring"),
+
+    // Iterate over all contacts with accumulated, warm-started impulses
+    SEQUENTIAL_IMPULSE("sequential-impulse");
+
+    private final String name;
+
+    ContactSolverMode(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Look up a solver mode by its API name (e.g. "graph-coloring").
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    public static ContactSolverMode fromName(String name) {
+        for (ContactSolverMode mode : values()) {
+            if (mode.name.equalsIgnoreCase(name) || mode.name().equalsIgnoreCase(name)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown contact solver: " + name);
+    }
+}
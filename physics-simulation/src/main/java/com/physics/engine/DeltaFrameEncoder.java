@@ -0,0 +1,228 @@
+package com.physics.engine;
+
+import com.physics.model.BodyStore;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Encodes the bodies of a world as compact binary frames for streaming.
+ *
+ * A keyframe carries every body; a delta frame carries only the bodies whose
+ * position or velocity moved more than epsilon away from the values last
+ * sent for them (or whose shape changed, or that are new), plus the IDs of
+ * bodies removed since the last frame. Comparing against the last sent
+ * values rather than the previous step keeps slow drift from accumulating.
+ * A keyframe is sent every keyframeInterval frames, and on request, so a
+ * client that missed a frame can resync.
+ *
+ * Frame layout (big-endian):
+ * <pre>
+ *   byte     frame type: 1 = keyframe, 2 = delta
+ *   int64    world step count
+ *   int32    number of body records, then per record:
+ *              int32    body ID
+ *              byte     flags (bit 0 = shape follows)
+ *              float32  x, y, vx, vy
+ *              [byte shape (1 = circle, 2 = box), float32 extentX, extentY]
+ *   int32    number of removed bodies (0 in keyframes), then their int32 IDs
+ * </pre>
+ * Positions and extents follow the BodyStore conventions (a circle's center
+ * and radius, a box's top-left corner, width and height).
+ */
+public final class DeltaFrameEncoder {
+
+    public static final byte KEYFRAME = 1;
+    public static final byte DELTA = 2;
+
+    // Record flag: the record carries the body's shape and extents
+    public static final int FLAG_SHAPE = 1;
+
+    // Bytes of the frame header, of the largest record, and of the removed-count field
+    private static final int HEADER_BYTES = 1 + 8 + 4;
+    private static final int MAX_RECORD_BYTES = 4 + 1 + 4 * 4 + 1 + 2 * 4;
+    private static final int REMOVED_HEADER_BYTES = 4;
+
+    private final double epsilon;
+    private final int keyframeInterval;
+
+    // Baseline: the values last sent for each body of the previous frame.
+    // Two sets of columns are swapped every frame; index maps a body ID to its
+    // position in the current baseline.
+    private Baseline baseline = new Baseline();
+    private Baseline next = new Baseline();
+    private LongIntHashMap index = new LongIntHashMap();
+    private LongIntHashMap nextIndex = new LongIntHashMap();
+    private boolean[] seen = new boolean[64];
+
+    private ByteBuffer buffer = ByteBuffer.allocate(1024);
+    private int framesSinceKeyframe;
+    private volatile boolean keyframeRequested = true;
+
+    /**
+     * @param epsilon Smallest change of a position or velocity component that is sent
+     * @param keyframeInterval Frames between keyframes
+     */
+    public DeltaFrameEncoder(double epsilon, int keyframeInterval) {
+        if (epsilon < 0 || keyframeInterval <= 0) {
+            throw new IllegalArgumentException("Epsilon must not be negative and keyframe interval must be positive");
+        }
+        this.epsilon = epsilon;
+        this.keyframeInterval = keyframeInterval;
+    }
+
+    /**
+     * Make the next frame a keyframe (e.g. for a new or resyncing client).
+     */
+    public void requestKeyframe() {
+        keyframeRequested = true;
+    }
+
+    /**
+     * Encode the next frame. Must be called with the world's lock held (from
+     * a StepListener), and not concurrently with itself.
+     * @param store The world's body columns
+     * @param stepCount The world's step count
+     * @return The encoded frame
+     */
+    public byte[] encode(BodyStore store, long stepCount) {
+        int count = store.size();
+        boolean keyframe = keyframeRequested || ++framesSinceKeyframe >= keyframeInterval;
+        if (keyframe) {
+            keyframeRequested = false;
+            framesSinceKeyframe = 0;
+        }
+
+        ensureCapacity(HEADER_BYTES + count * MAX_RECORD_BYTES + REMOVED_HEADER_BYTES + baseline.count * 4);
+        next.ensureCapacity(count);
+        if (seen.length < baseline.count) {
+            seen = new boolean[Math.max(baseline.count, seen.length * 2)];
+        }
+
+        ByteBuffer out = buffer;
+        out.clear();
+        out.put(keyframe ? KEYFRAME : DELTA);
+        out.putLong(stepCount);
+        int recordCountAt = out.position();
+        out.putInt(0);
+
+        int records = 0;
+        nextIndex.clear();
+        for (int slot = 0; slot < count; slot++) {
+            int id = store.getId(slot);
+            double x = store.getPosX(slot);
+            double y = store.getPosY(slot);
+            double vx = store.getVelX(slot);
+            double vy = store.getVelY(slot);
+            int shape = store.getShape(slot);
+            double extentX = store.getExtentX(slot);
+            double extentY = store.getExtentY(slot);
+
+            int old = keyframe ? -1 : index.get(id, -1);
+            boolean shapeChanged = old < 0 || baseline.shape[old] != shape
+                || baseline.extentX[old] != extentX || baseline.extentY[old] != extentY;
+            boolean moved = old < 0
+                || Math.abs(x - baseline.x[old]) > epsilon || Math.abs(y - baseline.y[old]) > epsilon
+                || Math.abs(vx - baseline.vx[old]) > epsilon || Math.abs(vy - baseline.vy[old]) > epsilon;
+            if (old >= 0) {
+                seen[old] = true;
+            }
+
+            if (moved || shapeChanged) {
+                out.putInt(id);
+                out.put((byte) (shapeChanged ? FLAG_SHAPE : 0));
+                out.putFloat((float) x);
+                out.putFloat((float) y);
+                out.putFloat((float) vx);
+                out.putFloat((float) vy);
+                if (shapeChanged) {
+                    out.put((byte) shape);
+                    out.putFloat((float) extentX);
+                    out.putFloat((float) extentY);
+                }
+                records++;
+                next.set(slot, id, x, y, vx, vy, shape, extentX, extentY);
+            } else {
+                next.copy(slot, baseline, old);
+            }
+            nextIndex.put(id, slot);
+        }
+        out.putInt(recordCountAt, records);
+
+        // Bodies of the previous frame that no longer exist
+        int removedCountAt = out.position();
+        out.putInt(0);
+        int removed = 0;
+        for (int i = 0; i < baseline.count; i++) {
+            if (!seen[i] && !keyframe) {
+                out.putInt(baseline.id[i]);
+                removed++;
+            }
+            seen[i] = false;
+        }
+        out.putInt(removedCountAt, removed);
+
+        next.count = count;
+        Baseline swapBaseline = baseline;
+        baseline = next;
+        next = swapBaseline;
+        LongIntHashMap swapIndex = index;
+        index = nextIndex;
+        nextIndex = swapIndex;
+
+        return Arrays.copyOf(out.array(), out.position());
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (buffer.capacity() < bytes) {
+            buffer = ByteBuffer.allocate(Math.max(bytes, buffer.capacity() * 2));
+        }
+    }
+
+    /**
+     * Values last sent for each body, as columns.
+     */
+    private static final class Baseline {
+        int count;
+        int[] id = new int[0];
+        double[] x = new double[0];
+        double[] y = new double[0];
+        double[] vx = new double[0];
+        double[] vy = new double[0];
+        int[] shape = new int[0];
+        double[] extentX = new double[0];
+        double[] extentY = new double[0];
+
+        void ensureCapacity(int capacity) {
+            if (id.length >= capacity) {
+                return;
+            }
+            int size = Math.max(capacity, id.length * 2);
+            id = Arrays.copyOf(id, size);
+            x = Arrays.copyOf(x, size);
+            y = Arrays.copyOf(y, size);
+            vx = Arrays.copyOf(vx, size);
+            vy = Arrays.copyOf(vy, size);
+            shape = Arrays.copyOf(shape, size);
+            extentX = Arrays.copyOf(extentX, size);
+            extentY = Arrays.copyOf(extentY, size);
+        }
+
+        void set(int i, int bodyId, double px, double py, double pvx, double pvy,
+                 int shapeCode, double ex, double ey) {
+            id[i] = bodyId;
+            x[i] = px;
+            y[i] = py;
+            vx[i] = pvx;
+            vy[i] = pvy;
+            shape[i] = shapeCode;
+            extentX[i] = ex;
+            extentY[i] = ey;
+        }
+
+        void copy(int i, Baseline from, int j) {
+            set(i, from.id[j], from.x[j], from.y[j], from.vx[j], from.vy[j],
+                from.shape[j], from.extentX[j], from.extentY[j]);
+        }
+    }
+}
@@ -0,0 +1,463 @@
+package com.physics.engine;
+
+import java.util.Arrays;
+
+/**
+ * Dynamic bounding-volume hierarchy of axis-aligned boxes.
+ * Modelled on the b2DynamicTree from Box2D.
+ *
+ * Each leaf (proxy) stores a "fat" box: the body's bounds grown by a margin.
+ * As long as the body's tight bounds stay inside its fat box, moving the body
+ * does not touch the tree. Otherwise the leaf is removed and reinserted.
+ * Insertion picks the sibling with the smallest perimeter growth and the tree
+ * is kept balanced with AVL-style rotations, so queries cost O(log n).
+ *
+ * Nodes live in parallel primitive arrays and are referred to by index;
+ * a leaf's index is its proxy ID.
+ */
+public class DynamicAabbTree {
+
+    public static final int NULL_NODE = -1;
+
+    /**
+     * Callback for tree queries.
+     */
+    public interface QueryCallback {
+        /**
+         * Called for each leaf whose fat box overlaps the query.
+         * @param proxyId The leaf's proxy ID
+         * @return true to continue the query, false to stop
+         */
+        boolean report(int proxyId);
+    }
+
+    // Default fat-box margin added on every side of a body's bounds
+    public static final double DEFAULT_MARGIN = 2.0;
+
+    private final double margin;
+
+    // Node storage
+    private double[] minX;
+    private double[] minY;
+    private double[] maxX;
+    private double[] maxY;
+    private int[] parent;       // Next free node when the node is on the free list
+    private int[] child1;
+    private int[] child2;
+    private int[] height;       // 0 for leaves, -1 for free nodes
+    private int[] userData;
+
+    private int root = NULL_NODE;
+    private int capacity;
+    private int nodeCount;
+    private int freeList;
+
+    // Traversal stack reused by queries
+    private int[] stack = new int[64];
+
+    public DynamicAabbTree() {
+        this(DEFAULT_MARGIN);
+    }
+
+    public DynamicAabbTree(double margin) {
+        this.margin = margin;
+        this.capacity = 16;
+        this.minX = new double[capacity];
+        this.minY = new double[capacity];
+        this.maxX = new double[capacity];
+        this.maxY = new double[capacity];
+        this.parent = new int[capacity];
+        this.child1 = new int[capacity];
+        this.child2 = new int[capacity];
+        this.height = new int[capacity];
+        this.userData = new int[capacity];
+        linkFreeNodes(0);
+    }
+
+    /**
+     * Create a proxy for the given tight bounds.
+     * @return The proxy ID
+     */
+    public int createProxy(double minX, double minY, double maxX, double maxY, int userData) {
+        int proxyId = allocateNode();
+        setFatBounds(proxyId, minX, minY, maxX, maxY);
+        this.userData[proxyId] = userData;
+        this.height[proxyId] = 0;
+        insertLeaf(proxyId);
+        return proxyId;
+    }
+
+    /**
+     * Destroy a proxy created with createProxy.
+     */
+    public void destroyProxy(int proxyId) {
+        removeLeaf(proxyId);
+        freeNode(proxyId);
+    }
+
+    /**
+     * Update a proxy with new tight bounds.
+     * The tree is only modified if the bounds left the proxy's fat box.
+     * @return true if the proxy was reinserted
+     */
+    public boolean moveProxy(int proxyId, double minX, double minY, double maxX, double maxY) {
+        if (this.minX[proxyId] <= minX && this.minY[proxyId] <= minY
+                && this.maxX[proxyId] >= maxX && this.maxY[proxyId] >= maxY) {
+            return false;
+        }
+        removeLeaf(proxyId);
+        setFatBounds(proxyId, minX, minY, maxX, maxY);
+        insertLeaf(proxyId);
+        return true;
+    }
+
+    /**
+     * Report every proxy whose fat box overlaps the given box.
+     */
+    public void query(double qMinX, double qMinY, double qMaxX, double qMaxY, QueryCallback callback) {
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int node = stack[--top];
+            if (node == NULL_NODE) {
+                continue;
+            }
+            if (minX[node] > qMaxX || maxX[node] < qMinX || minY[node] > qMaxY || maxY[node] < qMinY) {
+                continue;
+            }
+            if (isLeaf(node)) {
+                if (!callback.report(node)) {
+                    return;
+                }
+            } else {
+                if (top + 2 > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                stack[top++] = child1[node];
+                stack[top++] = child2[node];
+            }
+        }
+    }
+
+    /**
+     * Report every proxy whose fat box contains the given point.
+     */
+    public void queryPoint(double x, double y, QueryCallback callback) {
+        query(x, y, x, y, callback);
+    }
+
+    public int getUserData(int proxyId) {
+        return userData[proxyId];
+    }
+
+    public double getFatMinX(int proxyId) {
+        return minX[proxyId];
+    }
+
+    public double getFatMinY(int proxyId) {
+        return minY[proxyId];
+    }
+
+    public double getFatMaxX(int proxyId) {
+        return maxX[proxyId];
+    }
+
+    public double getFatMaxY(int proxyId) {
+        return maxY[proxyId];
+    }
+
+    /**
+     * Get the height of the tree (0 for a single leaf, -1 when empty).
+     */
+    public int getHeight() {
+        return root == NULL_NODE ? -1 : height[root];
+    }
+
+    /**
+     * Get the number of allocated nodes (leaves and internal nodes).
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Get the node capacity; proxy IDs are always below this value.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public double getMargin() {
+        return margin;
+    }
+
+    /**
+     * Remove every proxy from the tree.
+     */
+    public void clear() {
+        root = NULL_NODE;
+        nodeCount = 0;
+        linkFreeNodes(0);
+    }
+
+    private boolean isLeaf(int node) {
+        return child1[node] == NULL_NODE;
+    }
+
+    private void setFatBounds(int node, double minX, double minY, double maxX, double maxY) {
+        this.minX[node] = minX - margin;
+        this.minY[node] = minY - margin;
+        this.maxX[node] = maxX + margin;
+        this.maxY[node] = maxY + margin;
+    }
+
+    private void combine(int node, int a, int b) {
+        minX[node] = Math.min(minX[a], minX[b]);
+        minY[node] = Math.min(minY[a], minY[b]);
+        maxX[node] = Math.max(maxX[a], maxX[b]);
+        maxY[node] = Math.max(maxY[a], maxY[b]);
+    }
+
+    private double perimeter(int node) {
+        return 2.0 * ((maxX[node] - minX[node]) + (maxY[node] - minY[node]));
+    }
+
+    private double combinedPerimeter(int a, int b) {
+        double w = Math.max(maxX[a], maxX[b]) - Math.min(minX[a], minX[b]);
+        double h = Math.max(maxY[a], maxY[b]) - Math.min(minY[a], minY[b]);
+        return 2.0 * (w + h);
+    }
+
+    private int allocateNode() {
+        if (freeList == NULL_NODE) {
+            int oldCapacity = capacity;
+            capacity *= 2;
+            minX = Arrays.copyOf(minX, capacity);
+            minY = Arrays.copyOf(minY, capacity);
+            maxX = Arrays.copyOf(maxX, capacity);
+            maxY = Arrays.copyOf(maxY, capacity);
+            parent = Arrays.copyOf(parent, capacity);
+            child1 = Arrays.copyOf(child1, capacity);
+            child2 = Arrays.copyOf(child2, capacity);
+            height = Arrays.copyOf(height, capacity);
+            userData = Arrays.copyOf(userData, capacity);
+            linkFreeNodes(oldCapacity);
+        }
+        int node = freeList;
+        freeList = parent[node];
+        parent[node] = NULL_NODE;
+        child1[node] = NULL_NODE;
+        child2[node] = NULL_NODE;
+        height[node] = 0;
+        userData[node] = -1;
+        nodeCount++;
+        return node;
+    }
+
+    private void freeNode(int node) {
+        parent[node] = freeList;
+        height[node] = -1;
+        freeList = node;
+        nodeCount--;
+    }
+
+    private void linkFreeNodes(int from) {
+        for (int i = from; i < capacity - 1; i++) {
+            parent[i] = i + 1;
+            height[i] = -1;
+        }
+        parent[capacity - 1] = NULL_NODE;
+        height[capacity - 1] = -1;
+        freeList = from;
+    }
+
+    private void insertLeaf(int leaf) {
+        if (root == NULL_NODE) {
+            root = leaf;
+            parent[root] = NULL_NODE;
+            return;
+        }
+
+        // Descend to the sibling whose bounds grow the least
+        int index = root;
+        while (!isLeaf(index)) {
+            int c1 = child1[index];
+            int c2 = child2[index];
+
+            double area = perimeter(index);
+            double combinedArea = combinedPerimeter(index, leaf);
+
+            // Cost of creating a new parent for this node and the new leaf
+            double cost = 2.0 * combinedArea;
+
+            // Minimum cost of pushing the leaf further down the tree
+            double inheritanceCost = 2.0 * (combinedArea - area);
+
+            double cost1 = childCost(c1, leaf) + inheritanceCost;
+            double cost2 = childCost(c2, leaf) + inheritanceCost;
+
+            if (cost < cost1 && cost < cost2) {
+                break;
+            }
+            index = cost1 < cost2 ? c1 : c2;
+        }
+        int sibling = index;
+
+        // Create a new parent for the sibling and the leaf
+        int oldParent = parent[sibling];
+        int newParent = allocateNode();
+        parent[newParent] = oldParent;
+        combine(newParent, leaf, sibling);
+        height[newParent] = height[sibling] + 1;
+
+        if (oldParent != NULL_NODE) {
+            if (child1[oldParent] == sibling) {
+                child1[oldParent] = newParent;
+            } else {
+                child2[oldParent] = newParent;
+            }
+        } else {
+            root = newParent;
+        }
+        child1[newParent] = sibling;
+        child2[newParent] = leaf;
+        parent[sibling] = newParent;
+        parent[leaf] = newParent;
+
+        refit(parent[leaf]);
+    }
+
+    private double childCost(int child, int leaf) {
+        if (isLeaf(child)) {
+            return combinedPerimeter(child, leaf);
+        }
+        return combinedPerimeter(child, leaf) - perimeter(child);
+    }
+
+    private void removeLeaf(int leaf) {
+        if (leaf == root) {
+            root = NULL_NODE;
+            return;
+        }
+
+        int leafParent = parent[leaf];
+        int grandParent = parent[leafParent];
+        int sibling = child1[leafParent] == leaf ? child2[leafParent] : child1[leafParent];
+
+        if (grandParent != NULL_NODE) {
+            // Replace the parent with the sibling
+            if (child1[grandParent] == leafParent) {
+                child1[grandParent] = sibling;
+            } else {
+                child2[grandParent] = sibling;
+            }
+            parent[sibling] = grandParent;
+            freeNode(leafParent);
+            refit(grandParent);
+        } else {
+            root = sibling;
+            parent[sibling] = NULL_NODE;
+            freeNode(leafParent);
+        }
+    }
+
+    /**
+     * Walk from a node to the root, rebalancing and refitting bounds and heights.
+     */
+    private void refit(int index) {
+        while (index != NULL_NODE) {
+            index = balance(index);
+            int c1 = child1[index];
+            int c2 = child2[index];
+            height[index] = 1 + Math.max(height[c1], height[c2]);
+            combine(index, c1, c2);
+            index = parent[index];
+        }
+    }
+
+    /**
+     * Perform a left or right rotation if node a is imbalanced.
+     * @return The new root of the subtree
+     */
+    private int balance(int a) {
+        if (isLeaf(a) || height[a] < 2) {
+            return a;
+        }
+
+        int b = child1[a];
+        int c = child2[a];
+        int imbalance = height[c] - height[b];
+
+        // Rotate c up
+        if (imbalance > 1) {
+            int f = child1[c];
+            int g = child2[c];
+
+            child1[c] = a;
+            parent[c] = parent[a];
+            parent[a] = c;
+            replaceChild(parent[c], a, c);
+
+            if (height[f] > height[g]) {
+                child2[c] = f;
+                child2[a] = g;
+                parent[g] = a;
+                combine(a, b, g);
+                combine(c, a, f);
+                height[a] = 1 + Math.max(height[b], height[g]);
+                height[c] = 1 + Math.max(height[a], height[f]);
+            } else {
+                child2[c] = g;
+                child2[a] = f;
+                parent[f] = a;
+                combine(a, b, f);
+                combine(c, a, g);
+                height[a] = 1 + Math.max(height[b], height[f]);
+                height[c] = 1 + Math.max(height[a], height[g]);
+            }
+            return c;
+        }
+
+        // Rotate b up
+        if (imbalance < -1) {
+            int d = child1[b];
+            int e = child2[b];
+
+            child1[b] = a;
+            parent[b] = parent[a];
+            parent[a] = b;
+            replaceChild(parent[b], a, b);
+
+            if (height[d] > height[e]) {
+                child2[b] = d;
+                child1[a] = e;
+                parent[e] = a;
+                combine(a, c, e);
+                combine(b, a, d);
+                height[a] = 1 + Math.max(height[c], height[e]);
+                height[b] = 1 + Math.max(height[a], height[d]);
+            } else {
+                child2[b] = e;
+                child1[a] = d;
+                parent[d] = a;
+                combine(a, c, d);
+                combine(b, a, e);
+                height[a] = 1 + Math.max(height[c], height[d]);
+                height[b] = 1 + Math.max(height[a], height[e]);
+            }
+            return b;
+        }
+
+        return a;
+    }
+
+    private void replaceChild(int node, int oldChild, int newChild) {
+        if (node == NULL_NODE) {
+            root = newChild;
+        } else if (child1[node] == oldChild) {
+            child1[node] = newChild;
+        } else {
+            child2[node] = newChild;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.physics.engine;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Broadphase backed by a DynamicAabbTree.
+ *
+ * Every body owns one tree proxy with a fattened box. Bodies that stay inside
+ * their fat box cost nothing to update; the rest are reinserted. Pairs are
+ * found by querying the tree with each body's bounds, which is O(n log n) and
+ * does not depend on bodies having similar sizes (unlike a uniform grid).
+ *
+ * The same tree also answers point and region queries for PhysicsWorld.
+ */
+public class DynamicTreeBroadphase implements Broadphase, DynamicAabbTree.QueryCallback {
+
+    public static final String NAME = "dynamic-tree";
+
+    private final DynamicAabbTree tree;
+
+    // Tree proxy for each body ID
+    private final Map<Integer, Integer> proxyById = new HashMap<>();
+
+    // Proxy and body ID seen at each body index in the last update (avoids map lookups)
+    private int[] proxyByIndex = new int[16];
+    private int[] idByIndex = new int[16];
+
+    // Body index and update stamp of each proxy, indexed by proxy ID
+    private int[] indexByProxy = new int[16];
+    private int[] stampByProxy = new int[16];
+    private int stamp;
+
+    // Number of proxies reinserted in the last update
+    private int reinsertCount;
+
+    // State of the pair query in progress
+    private BodyBounds queryBounds;
+    private PairBuffer queryPairs;
+    private int queryIndex;
+
+    public DynamicTreeBroadphase() {
+        this(DynamicAabbTree.DEFAULT_MARGIN);
+    }
+
+    /**
+     * @param margin Fat-box margin added around each body's bounds
+     */
+    public DynamicTreeBroadphase(double margin) {
+        this.tree = new DynamicAabbTree(margin);
+        Arrays.fill(idByIndex, Integer.MIN_VALUE);
+    }
+
+    /**
+     * Synchronise the tree with the current body bounds: create proxies for new
+     * bodies, destroy proxies of removed ones and move the rest.
+     */
+    public void update(BodyBounds bounds) {
+        int count = bounds.getCount();
+        stamp++;
+        reinsertCount = 0;
+        int tracked = 0;
+        if (proxyByIndex.length < count) {
+            int capacity = Math.max(count, proxyByIndex.length * 2);
+            proxyByIndex = Arrays.copyOf(proxyByIndex, capacity);
+            int oldLength = idByIndex.length;
+            idByIndex = Arrays.copyOf(idByIndex, capacity);
+            Arrays.fill(idByIndex, oldLength, capacity, Integer.MIN_VALUE);
+        }
+
+        for (int i = 0; i < count; i++) {
+            int id = bounds.getId(i);
+            if (bounds.isEmpty(i)) {
+                idByIndex[i] = Integer.MIN_VALUE;
+                continue;
+            }
+            double minX = bounds.getMinX(i);
+            double minY = bounds.getMinY(i);
+            double maxX = bounds.getMaxX(i);
+            double maxY = bounds.getMaxY(i);
+
+            int proxyId;
+            if (idByIndex[i] == id) {
+                proxyId = proxyByIndex[i];
+                if (tree.moveProxy(proxyId, minX, minY, maxX, maxY)) {
+                    reinsertCount++;
+                }
+            } else {
+                Integer existing = proxyById.get(id);
+                if (existing != null) {
+                    proxyId = existing;
+                    if (tree.moveProxy(proxyId, minX, minY, maxX, maxY)) {
+                        reinsertCount++;
+                    }
+                } else {
+                    proxyId = tree.createProxy(minX, minY, maxX, maxY, id);
+                    proxyById.put(id, proxyId);
+                    ensureProxyCapacity();
+                }
+                idByIndex[i] = id;
+                proxyByIndex[i] = proxyId;
+            }
+            indexByProxy[proxyId] = i;
+            stampByProxy[proxyId] = stamp;
+            tracked++;
+        }
+
+        // Destroy proxies of bodies that are gone
+        if (proxyById.size() > tracked) {
+            removeStaleProxies();
+        }
+    }
+
+    private void removeStaleProxies() {
+        Iterator<Integer> it = proxyById.values().iterator();
+        while (it.hasNext()) {
+            int proxyId = it.next();
+            if (stampByProxy[proxyId] != stamp) {
+                tree.destroyProxy(proxyId);
+                it.remove();
+            }
+        }
+    }
+
+    private void ensureProxyCapacity() {
+        if (indexByProxy.length < tree.getCapacity()) {
+            indexByProxy = Arrays.copyOf(indexByProxy, tree.getCapacity());
+            stampByProxy = Arrays.copyOf(stampByProxy, tree.getCapacity());
+        }
+    }
+
+    @Override
+    public void computePairs(BodyBounds bounds, PairBuffer pairs) {
+        update(bounds);
+
+        queryBounds = bounds;
+        queryPairs = pairs;
+        for (int i = 0; i < bounds.getCount(); i++) {
+            if (bounds.isEmpty(i)) {
+                continue;
+            }
+            queryIndex = i;
+            tree.query(bounds.getMinX(i), bounds.getMinY(i), bounds.getMaxX(i), bounds.getMaxY(i), this);
+        }
+        queryBounds = null;
+        queryPairs = null;
+
+        pairs.sortAndDeduplicate();
+    }
+
+    /**
+     * Pair query callback: each pair is found from both sides, keep the one
+     * reported by the lower index.
+     */
+    @Override
+    public boolean report(int proxyId) {
+        int other = indexByProxy[proxyId];
+        if (other > queryIndex && queryBounds.overlaps(queryIndex, other)) {
+            queryPairs.add(queryIndex, other);
+        }
+        return true;
+    }
+
+    /**
+     * Get the body index (as of the last update) of a tree proxy.
+     */
+    public int getBodyIndex(int proxyId) {
+        return indexByProxy[proxyId];
+    }
+
+    public DynamicAabbTree getTree() {
+        return tree;
+    }
+
+    /**
+     * Get the number of proxies that left their fat box in the last update.
+     */
+    public int getReinsertCount() {
+        return reinsertCount;
+    }
+
+    @Override
+    public void reset() {
+        tree.clear();
+        proxyById.clear();
+        Arrays.fill(idByIndex, Integer.MIN_VALUE);
+    }
+
+    @Override
+    public Broadphase newInstance() {
+        return new DynamicTreeBroadphase(tree.getMargin());
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+}
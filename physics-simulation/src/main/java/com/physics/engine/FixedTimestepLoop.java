@@ -0,0 +1,249 @@
+package com.physics.engine;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fixed-timestep simulation loop for one PhysicsWorld.
+ *
+ * While the world is running, elapsed wall-clock time is added to an
+ * accumulator and the world is stepped by a constant dt for every full dt in
+ * it. When more than maxCatchUpSteps steps are due, the excess is dropped
+ * instead of being made up later, so a world that cannot keep up runs slower
+ * than real time rather than falling further and further behind (the "spiral
+ * of death").
+ *
+ * The loop has no thread of its own: a TickScheduler runs it in slices on a
+ * shared pool. Each slice takes the steps that are due (at most the
+ * scheduler's per-slice cap) and returns the deadline of the next step.
+ * The loop is also the world's command signal: a queued command gets a
+ * slice scheduled right away, which applies it even while the world is
+ * paused.
+ */
+public class FixedTimestepLoop {
+
+    // Returned by runSlice when the world is paused and need not be scheduled
+    static final long IDLE = Long.MIN_VALUE;
+
+    // Length of the window over which the real-time ratio is measured
+    private static final long RATIO_WINDOW_NANOS = 1_000_000_000L;
+
+    private final PhysicsWorld world;
+    private final TickScheduler scheduler;
+
+    private volatile double tickRate;
+    private volatile int maxCatchUpSteps;
+
+    // Scheduling state: set while the loop is queued or running a slice
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private long deadline;
+    private volatile boolean stopped;
+
+    // Timing state (only touched by the slice running this loop)
+    private boolean timing;
+    private double accumulator;
+    private long previous;
+    private long windowStart;
+    private double windowSimulated;
+
+    // Statistics (written by the running slice only)
+    private volatile long ticks;
+    private volatile long slices;
+    private volatile long droppedSteps;
+    private volatile long missedDeadlines;
+    private volatile int lastCatchUpSteps;
+    private volatile double realTimeRatio;
+    private volatile double lagSeconds;
+    private volatile double maxLagSeconds;
+
+    /**
+     * @param world World to step
+     * @param scheduler Scheduler that runs this loop
+     * @param tickRate Steps per simulated second (dt = 1 / tickRate)
+     * @param maxCatchUpSteps Maximum steps taken to catch up before the backlog is dropped
+     */
+    public FixedTimestepLoop(PhysicsWorld world, TickScheduler scheduler, double tickRate, int maxCatchUpSteps) {
+        this.world = world;
+        this.scheduler = scheduler;
+        configure(tickRate, maxCatchUpSteps);
+        scheduler.register(this);
+        world.setCommandSignal(this::commandsQueued);
+    }
+
+    /**
+     * Change the tick rate and catch-up cap. Takes effect on the next slice.
+     * @throws IllegalArgumentException if a value is not positive
+     */
+    public void configure(double tickRate, int maxCatchUpSteps) {
+        if (tickRate <= 0 || maxCatchUpSteps <= 0) {
+            throw new IllegalArgumentException("Tick rate and max catch-up steps must be positive");
+        }
+        this.tickRate = tickRate;
+        this.maxCatchUpSteps = maxCatchUpSteps;
+        wakeUp();
+    }
+
+    /**
+     * Schedule the loop if its world is running, e.g. right after it was started.
+     */
+    public void wakeUp() {
+        if (world.isRunning()) {
+            scheduler.wakeUp(this);
+        }
+    }
+
+    /**
+     * Get a slice run as soon as possible to apply newly queued commands, or
+     * apply them right away once the loop or its scheduler has stopped.
+     */
+    private void commandsQueued() {
+        if (stopped || !scheduler.expedite(this)) {
+            world.applyCommands();
+        }
+    }
+
+    /**
+     * Unschedule the loop for good (when its world is destroyed). Commands
+     * queued later are applied by their submitters.
+     */
+    public void stop() {
+        stopped = true;
+        scheduler.remove(this);
+        world.setCommandSignal(null);
+        world.applyCommands();
+    }
+
+    /**
+     * Take the steps that are due.
+     * @param maxSteps Maximum steps to take in this slice
+     * @return System.nanoTime() deadline of the next step, or IDLE if the world is paused
+     */
+    long runSlice(int maxSteps) {
+        world.applyCommands();
+        if (stopped) {
+            return IDLE;
+        }
+        if (!world.isRunning()) {
+            timing = false;
+            realTimeRatio = 0;
+            lastCatchUpSteps = 0;
+            lagSeconds = 0;
+            return IDLE;
+        }
+
+        double dt = 1.0 / tickRate;
+        long dtNanos = (long) (dt * 1e9);
+        long now = System.nanoTime();
+        if (!timing) {
+            timing = true;
+            accumulator = 0;
+            previous = now;
+            windowStart = now;
+            windowSimulated = 0;
+        } else if (now - deadline > dtNanos) {
+            // Started so late that the following step was already due too
+            missedDeadlines++;
+        }
+        accumulator += (now - previous) / 1e9;
+        previous = now;
+
+        // Could not keep up: drop the backlog instead of chasing it
+        long due = (long) (accumulator / dt);
+        if (due > maxCatchUpSteps) {
+            long dropped = due - maxCatchUpSteps;
+            droppedSteps += dropped;
+            accumulator -= dropped * dt;
+        }
+
+        int steps = 0;
+        while (accumulator >= dt && steps < maxSteps && world.isRunning()) {
+            world.step(dt);
+            accumulator -= dt;
+            steps++;
+        }
+        ticks += steps;
+        slices++;
+        lastCatchUpSteps = steps;
+        windowSimulated += steps * dt;
+        lagSeconds = accumulator;
+        maxLagSeconds = Math.max(maxLagSeconds, accumulator);
+
+        long windowNanos = now - windowStart;
+        if (windowNanos >= RATIO_WINDOW_NANOS) {
+            realTimeRatio = windowSimulated / (windowNanos / 1e9);
+            windowStart = now;
+            windowSimulated = 0;
+        }
+
+        // Still behind after using up the slice, or commands arrived during
+        // it: due again right away, but queued behind the worlds that were
+        // already waiting
+        if (accumulator >= dt || world.hasPendingCommands()) {
+            return now;
+        }
+        return now + (long) ((dt - accumulator) * 1e9);
+    }
+
+    boolean claim() {
+        return scheduled.compareAndSet(false, true);
+    }
+
+    void release() {
+        scheduled.set(false);
+    }
+
+    long getDeadline() {
+        return deadline;
+    }
+
+    void setDeadline(long deadline) {
+        this.deadline = deadline;
+    }
+
+    public PhysicsWorld getWorld() {
+        return world;
+    }
+
+    public double getTickRate() {
+        return tickRate;
+    }
+
+    public int getMaxCatchUpSteps() {
+        return maxCatchUpSteps;
+    }
+
+    /**
+     * Wall-clock time the world has not simulated yet, in milliseconds.
+     */
+    public double getLagMillis() {
+        return lagSeconds * 1000;
+    }
+
+    /**
+     * Number of slices that started more than one step after their deadline.
+     */
+    public long getMissedDeadlines() {
+        return missedDeadlines;
+    }
+
+    /**
+     * Get loop statistics (for API response).
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("running", world.isRunning());
+        stats.put("tickRate", tickRate);
+        stats.put("dt", 1.0 / tickRate);
+        stats.put("maxCatchUpSteps", maxCatchUpSteps);
+        stats.put("ticks", ticks);
+        stats.put("slices", slices);
+        stats.put("droppedSteps", droppedSteps);
+        stats.put("missedDeadlines", missedDeadlines);
+        stats.put("lastCatchUpSteps", lastCatchUpSteps);
+        stats.put("lagMillis", lagSeconds * 1000);
+        stats.put("maxLagMillis", maxLagSeconds * 1000);
+        stats.put("realTimeRatio", realTimeRatio);
+        return stats;
+    }
+}
@@ -0,0 +1,39 @@
+package com.physics.engine;
+
+/**
+ * Life cycle of a SimulationJob.
+ */
+public enum JobStatus {
+
+    // Waiting for a worker thread
+    QUEUED("queued"),
+
+    // Being stepped by a worker thread
+    RUNNING("running"),
+
+    // Ran all its steps, or ended early on its stop condition
+    COMPLETED("completed"),
+
+    // Cancelled before it finished
+    CANCELLED("cancelled"),
+
+    // Stopped by an error
+    FAILED("failed");
+
+    private final String name;
+
+    JobStatus(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Whether the job will not run any further.
+     */
+    public boolean isFinished() {
+        return this == COMPLETED || this == CANCELLED || this == FAILED;
+    }
+}
@@ -0,0 +1,138 @@
+package com.physics.engine;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from long keys to int values.
+ *
+ * Used for lookups keyed by body IDs or packed body-ID pairs without boxing.
+ * clear() is O(1): entries are tagged with a generation stamp, and entries
+ * from older generations count as empty.
+ */
+final class LongIntHashMap {
+
+    private long[] keys;
+    private int[] values;
+    private int[] stamps;
+    private int stamp = 1;
+    private int size;
+    private int mask;
+
+    LongIntHashMap() {
+        this(64);
+    }
+
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2) - 1) << 1;
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        stamps = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Get the value of a key, or the given default if it is not present.
+     */
+    int get(long key, int missing) {
+        int slot = slot(key);
+        while (stamps[slot] == stamp) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return missing;
+    }
+
+    /**
+     * Set the value of a key.
+     */
+    void put(long key, int value) {
+        if (2 * (size + 1) > keys.length) {
+            grow();
+        }
+        int slot = slot(key);
+        while (stamps[slot] == stamp) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        stamps[slot] = stamp;
+        size++;
+    }
+
+    /**
+     * Remove a key. Later entries of its probe run are shifted back into the
+     * gap, so lookups never need tombstones.
+     * @return false if the key was not present
+     */
+    boolean remove(long key) {
+        int slot = slot(key);
+        while (stamps[slot] == stamp) {
+            if (keys[slot] == key) {
+                int gap = slot;
+                int next = (gap + 1) & mask;
+                while (stamps[next] == stamp) {
+                    // An entry may fill the gap if the gap lies between its home slot and itself
+                    int home = slot(keys[next]);
+                    if (((next - home) & mask) >= ((next - gap) & mask)) {
+                        keys[gap] = keys[next];
+                        values[gap] = values[next];
+                        gap = next;
+                    }
+                    next = (next + 1) & mask;
+                }
+                stamps[gap] = stamp - 1;
+                size--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Remove every entry.
+     */
+    void clear() {
+        size = 0;
+        stamp++;
+        if (stamp == 0) {
+            // Stamp wrapped around: old entries could look current again
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        int[] oldStamps = stamps;
+        int oldStamp = stamp;
+        allocate(oldKeys.length * 2);
+        stamp = 1;
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldStamps[i] == oldStamp) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,90 @@
+package com.physics.engine;
+
+/**
+ * In-place sort for ranges of a long[] that never allocates.
+ *
+ * Arrays.sort allocates run and merge buffers for large, partly sorted
+ * inputs, which is exactly what broadphase pair and cell buffers look like
+ * from one step to the next. This is a plain quicksort (median-of-three,
+ * insertion sort for short ranges, recursion only into the smaller half)
+ * so the step loop stays free of garbage.
+ */
+final class LongSort {
+
+    // Ranges shorter than this are finished with insertion sort
+    private static final int INSERTION_SORT_THRESHOLD = 24;
+
+    private LongSort() {
+    }
+
+    /**
+     * Sort a[from, to) in ascending order.
+     */
+    static void sort(long[] a, int from, int to) {
+        if (isSorted(a, from, to)) {
+            return;
+        }
+        quickSort(a, from, to - 1);
+    }
+
+    private static boolean isSorted(long[] a, int from, int to) {
+        for (int k = from + 1; k < to; k++) {
+            if (a[k - 1] > a[k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void quickSort(long[] a, int lo, int hi) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            // Median of three as pivot, moved to a[hi - 1]
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < a[lo]) swap(a, mid, lo);
+            if (a[hi] < a[lo]) swap(a, hi, lo);
+            if (a[hi] < a[mid]) swap(a, hi, mid);
+            swap(a, mid, hi - 1);
+            long pivot = a[hi - 1];
+
+            int i = lo;
+            int j = hi - 1;
+            while (true) {
+                while (a[++i] < pivot) { }
+                while (a[--j] > pivot) { }
+                if (i >= j) {
+                    break;
+                }
+                swap(a, i, j);
+            }
+            swap(a, i, hi - 1);
+
+            // Recurse into the smaller side, loop on the larger one
+            if (i - lo < hi - i) {
+                quickSort(a, lo, i - 1);
+                lo = i + 1;
+            } else {
+                quickSort(a, i + 1, hi);
+                hi = i - 1;
+            }
+        }
+        insertionSort(a, lo, hi);
+    }
+
+    private static void insertionSort(long[] a, int lo, int hi) {
+        for (int k = lo + 1; k <= hi; k++) {
+            long value = a[k];
+            int m = k - 1;
+            while (m >= lo && a[m] > value) {
+                a[m + 1] = a[m];
+                m--;
+            }
+            a[m + 1] = value;
+        }
+    }
+
+    private static void swap(long[] a, int i, int j) {
+        long t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+}
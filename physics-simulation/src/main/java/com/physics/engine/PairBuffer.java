@@ -0,0 +1,72 @@
+package com.physics.engine;
+
+import java.util.Arrays;
+
+/**
+ * Growable buffer of candidate body pairs produced by a broadphase.
+ *
+ * Each pair (a, b) with a < b is packed into a single long so the buffer can be
+ * sorted and de-duplicated without allocating pair objects. The backing array
+ * is reused between steps.
+ */
+public class PairBuffer {
+
+    private long[] pairs;
+    private int size;
+
+    public PairBuffer() {
+        this(64);
+    }
+
+    public PairBuffer(int initialCapacity) {
+        this.pairs = new long[Math.max(1, initialCapacity)];
+    }
+
+    /**
+     * Add a pair of body indices. The pair is stored with the smaller index first.
+     */
+    public void add(int a, int b) {
+        if (size == pairs.length) {
+            pairs = Arrays.copyOf(pairs, pairs.length * 2);
+        }
+        pairs[size++] = a < b ? pack(a, b) : pack(b, a);
+    }
+
+    /**
+     * Sort pairs in ascending (a, b) order and drop duplicates.
+     * Broadphases that can report a pair more than once call this before returning.
+     */
+    public void sortAndDeduplicate() {
+        if (size < 2) {
+            return;
+        }
+        LongSort.sort(pairs, 0, size);
+        int unique = 1;
+        for (int k = 1; k < size; k++) {
+            if (pairs[k] != pairs[unique - 1]) {
+                pairs[unique++] = pairs[k];
+            }
+        }
+        size = unique;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getA(int k) {
+        return (int) (pairs[k] >>> 32);
+    }
+
+    public int getB(int k) {
+        return (int) pairs[k];
+    }
+
+    private static long pack(int a, int b) {
+        return ((long) a << 32) | (b & 0xFFFFFFFFL);
+    }
+}
@@ -2,32 +2,40 @@ package com.physics.engine;
 
 import com.physics.model.*;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Physics World class - the main simulation engine.
  * Converted from C++ PhysicsWorld class in physics_world.h/cpp
  * 
  * This class manages all physics bodies, applies forces, handles collisions,
- * and advances the simulation.
+ * and advances the simulation. Body state is kept in a BodyStore so the
+ * force, integration and broadphase passes run over primitive columns.
  */
 public class PhysicsWorld {
     
-    // List of objects in the physics world
-    private final List<PhysicsBody> bodies;
-    
-    // Mapping from object IDs to custom forces
-    private final Map<Integer, Vector2D> customForces;
+    // Column storage for body state; bodies in the world are views over its slots
+    private final BodyStore store;
+
+    // Store slot of each body ID, so lookups by ID are O(1); kept up to date
+    // when removing a body moves another one into its slot
+    private final LongIntHashMap slotById = new LongIntHashMap();
     
     // Gravity vector applied to all objects (default: downward)
-    private Vector2D gravity;
+    private volatile Vector2D gravity;
     
-    // Simulation state
-    private boolean running;
+    // Simulation state (read by the tick scheduler)
+    private volatile boolean running;
     
-    // Collision pairs detected in last step
-    private final List<int[]> collisionPairs;
+    // Body ID pairs that collided in the last step, packed as [idA0, idB0, idA1, idB1, ...]
+    private int[] collisionIds = new int[64];
+    private int collisionCount;
     
     // Static friction coefficient
     private double staticFrictionCoefficient = 0.5;
@@ -37,77 +45,360 @@ public class PhysicsWorld {
     
     // Next available ID for new objects
     private int nextId = 1;
+    
+    // Broadphase strategy used to find candidate collision pairs
+    private Broadphase broadphase;
+    
+    // Per-step scratch buffers for the broadphase (reused between steps)
+    private final BodyBounds bodyBounds;
+    private final PairBuffer candidatePairs;
+    
+    // True when bodies were added, removed or moved outside a step since bounds were collected
+    private volatile boolean boundsStale = true;
+
+    // Default body count below which the per-body phases stay serial
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 4096;
+
+    // Smallest slot range handed to one parallel task
+    private static final int MIN_PARALLEL_CHUNK = 1024;
+
+    // Per-body phases that can run in parallel
+    private static final int PHASE_FORCES = 0;
+    private static final int PHASE_INTEGRATION = 1;
+
+    // Pool for the per-body phases (null = always serial)
+    private ForkJoinPool parallelPool;
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    // Smallest contact range handed to one parallel task
+    private static final int MIN_CONTACT_CHUNK = 256;
+
+    // Contact solver and the contacts found by the last narrowphase
+    // (store slots and collider of A; contact k is collision pair k)
+    private ContactSolverMode contactSolver = ContactSolverMode.SERIAL;
+    private final ContactColoring contactColoring = new ContactColoring();
+    private final SequentialImpulseSolver impulseSolver = new SequentialImpulseSolver();
+    private int[] contactSlotA = new int[64];
+    private int[] contactSlotB = new int[64];
+    private Collider[] contactColliders = new Collider[64];
+
+    // Sleeping: a body slower than sleepVelocity for sleepSteps consecutive steps
+    // is put to sleep together with the rest of its contact island
+    public static final double DEFAULT_SLEEP_VELOCITY = 0.5;
+    public static final int DEFAULT_SLEEP_STEPS = 30;
+    private boolean sleepingEnabled = true;
+    private double sleepVelocity = DEFAULT_SLEEP_VELOCITY;
+    private int sleepSteps = DEFAULT_SLEEP_STEPS;
+    private final ContactIslands islands = new ContactIslands();
+    private int nextIslandId = 1;
+
+    // Islands of sleeping bodies to wake before the next sleep update
+    private int[] wakeIslands = new int[16];
+    private int wakeIslandCount;
+
+    // Queue length up to which islands are looked up by a linear scan
+    private static final int LINEAR_WAKE_ISLANDS = 8;
+
+    // Bounds (minX, minY, maxX, maxY) of bodies removed or moved since the
+    // last wake; sleeping bodies touching them have their islands woken
+    private double[] wakeRegions = new double[4 * LINEAR_WAKE_ISLANDS];
+    private int wakeRegionCount;
+
+    // Distance a fast body is moved into the body it was stopped at, so the
+    // narrowphase of the same step sees the contact and resolves it
+    private static final double CCD_CONTACT_DEPTH = 0.01;
+
+    private final FastBodySweep fastBodySweep = new FastBodySweep();
+
+    // Steps taken since the world was created or reset
+    private volatile long stepCount;
+
+    // Version of the world state, bumped at the end of every step and mutation.
+    // Changes made by an operation are stamped with the version it ends at
+    // (nextVersion()), so a reader that saw the old version never misses them.
+    private final AtomicLong version = new AtomicLong();
+
+    // Distinguishes the versions of this world from those of other instances
+    private final long instanceTag = ThreadLocalRandom.current().nextLong() >>> 16;
+
+    // Bodies removed recently, for change queries
+    private static final int REMOVAL_LOG_CAPACITY = 4096;
+    private final RemovalLog removals = new RemovalLog(REMOVAL_LOG_CAPACITY);
+
+    // Last published snapshot. While it is being read, every step publishes a
+    // new one; readers take the lock only when it is older than the world.
+    private volatile WorldSnapshot snapshot;
+    private volatile long snapshotWantedUntil = -1;
+
+    // Steps a snapshot read keeps the per-step publishing going
+    private static final int SNAPSHOT_DEMAND_STEPS = 60;
+
+    // Commands waiting to be applied by the stepping thread, and the callback
+    // that gets them applied promptly (null = apply on the submitting thread)
+    private final ConcurrentLinkedQueue<PendingCommand<?>> commands = new ConcurrentLinkedQueue<>();
+    private volatile Runnable commandSignal;
+
+    // Listeners run after every step (replaced as a whole, so notifying them allocates nothing)
+    private volatile StepListener[] stepListeners = new StepListener[0];
+
+    // Emitters run at the start of every step (only used with the lock held)
+    private final List<BodyEmitter> emitters = new ArrayList<>();
+
+    // Phase timings of recent steps
+    private final StepTimings timings = new StepTimings();
+    private long resolutionNanos;
+    private boolean resolutionParallel;
 
     /**
      * Default constructor - creates physics world with default gravity.
      */
     public PhysicsWorld() {
-        this.bodies = new CopyOnWriteArrayList<>();
-        this.customForces = new ConcurrentHashMap<>();
+        this.store = new BodyStore();
         this.gravity = new Vector2D(0, 9.81);  // Default gravity (downward in screen coordinates)
         this.running = false;
-        this.collisionPairs = new ArrayList<>();
+        this.broadphase = new BruteForceBroadphase();
+        this.bodyBounds = new BodyBounds();
+        this.candidatePairs = new PairBuffer();
     }
 
     /**
      * Add an object to the physics world.
      * Converted from C++ PhysicsWorld::addObject method.
      */
-    public void addObject(PhysicsBody body) {
-        if (body.getId() == 0) {
-            body.setId(nextId++);
+    public synchronized void addObject(PhysicsBody body) {
+        register(store.add(body));
+        boundsStale = true;
+        changed();
+    }
+
+    /**
+     * Give the body in a new store slot a unique ID and index it by that ID.
+     */
+    private void register(int slot) {
+        // IDs must be unique; a body whose ID is taken gets a new one
+        int id = store.getId(slot);
+        if (id == 0 || slotById.get(id, -1) >= 0) {
+            id = nextId++;
+            store.setId(slot, id);
         } else {
-            nextId = Math.max(nextId, body.getId() + 1);
+            nextId = Math.max(nextId, id + 1);
+        }
+        store.setModified(slot, nextVersion());
+        slotById.put(id, slot);
+    }
+
+    /**
+     * Install the bodies built in a staging store (e.g. by a scene loader) by
+     * swapping the store columns instead of adding the bodies one by one.
+     * The world must hold no bodies, e.g. right after reset(); the staging
+     * store is left empty.
+     * @throws IllegalStateException if the world holds bodies
+     */
+    public synchronized void installBodies(BodyStore staged) {
+        if (store.size() > 0) {
+            throw new IllegalStateException("Bodies can only be installed into an empty world");
+        }
+        store.swap(staged);
+        for (int slot = 0; slot < store.size(); slot++) {
+            register(slot);
+        }
+        boundsStale = true;
+        changed();
+    }
+
+    /**
+     * Add several objects. The store grows once for all of them instead of
+     * doubling its way up.
+     */
+    public synchronized void addObjects(List<? extends PhysicsBody> bodies) {
+        store.ensureCapacity(store.size() + bodies.size());
+        for (PhysicsBody body : bodies) {
+            addObject(body);
         }
-        bodies.add(body);
     }
 
     /**
      * Remove an object from the physics world by ID.
      */
-    public boolean removeObject(int id) {
-        customForces.remove(id);
-        return bodies.removeIf(body -> body.getId() == id);
+    public synchronized boolean removeObject(int id) {
+        boolean removed = detachObject(id);
+        wakeSleepingIslands();
+        return removed;
+    }
+
+    /**
+     * Remove several objects. Islands that lose support are woken in one pass
+     * over the store at the end.
+     * @return Whether each ID was found and removed
+     */
+    public synchronized boolean[] removeObjects(int[] ids) {
+        boolean[] removed = new boolean[ids.length];
+        for (int k = 0; k < ids.length; k++) {
+            removed[k] = detachObject(ids[k]);
+        }
+        wakeSleepingIslands();
+        return removed;
+    }
+
+    /**
+     * Remove a body, queueing (not waking) its own island and the sleeping
+     * islands touching it, which it may have been supporting.
+     */
+    private boolean detachObject(int id) {
+        int slot = slotById.get(id, -1);
+        if (slot < 0) {
+            return false;
+        }
+        // The custom force belongs to the world, not to the detached body
+        store.setCustomForce(slot, 0, 0);
+        // Bodies resting on this one lose their support
+        wakeSlot(slot);
+        queueWakeRegion(slot);
+        store.remove(slot);
+        // The store moved its last body into the freed slot
+        if (slot < store.size()) {
+            slotById.put(store.getId(slot), slot);
+        }
+        slotById.remove(id);
+        removals.add(id, nextVersion());
+        boundsStale = true;
+        changed();
+        return true;
+    }
+
+    /**
+     * Record that a body was changed through its view outside of a step
+     * (e.g. updated or pushed through the API), so change queries report it.
+     * @return false if no body has the given ID
+     */
+    public synchronized boolean markChanged(int id) {
+        Optional<PhysicsBody> body = getObject(id);
+        if (body.isEmpty()) {
+            return false;
+        }
+        store.setModified(body.get().getSlot(), nextVersion());
+        changed();
+        return true;
+    }
+
+    /**
+     * Get the version of the world state. It increases with every step and
+     * every change made through this class.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Get an opaque tag of the current version that differs between world
+     * instances too (e.g. for HTTP entity tags).
+     */
+    public String getVersionTag() {
+        return Long.toHexString(instanceTag) + "-" + version.get();
+    }
+
+    /**
+     * Get an immutable snapshot of the current state. Served without locking
+     * while the world is being stepped and read; after other changes, the
+     * first reader takes a new snapshot under the lock.
+     */
+    public WorldSnapshot getSnapshot() {
+        long wantedUntil = stepCount + SNAPSHOT_DEMAND_STEPS;
+        if (snapshotWantedUntil < wantedUntil) {
+            snapshotWantedUntil = wantedUntil;
+        }
+        WorldSnapshot current = snapshot;
+        if (current != null && current.getVersion() == version.get()) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current == null || current.getVersion() != version.get()) {
+                current = takeSnapshot();
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    private WorldSnapshot takeSnapshot() {
+        return new WorldSnapshot(version.get(), stepCount, running, gravity, broadphase.getName(),
+                                 store, collisionIds, collisionCount, removals);
+    }
+
+    private long nextVersion() {
+        return version.get() + 1;
+    }
+
+    private void changed() {
+        version.incrementAndGet();
     }
 
     /**
      * Get an object by ID.
      */
-    public Optional<PhysicsBody> getObject(int id) {
-        return bodies.stream()
-            .filter(body -> body.getId() == id)
-            .findFirst();
+    public synchronized Optional<PhysicsBody> getObject(int id) {
+        int slot = slotOf(id);
+        return slot >= 0 ? Optional.of(store.getBody(slot)) : Optional.empty();
+    }
+
+    /**
+     * Get the store slot of a body ID, or -1 if no body has it.
+     */
+    private int slotOf(int id) {
+        return slotById.get(id, -1);
     }
 
     /**
-     * Get all objects in the physics world.
+     * Get all objects in the physics world, as detached copies taken from the
+     * current snapshot (changing them does not affect the world).
      * Converted from C++ PhysicsWorld::getObjects method.
      */
     public List<PhysicsBody> getObjects() {
-        return new ArrayList<>(bodies);
+        return getSnapshot().getBodies();
     }
 
     /**
-     * Set a custom force for a specific object by its ID.
+     * Get the number of objects in the physics world.
+     */
+    public int getObjectCount() {
+        return store.size();
+    }
+
+    /**
+     * Set a custom force for a specific object by its ID. The force is
+     * stored in the body's custom force column and added on every step
+     * until it is changed or cleared.
      * Converted from C++ PhysicsWorld::setCustomForce method.
+     * @return false if no body has the given ID
      */
-    public void setCustomForce(int objectId, Vector2D force) {
-        customForces.put(objectId, force);
+    public synchronized boolean setCustomForce(int objectId, Vector2D force) {
+        int slot = slotOf(objectId);
+        if (slot < 0) {
+            return false;
+        }
+        store.setCustomForce(slot, force.x, force.y);
+        changed();
+        return true;
     }
 
     /**
-     * Get the custom force for a specific object (if it exists).
+     * Get the custom force for a specific object (zero if it has none).
      * Converted from C++ PhysicsWorld::getCustomForceForObject method.
      */
-    public Vector2D getCustomForceForObject(int objectId) {
-        return customForces.getOrDefault(objectId, new Vector2D(0, 0));
+    public synchronized Vector2D getCustomForceForObject(int objectId) {
+        int slot = slotOf(objectId);
+        return slot >= 0
+            ? new Vector2D(store.getCustomForceX(slot), store.getCustomForceY(slot))
+            : new Vector2D(0, 0);
     }
 
     /**
      * Clear custom force for an object.
+     * @return false if no body has the given ID
      */
-    public void clearCustomForce(int objectId) {
-        customForces.remove(objectId);
+    public synchronized boolean clearCustomForce(int objectId) {
+        return setCustomForce(objectId, new Vector2D(0, 0));
     }
 
     /**
@@ -115,22 +406,8 @@ public class PhysicsWorld {
      * Converted from C++ PhysicsWorld::applyForces method.
      */
     public void applyForces() {
-        for (PhysicsBody body : bodies) {
-            // Apply gravity to each object (if it has mass)
-            if (body.getMass() > 0) {
-                Vector2D gravityForce = gravity.multiply(body.getMass());
-                body.applyForce(gravityForce);
-            }
-
-            // Apply custom user-defined forces
-            int objectId = body.getId();
-            Vector2D customForce = getCustomForceForObject(objectId);
-
-            // If there is a custom force, apply it
-            if (customForce.length() > 0) {
-                Forces.applyCustomForce(body, customForce);
-            }
-        }
+        // Gravity (for bodies with mass) and custom forces in one pass over the columns
+        store.applyForces(gravity.x, gravity.y);
     }
 
     /**
@@ -139,22 +416,401 @@ public class PhysicsWorld {
      * 
      * @param deltaTime Time step in seconds
      */
-    public void step(double deltaTime) {
-        // Reset forces from previous step
-        for (PhysicsBody body : bodies) {
-            body.resetForces();
+    public synchronized void step(double deltaTime) {
+        // Tick boundary: apply the changes submitted since the last step
+        if (!commands.isEmpty()) {
+            applyCommands();
+        }
+        if (!emitters.isEmpty()) {
+            runEmitters(deltaTime);
         }
 
-        // Apply forces to all objects
-        applyForces();
+        int count = store.size();
+        boolean parallel = parallelPool != null && count >= parallelThreshold;
+        long start = System.nanoTime();
 
-        // Update object positions based on their velocity and deltaTime
-        for (PhysicsBody body : bodies) {
-            body.update(deltaTime);
+        // Reset forces from previous step and apply forces to all objects
+        if (parallel) {
+            parallelPool.invoke(new PhaseTask(PHASE_FORCES, 0, count, chunkSize(count), deltaTime));
+        } else {
+            store.resetForces();
+            applyForces();
         }
+        long forcesDone = System.nanoTime();
 
-        // Handle collision detection and resolution
+        // Update object velocities and positions based on forces and deltaTime
+        if (parallel) {
+            parallelPool.invoke(new PhaseTask(PHASE_INTEGRATION, 0, count, chunkSize(count), deltaTime));
+        } else {
+            store.integrate(deltaTime);
+        }
+        long integrationDone = System.nanoTime();
+
+        // Stop fast bodies at their first impact, handle collision detection and
+        // resolution, then put resting islands to sleep
+        sweepFastBodies(deltaTime);
         handleCollisions();
+        wakeSleepingIslands();
+        store.markAwake(nextVersion());
+        updateSleep();
+        long collisionsDone = System.nanoTime();
+
+        timings.record(StepTimings.Phase.FORCES, parallel, count, forcesDone - start);
+        timings.record(StepTimings.Phase.INTEGRATION, parallel, count, integrationDone - forcesDone);
+        timings.record(StepTimings.Phase.COLLISIONS, false, count,
+                       collisionsDone - integrationDone - resolutionNanos);
+        timings.record(StepTimings.Phase.RESOLUTION, resolutionParallel, count, resolutionNanos);
+
+        stepCount++;
+        changed();
+        if (stepCount <= snapshotWantedUntil) {
+            snapshot = takeSnapshot();
+        }
+        StepListener[] listeners = stepListeners;
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i].afterStep(this, store, stepCount);
+        }
+    }
+
+    /**
+     * Run a command on the thread that steps this world and wait for it.
+     * Commands from all threads are applied one at a time, in order, at a
+     * tick boundary; a world that is not scheduled (e.g. the private world
+     * of a job) applies them right away on the calling thread.
+     * @return The command's result
+     * @throws RuntimeException whatever the command threw
+     */
+    public <T> T execute(WorldCommand<T> command) {
+        if (commandSignal == null || Thread.holdsLock(this)) {
+            synchronized (this) {
+                return command.apply(this);
+            }
+        }
+        try {
+            return submit(command).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Queue a command for the thread that steps this world.
+     * @return Future completed with the command's result once it was applied
+     */
+    public <T> CompletableFuture<T> submit(WorldCommand<T> command) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        commands.add(new PendingCommand<>(command, future));
+        Runnable signal = commandSignal;
+        if (signal != null) {
+            signal.run();
+        } else {
+            applyCommands();
+        }
+        return future;
+    }
+
+    /**
+     * Apply every queued command (done at tick boundaries).
+     * @return Number of commands applied
+     */
+    public synchronized int applyCommands() {
+        int applied = 0;
+        PendingCommand<?> pending;
+        while ((pending = commands.poll()) != null) {
+            pending.apply(this);
+            applied++;
+        }
+        return applied;
+    }
+
+    /**
+     * Check whether commands are waiting to be applied.
+     */
+    public boolean hasPendingCommands() {
+        return !commands.isEmpty();
+    }
+
+    /**
+     * Set the callback run when a command is queued, which must get
+     * applyCommands() called soon (null = apply on the submitting thread).
+     */
+    public void setCommandSignal(Runnable signal) {
+        this.commandSignal = signal;
+    }
+
+    /**
+     * A queued command and the future of its result.
+     */
+    private static final class PendingCommand<T> {
+        private final WorldCommand<T> command;
+        private final CompletableFuture<T> future;
+
+        PendingCommand(WorldCommand<T> command, CompletableFuture<T> future) {
+            this.command = command;
+            this.future = future;
+        }
+
+        void apply(PhysicsWorld world) {
+            try {
+                future.complete(command.apply(world));
+            } catch (Throwable e) {
+                // Errors too, or the submitter would wait forever
+                future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Register a listener run at the end of every step.
+     */
+    public synchronized void addStepListener(StepListener listener) {
+        StepListener[] listeners = Arrays.copyOf(stepListeners, stepListeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+        stepListeners = listeners;
+    }
+
+    /**
+     * Unregister a step listener.
+     */
+    public synchronized void removeStepListener(StepListener listener) {
+        StepListener[] listeners = stepListeners;
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                StepListener[] remaining = new StepListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, remaining, 0, i);
+                System.arraycopy(listeners, i + 1, remaining, i, listeners.length - i - 1);
+                stepListeners = remaining;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Register an emitter run at the start of every step until it is done.
+     */
+    public synchronized void addEmitter(BodyEmitter emitter) {
+        emitters.add(emitter);
+    }
+
+    /**
+     * Get the number of active emitters.
+     */
+    public synchronized int getEmitterCount() {
+        return emitters.size();
+    }
+
+    /**
+     * Remove every emitter.
+     */
+    public synchronized void clearEmitters() {
+        emitters.clear();
+    }
+
+    private void runEmitters(double deltaTime) {
+        for (int i = emitters.size() - 1; i >= 0; i--) {
+            if (!emitters.get(i).emit(this, deltaTime)) {
+                emitters.remove(i);
+            }
+        }
+    }
+
+    /**
+     * Run a step listener once against the current state, without stepping
+     * (e.g. to send a new subscriber the state of a paused world).
+     */
+    public synchronized void runListener(StepListener listener) {
+        listener.afterStep(this, store, stepCount);
+    }
+
+    /**
+     * Get the number of steps taken since the world was created or reset.
+     */
+    public long getStepCount() {
+        return stepCount;
+    }
+
+    /**
+     * Split slots into enough chunks to balance the pool's workers.
+     */
+    private int chunkSize(int count) {
+        int chunks = parallelPool.getParallelism() * 4;
+        return Math.max(MIN_PARALLEL_CHUNK, (count + chunks - 1) / chunks);
+    }
+
+    /**
+     * Run a per-body phase on the slot range [from, to).
+     */
+    private void runPhase(int phase, int from, int to, double deltaTime) {
+        if (phase == PHASE_FORCES) {
+            store.resetForces(from, to);
+            store.applyForces(from, to, gravity.x, gravity.y);
+        } else {
+            store.integrate(from, to, deltaTime);
+        }
+    }
+
+    /**
+     * Fork/join task that splits a per-body phase into chunks of slots.
+     * Each slot is written by exactly one chunk, so chunks need no locking.
+     */
+    private final class PhaseTask extends RecursiveAction {
+        private final int phase;
+        private final int from;
+        private final int to;
+        private final int chunk;
+        private final double deltaTime;
+
+        PhaseTask(int phase, int from, int to, int chunk, double deltaTime) {
+            this.phase = phase;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+            this.deltaTime = deltaTime;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {
+                runPhase(phase, from, to, deltaTime);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new PhaseTask(phase, from, mid, chunk, deltaTime),
+                      new PhaseTask(phase, mid, to, chunk, deltaTime));
+        }
+    }
+
+    /**
+     * Continuous collision detection for bodies flagged as fast. Each one is
+     * swept from its position at the start of the step to its current position
+     * against the bodies its swept bounds may reach and moved back to the
+     * earliest time of impact, so it cannot pass through a wall thinner than
+     * its displacement. Other bodies are not moved back. Start positions are
+     * recovered from the velocities used by the integration (x0 = x - v * dt).
+     */
+    private void sweepFastBodies(double deltaTime) {
+        int count = store.size();
+        boolean started = false;
+        for (int i = 0; i < count; i++) {
+            if (store.isFast(i) && !store.isSleeping(i) && store.getShape(i) != BodyStore.SHAPE_NONE) {
+                if (!started) {
+                    fastBodySweep.start(count, deltaTime);
+                    started = true;
+                }
+                fastBodySweep.sweep(i);
+            }
+        }
+    }
+
+    /**
+     * Sweep of one fast body at a time. Candidates come from the tree when
+     * the dynamic-tree broadphase is selected (as for queryRegion), otherwise
+     * from a scan over the store.
+     */
+    private final class FastBodySweep implements DynamicAabbTree.QueryCallback {
+        private DynamicTreeBroadphase treeBroadphase;
+        private int count;
+        private double deltaTime;
+
+        // Largest displacement of any body this step on each axis; the tree
+        // holds end bounds, so queries grow by it to reach start bounds too
+        private double reachX;
+        private double reachY;
+
+        // Body being swept, its displacement, start position and swept bounds
+        private int body;
+        private double dx;
+        private double dy;
+        private double startX;
+        private double startY;
+        private double minX;
+        private double minY;
+        private double maxX;
+        private double maxY;
+        private double timeOfImpact;
+
+        void start(int count, double deltaTime) {
+            this.count = count;
+            this.deltaTime = deltaTime;
+            treeBroadphase = null;
+            if (!(broadphase instanceof DynamicTreeBroadphase)) {
+                return;
+            }
+            // Bodies moved since the tree was last updated (integration and
+            // position correction), so bring it up to date unconditionally
+            treeBroadphase = (DynamicTreeBroadphase) broadphase;
+            refreshBounds();
+            treeBroadphase.update(bodyBounds);
+            reachX = 0;
+            reachY = 0;
+            for (int j = 0; j < count; j++) {
+                reachX = Math.max(reachX, Math.abs(store.getVelX(j)));
+                reachY = Math.max(reachY, Math.abs(store.getVelY(j)));
+            }
+            reachX *= deltaTime;
+            reachY *= deltaTime;
+        }
+
+        void sweep(int i) {
+            dx = store.getVelX(i) * deltaTime;
+            dy = store.getVelY(i) * deltaTime;
+            if (dx == 0 && dy == 0) {
+                return;
+            }
+            body = i;
+            startX = store.getPosX(i) - dx;
+            startY = store.getPosY(i) - dy;
+
+            // Bounds covered by the body during the step
+            minX = store.getMinX(i) - Math.max(dx, 0);
+            minY = store.getMinY(i) - Math.max(dy, 0);
+            maxX = store.getMaxX(i) - Math.min(dx, 0);
+            maxY = store.getMaxY(i) - Math.min(dy, 0);
+
+            timeOfImpact = TimeOfImpact.NO_HIT;
+            if (treeBroadphase != null) {
+                treeBroadphase.getTree().query(minX - reachX, minY - reachY, maxX + reachX, maxY + reachY, this);
+            } else {
+                for (int j = 0; j < count; j++) {
+                    sweepAgainst(j);
+                }
+            }
+            if (timeOfImpact >= 1) {
+                return;
+            }
+            double t = Math.min(1, timeOfImpact + CCD_CONTACT_DEPTH / Math.sqrt(dx * dx + dy * dy));
+            store.setPosition(i, startX + dx * t, startY + dy * t);
+        }
+
+        @Override
+        public boolean report(int proxyId) {
+            sweepAgainst(treeBroadphase.getBodyIndex(proxyId));
+            return true;
+        }
+
+        private void sweepAgainst(int j) {
+            if (j == body || store.getShape(j) == BodyStore.SHAPE_NONE) {
+                return;
+            }
+            double otherDx = store.getVelX(j) * deltaTime;
+            double otherDy = store.getVelY(j) * deltaTime;
+            if (store.getMinX(j) - Math.max(otherDx, 0) > maxX || store.getMaxX(j) - Math.min(otherDx, 0) < minX
+                    || store.getMinY(j) - Math.max(otherDy, 0) > maxY || store.getMaxY(j) - Math.min(otherDy, 0) < minY) {
+                return;
+            }
+            // Sweep with the relative displacement against the other body's start position
+            double t = TimeOfImpact.sweep(store.getShape(body), startX, startY, store.getExtentX(body), store.getExtentY(body),
+                                          dx - otherDx, dy - otherDy,
+                                          store.getShape(j), store.getPosX(j) - otherDx, store.getPosY(j) - otherDy,
+                                          store.getExtentX(j), store.getExtentY(j));
+            timeOfImpact = Math.min(timeOfImpact, t);
+        }
     }
 
     /**
@@ -162,19 +818,516 @@ public class PhysicsWorld {
      * Converted from C++ PhysicsWorld::handleCollisions method.
      */
     public void handleCollisions() {
-        collisionPairs.clear();
+        collisionCount = 0;
         
-        for (int i = 0; i < bodies.size(); i++) {
-            for (int j = i + 1; j < bodies.size(); j++) {
-                PhysicsBody bodyA = bodies.get(i);
-                PhysicsBody bodyB = bodies.get(j);
-
-                if (detectCollision(bodyA, bodyB)) {
-                    resolveCollision(bodyA, bodyB);
-                    collisionPairs.add(new int[]{bodyA.getId(), bodyB.getId()});
+        // Broadphase: collect body bounds and find overlapping candidate pairs
+        refreshBounds();
+        candidatePairs.clear();
+        broadphase.computePairs(bodyBounds, candidatePairs);
+        boundsStale = false;
+
+        // Narrowphase: exact collider test on candidates only. Resolution changes
+        // velocities but not positions, so all contacts can be found up front.
+        for (int k = 0; k < candidatePairs.size(); k++) {
+            int a = candidatePairs.getA(k);
+            int b = candidatePairs.getB(k);
+            if (bodyBounds.isResting(a) && bodyBounds.isResting(b)) {
+                continue;
+            }
+            PhysicsBody bodyA = store.getBody(a);
+            PhysicsBody bodyB = store.getBody(b);
+
+            if (detectCollision(bodyA, bodyB)) {
+                // A body touching a sleeping one wakes its island
+                if (store.isSleeping(a)) {
+                    wakeSlot(a);
                 }
+                if (store.isSleeping(b)) {
+                    wakeSlot(b);
+                }
+                addContact(a, b, bodyA.getCollider());
+                recordCollision(bodyA.getId(), bodyB.getId());
             }
         }
+
+        // Resolution
+        long start = System.nanoTime();
+        resolutionParallel = false;
+        if (contactSolver == ContactSolverMode.GRAPH_COLORING) {
+            resolveColored();
+        } else if (contactSolver == ContactSolverMode.SEQUENTIAL_IMPULSE) {
+            impulseSolver.solve(store, collisionCount, contactSlotA, contactSlotB);
+        } else {
+            resolveContacts(0, collisionCount);
+        }
+        resolutionNanos = System.nanoTime() - start;
+    }
+
+    private void addContact(int slotA, int slotB, Collider colliderA) {
+        int k = collisionCount;
+        if (k == contactSlotA.length) {
+            int capacity = k * 2;
+            contactSlotA = Arrays.copyOf(contactSlotA, capacity);
+            contactSlotB = Arrays.copyOf(contactSlotB, capacity);
+            contactColliders = Arrays.copyOf(contactColliders, capacity);
+        }
+        contactSlotA[k] = slotA;
+        contactSlotB[k] = slotB;
+        contactColliders[k] = colliderA;
+    }
+
+    /**
+     * Resolve contacts [from, to) in order.
+     */
+    private void resolveContacts(int from, int to) {
+        for (int k = from; k < to; k++) {
+            resolveContact(k);
+        }
+    }
+
+    private void resolveContact(int k) {
+        contactColliders[k].resolveCollision(store.getBody(contactSlotA[k]), store.getBody(contactSlotB[k]));
+    }
+
+    /**
+     * Resolve contacts color by color. Contacts within a color share no dynamic
+     * body, so large batches are split across the pool; batches wait for the
+     * previous one to finish.
+     */
+    private void resolveColored() {
+        contactColoring.color(collisionCount, contactSlotA, contactSlotB, store);
+        for (int batch = 0; batch < contactColoring.getBatchCount(); batch++) {
+            int from = contactColoring.getBatchStart(batch);
+            int to = contactColoring.getBatchEnd(batch);
+            if (parallelPool != null && to - from >= 2 * MIN_CONTACT_CHUNK
+                    && !contactColoring.isSerialBatch(batch)) {
+                parallelPool.invoke(new ContactBatchTask(from, to, contactChunkSize(to - from)));
+                resolutionParallel = true;
+            } else {
+                for (int position = from; position < to; position++) {
+                    resolveContact(contactColoring.getContact(position));
+                }
+            }
+        }
+    }
+
+    private int contactChunkSize(int count) {
+        int chunks = parallelPool.getParallelism() * 4;
+        return Math.max(MIN_CONTACT_CHUNK, (count + chunks - 1) / chunks);
+    }
+
+    /**
+     * Fork/join task resolving a range of one color batch.
+     */
+    private final class ContactBatchTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final int chunk;
+
+        ContactBatchTask(int from, int to, int chunk) {
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {
+                for (int position = from; position < to; position++) {
+                    resolveContact(contactColoring.getContact(position));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ContactBatchTask(from, mid, chunk), new ContactBatchTask(mid, to, chunk));
+        }
+    }
+
+    private void recordCollision(int idA, int idB) {
+        if (2 * collisionCount + 2 > collisionIds.length) {
+            collisionIds = Arrays.copyOf(collisionIds, collisionIds.length * 2);
+        }
+        collisionIds[2 * collisionCount] = idA;
+        collisionIds[2 * collisionCount + 1] = idB;
+        collisionCount++;
+    }
+
+    /**
+     * Collect the current bounds of every body into bodyBounds (index = store slot).
+     */
+    private void refreshBounds() {
+        int count = store.size();
+        bodyBounds.reset(count);
+        for (int i = 0; i < count; i++) {
+            bodyBounds.set(i, store.getId(i), store.getMinX(i), store.getMinY(i),
+                           store.getMaxX(i), store.getMaxY(i));
+            bodyBounds.setResting(i, sleepingEnabled && isResting(i));
+        }
+    }
+
+    /**
+     * A body is resting if it sleeps, or if it is static (mass <= 0) and not moving.
+     */
+    private boolean isResting(int slot) {
+        if (store.isSleeping(slot)) {
+            return true;
+        }
+        return store.getInvMass(slot) == 0 && store.getVelX(slot) == 0 && store.getVelY(slot) == 0;
+    }
+
+    /**
+     * Wake a sleeping body now and queue its island to be woken.
+     */
+    private void wakeSlot(int slot) {
+        if (store.isSleeping(slot)) {
+            int island = store.getIsland(slot);
+            // Short queues are kept free of duplicates; long ones (bulk
+            // changes) are sorted before use, where duplicates do no harm
+            boolean queued = false;
+            if (wakeIslandCount <= LINEAR_WAKE_ISLANDS) {
+                for (int k = 0; k < wakeIslandCount; k++) {
+                    queued |= wakeIslands[k] == island;
+                }
+            }
+            if (!queued) {
+                if (wakeIslandCount == wakeIslands.length) {
+                    wakeIslands = Arrays.copyOf(wakeIslands, wakeIslandCount * 2);
+                }
+                wakeIslands[wakeIslandCount++] = island;
+            }
+        }
+        store.wake(slot);
+        store.setModified(slot, nextVersion());
+    }
+
+    /**
+     * Queue the current bounds of a body, so the islands of sleeping bodies
+     * touching them are woken with the queued islands.
+     */
+    private void queueWakeRegion(int slot) {
+        if (4 * (wakeRegionCount + 1) > wakeRegions.length) {
+            wakeRegions = Arrays.copyOf(wakeRegions, wakeRegions.length * 2);
+        }
+        int k = 4 * wakeRegionCount++;
+        wakeRegions[k] = store.getMinX(slot);
+        wakeRegions[k + 1] = store.getMinY(slot);
+        wakeRegions[k + 2] = store.getMaxX(slot);
+        wakeRegions[k + 3] = store.getMaxY(slot);
+    }
+
+    /**
+     * Wake the sleeping bodies touching a queued region and queue their islands.
+     * Served by the tree when the dynamic-tree broadphase is selected,
+     * otherwise by one scan over the store for all regions.
+     */
+    private void wakeTouchingRegions() {
+        int regions = wakeRegionCount;
+        wakeRegionCount = 0;
+        if (broadphase instanceof DynamicTreeBroadphase) {
+            DynamicTreeBroadphase treeBroadphase = (DynamicTreeBroadphase) broadphase;
+            syncTree(treeBroadphase);
+            for (int r = 0; r < regions; r++) {
+                int k = 4 * r;
+                treeBroadphase.getTree().query(wakeRegions[k], wakeRegions[k + 1],
+                                               wakeRegions[k + 2], wakeRegions[k + 3], proxyId -> {
+                    int i = treeBroadphase.getBodyIndex(proxyId);
+                    if (store.isSleeping(i) && touchesWakeRegion(i, k)) {
+                        wakeSlot(i);
+                    }
+                    return true;
+                });
+            }
+            return;
+        }
+
+        // Skip bodies outside the union of all regions without testing each one
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int k = 0; k < 4 * regions; k += 4) {
+            minX = Math.min(minX, wakeRegions[k]);
+            minY = Math.min(minY, wakeRegions[k + 1]);
+            maxX = Math.max(maxX, wakeRegions[k + 2]);
+            maxY = Math.max(maxY, wakeRegions[k + 3]);
+        }
+        for (int i = 0; i < store.size(); i++) {
+            if (!store.isSleeping(i)
+                    || store.getMinX(i) > maxX || store.getMaxX(i) < minX
+                    || store.getMinY(i) > maxY || store.getMaxY(i) < minY) {
+                continue;
+            }
+            for (int k = 0; k < 4 * regions; k += 4) {
+                if (touchesWakeRegion(i, k)) {
+                    wakeSlot(i);
+                    break;
+                }
+            }
+        }
+    }
+
+    // Touching counts: a resting body's bounds only just reach its support
+    private boolean touchesWakeRegion(int slot, int k) {
+        return store.getMinX(slot) <= wakeRegions[k + 2] && store.getMaxX(slot) >= wakeRegions[k]
+            && store.getMinY(slot) <= wakeRegions[k + 3] && store.getMaxY(slot) >= wakeRegions[k + 1];
+    }
+
+    /**
+     * Wake every body of the queued islands, including the islands touching
+     * queued regions.
+     */
+    private void wakeSleepingIslands() {
+        if (wakeRegionCount > 0) {
+            wakeTouchingRegions();
+        }
+        if (wakeIslandCount == 0) {
+            return;
+        }
+        boolean sorted = wakeIslandCount > LINEAR_WAKE_ISLANDS;
+        if (sorted) {
+            Arrays.sort(wakeIslands, 0, wakeIslandCount);
+        }
+        for (int i = 0; i < store.size(); i++) {
+            if (!store.isSleeping(i)) {
+                continue;
+            }
+            int island = store.getIsland(i);
+            boolean wake = false;
+            if (sorted) {
+                wake = Arrays.binarySearch(wakeIslands, 0, wakeIslandCount, island) >= 0;
+            } else {
+                for (int k = 0; k < wakeIslandCount && !wake; k++) {
+                    wake = wakeIslands[k] == island;
+                }
+            }
+            if (wake) {
+                store.wake(i);
+                store.setModified(i, nextVersion());
+            }
+        }
+        wakeIslandCount = 0;
+        boundsStale = true;
+    }
+
+    /**
+     * Put islands whose bodies have all been at rest for sleepSteps steps to
+     * sleep (islands touched in this step were woken before). Islands are the
+     * connected components of the contact graph over awake dynamic bodies.
+     */
+    private void updateSleep() {
+        if (!sleepingEnabled || store.updateRestSteps(sleepVelocity) < sleepSteps) {
+            return;
+        }
+
+        int count = store.size();
+        islands.reset(count);
+        for (int k = 0; k < collisionCount; k++) {
+            int a = contactSlotA[k];
+            int b = contactSlotB[k];
+            if (isAwakeDynamic(a) && isAwakeDynamic(b)) {
+                islands.union(a, b);
+            }
+        }
+
+        // Smallest rest counter of each island
+        for (int i = 0; i < count; i++) {
+            if (isAwakeDynamic(i)) {
+                islands.setRootValue(islands.find(i), Integer.MAX_VALUE);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            if (isAwakeDynamic(i)) {
+                int root = islands.find(i);
+                islands.setRootValue(root, Math.min(islands.getRootValue(root), store.getRestSteps(i)));
+            }
+        }
+
+        // Sleep islands that are all at rest. The root value is replaced by the
+        // negated island ID once the island has one.
+        for (int i = 0; i < count; i++) {
+            if (!isAwakeDynamic(i)) {
+                continue;
+            }
+            int root = islands.find(i);
+            int value = islands.getRootValue(root);
+            if (value >= sleepSteps) {
+                value = -(nextIslandId++);
+                islands.setRootValue(root, value);
+            }
+            if (value < 0) {
+                store.sleep(i, -value);
+            }
+        }
+    }
+
+    private boolean isAwakeDynamic(int slot) {
+        return store.getInvMass(slot) > 0 && !store.isSleeping(slot);
+    }
+
+    /**
+     * Wake a body, every body asleep in the same island and the sleeping
+     * islands touching it, e.g. after it was moved or pushed through the API.
+     * @return false if no body has the given ID
+     */
+    public synchronized boolean wakeObject(int id) {
+        int slot = slotOf(id);
+        if (slot < 0) {
+            return false;
+        }
+        wakeSlot(slot);
+        queueWakeRegion(slot);
+        wakeSleepingIslands();
+        return true;
+    }
+
+    /**
+     * Wake several bodies, their islands and the sleeping islands touching
+     * them, in one pass over the store. Unknown IDs are ignored.
+     */
+    public synchronized void wakeObjects(int[] ids) {
+        for (int id : ids) {
+            int slot = slotOf(id);
+            if (slot >= 0) {
+                wakeSlot(slot);
+                queueWakeRegion(slot);
+            }
+        }
+        wakeSleepingIslands();
+    }
+
+    /**
+     * Queue the sleeping islands touching a body's current bounds to be
+     * woken, before the body is moved or resized through the API (bodies
+     * resting on it lose their support). They are woken by the next
+     * wakeObject/wakeObjects call, or at the next step.
+     * @return false if no body has the given ID
+     */
+    public synchronized boolean wakeTouching(int id) {
+        int slot = slotOf(id);
+        if (slot < 0) {
+            return false;
+        }
+        queueWakeRegion(slot);
+        return true;
+    }
+
+    /**
+     * Wake every sleeping body.
+     */
+    public synchronized void wakeAll() {
+        for (int i = 0; i < store.size(); i++) {
+            if (store.isSleeping(i)) {
+                store.wake(i);
+                store.setModified(i, nextVersion());
+            }
+        }
+        wakeIslandCount = 0;
+        wakeRegionCount = 0;
+        boundsStale = true;
+        changed();
+    }
+
+    /**
+     * Get the number of sleeping bodies.
+     */
+    public synchronized int getSleepingCount() {
+        int sleeping = 0;
+        for (int i = 0; i < store.size(); i++) {
+            if (store.isSleeping(i)) {
+                sleeping++;
+            }
+        }
+        return sleeping;
+    }
+
+    /**
+     * Check whether every dynamic body is asleep (static bodies never sleep).
+     */
+    public synchronized boolean isAllSleeping() {
+        for (int i = 0; i < store.size(); i++) {
+            if (isAwakeDynamic(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Find all bodies whose bounds overlap the given region.
+     * Served by the tree when the dynamic-tree broadphase is selected,
+     * otherwise by a linear scan.
+     * @return Detached copies of the bodies, ordered by ID
+     */
+    public synchronized List<PhysicsBody> queryRegion(double minX, double minY, double maxX, double maxY) {
+        List<PhysicsBody> result = findInRegion(minX, minY, maxX, maxY);
+        result.replaceAll(PhysicsBody::copy);
+        return result;
+    }
+
+    /**
+     * Find all bodies whose collider contains the given point.
+     * @return Detached copies of the bodies, ordered by ID
+     */
+    public synchronized List<PhysicsBody> queryPoint(double x, double y) {
+        List<PhysicsBody> result = new ArrayList<>();
+        for (PhysicsBody body : findInRegion(x, y, x, y)) {
+            Collider collider = body.getCollider();
+            if (collider != null && collider.containsPoint(x, y)) {
+                result.add(body.copy());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Live bodies whose bounds overlap the given region, ordered by ID.
+     */
+    private List<PhysicsBody> findInRegion(double minX, double minY, double maxX, double maxY) {
+        List<PhysicsBody> result = new ArrayList<>();
+        if (broadphase instanceof DynamicTreeBroadphase) {
+            DynamicTreeBroadphase treeBroadphase = (DynamicTreeBroadphase) broadphase;
+            syncTree(treeBroadphase);
+            treeBroadphase.getTree().query(minX, minY, maxX, maxY, proxyId -> {
+                int i = treeBroadphase.getBodyIndex(proxyId);
+                if (boundsIntersect(i, minX, minY, maxX, maxY)) {
+                    result.add(store.getBody(i));
+                }
+                return true;
+            });
+        } else {
+            refreshBounds();
+            for (int i = 0; i < bodyBounds.getCount(); i++) {
+                if (boundsIntersect(i, minX, minY, maxX, maxY)) {
+                    result.add(store.getBody(i));
+                }
+            }
+        }
+        result.sort(Comparator.comparingInt(PhysicsBody::getId));
+        return result;
+    }
+
+    /**
+     * Bring the tree up to date if bodies changed since it was last updated.
+     */
+    private void syncTree(DynamicTreeBroadphase treeBroadphase) {
+        if (boundsStale) {
+            refreshBounds();
+            treeBroadphase.update(bodyBounds);
+            boundsStale = false;
+        }
+    }
+
+    private boolean boundsIntersect(int i, double minX, double minY, double maxX, double maxY) {
+        return bodyBounds.getMinX(i) <= maxX && bodyBounds.getMaxX(i) >= minX
+            && bodyBounds.getMinY(i) <= maxY && bodyBounds.getMaxY(i) >= minY;
+    }
+
+    /**
+     * Mark body bounds as changed outside of a step (e.g. a body was moved via the API),
+     * so spatial queries refresh them first.
+     */
+    public void invalidateBounds() {
+        boundsStale = true;
     }
 
     /**
@@ -209,21 +1362,208 @@ public class PhysicsWorld {
      * Get collision pairs from last step.
      */
     public List<int[]> getCollisionPairs() {
-        return new ArrayList<>(collisionPairs);
+        List<int[]> pairs = new ArrayList<>(collisionCount);
+        for (int k = 0; k < collisionCount; k++) {
+            pairs.add(new int[]{collisionIds[2 * k], collisionIds[2 * k + 1]});
+        }
+        return pairs;
+    }
+
+    /**
+     * Get the number of collisions resolved in the last step.
+     */
+    public int getCollisionCount() {
+        return collisionCount;
+    }
+
+    /**
+     * Check whether a body took part in a collision in the last step.
+     */
+    public synchronized boolean hasCollided(int id) {
+        for (int k = 0; k < 2 * collisionCount; k++) {
+            if (collisionIds[k] == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Step the world and check a stop condition on the result as one atomic
+     * operation, so the tick scheduler cannot step the world in between.
+     * @param deltaTime Time step in seconds
+     * @param condition Condition to check (null = none)
+     * @param bodyId Body checked by StopCondition.COLLISION
+     * @return true if the condition holds after the step
+     */
+    public synchronized boolean stepUntil(double deltaTime, StopCondition condition, int bodyId) {
+        step(deltaTime);
+        if (condition == StopCondition.ALL_SLEEPING) {
+            return isAllSleeping();
+        }
+        if (condition == StopCondition.COLLISION) {
+            return hasCollided(bodyId);
+        }
+        return false;
     }
 
     // Getters and Setters for simulation properties
     
+    /**
+     * Configure parallel stepping of the per-body phases (forces and integration).
+     * The workers come from a pool shared by all worlds with the same parallelism.
+     * @param parallelism Number of worker threads; 1 or less steps serially
+     * @param threshold Body count below which steps stay serial (<= 0 = default)
+     */
+    public synchronized void setParallelism(int parallelism, int threshold) {
+        this.parallelPool = parallelism > 1 ? StepPools.get(parallelism) : null;
+        this.parallelThreshold = threshold > 0 ? threshold : DEFAULT_PARALLEL_THRESHOLD;
+    }
+
+    /**
+     * Get the number of worker threads used for parallel steps (1 = serial).
+     */
+    public synchronized int getParallelism() {
+        return parallelPool != null ? parallelPool.getParallelism() : 1;
+    }
+
+    public synchronized int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Get per-phase timings and parallel speedups of recent steps (for API response).
+     */
+    public synchronized Map<String, Object> getTimings() {
+        Map<String, Object> result = timings.toMap();
+        result.put("parallelism", getParallelism());
+        result.put("threshold", parallelThreshold);
+        result.put("contactSolver", contactSolver.getName());
+        result.put("contactColors", getContactColorCount());
+        result.put("solverIterations", impulseSolver.getIterations());
+        result.put("warmStartedContacts",
+                   contactSolver == ContactSolverMode.SEQUENTIAL_IMPULSE ? impulseSolver.getWarmStartedCount() : 0);
+        return result;
+    }
+
+    public ContactSolverMode getContactSolver() {
+        return contactSolver;
+    }
+
+    /**
+     * Select how contacts are resolved. Graph coloring resolves color batches
+     * in parallel when a pool is configured via setParallelism. The
+     * sequential-impulse solver iterates over all contacts and warm-starts
+     * them from the previous step.
+     */
+    public synchronized void setContactSolver(ContactSolverMode contactSolver) {
+        this.contactSolver = Objects.requireNonNull(contactSolver, "contactSolver");
+        if (contactSolver != ContactSolverMode.SEQUENTIAL_IMPULSE) {
+            // Cached impulses go stale while another solver runs
+            impulseSolver.reset();
+        }
+    }
+
+    public synchronized int getSolverIterations() {
+        return impulseSolver.getIterations();
+    }
+
+    /**
+     * Set the number of velocity iterations of the sequential-impulse solver.
+     * @throws IllegalArgumentException if iterations is not positive
+     */
+    public synchronized void setSolverIterations(int iterations) {
+        impulseSolver.setIterations(iterations);
+    }
+
+    /**
+     * Get the number of colors used to batch the contacts of the last step
+     * (0 unless the graph-coloring solver is selected).
+     */
+    public synchronized int getContactColorCount() {
+        return contactSolver == ContactSolverMode.GRAPH_COLORING ? contactColoring.getColorCount() : 0;
+    }
+
+    public Broadphase getBroadphase() {
+        return broadphase;
+    }
+
+    /**
+     * Select the broadphase strategy used by handleCollisions.
+     */
+    public synchronized void setBroadphase(Broadphase broadphase) {
+        this.broadphase = Objects.requireNonNull(broadphase, "broadphase");
+        this.boundsStale = true;
+        changed();
+    }
+    
     public Vector2D getGravity() {
         return gravity;
     }
 
     public void setGravity(Vector2D gravity) {
-        this.gravity = new Vector2D(gravity);
+        setGravity(gravity.x, gravity.y);
     }
 
-    public void setGravity(double x, double y) {
+    public synchronized void setGravity(double x, double y) {
         this.gravity = new Vector2D(x, y);
+        // Bodies resting under the old gravity may no longer be at rest
+        wakeAll();
+    }
+
+    public boolean isSleepingEnabled() {
+        return sleepingEnabled;
+    }
+
+    public double getSleepVelocity() {
+        return sleepVelocity;
+    }
+
+    public int getSleepSteps() {
+        return sleepSteps;
+    }
+
+    /**
+     * Configure body sleeping. Disabling it wakes every body.
+     * @param enabled Whether resting islands are put to sleep
+     * @param velocity Speed below which a body counts as resting
+     * @param steps Consecutive resting steps before an island sleeps
+     */
+    public synchronized void setSleeping(boolean enabled, double velocity, int steps) {
+        this.sleepingEnabled = enabled;
+        this.sleepVelocity = velocity;
+        this.sleepSteps = Math.max(1, steps);
+        if (!enabled) {
+            wakeAll();
+        }
+    }
+
+    /**
+     * Copy this world's simulation settings into another world that already
+     * holds a copy of its bodies (e.g. the private world of a job): contact
+     * solver and iterations, a new broadphase of the same type, sleeping,
+     * parallelism, friction coefficients and the custom forces of bodies
+     * present in both. Not copied: gravity and bodies (part of the scene),
+     * emitters (they keep their own state and spawn into the live world's
+     * ID space), step listeners and the command signal (they belong to the
+     * live world's streams and scheduler), and the collision history, warm-
+     * start cache and sleep state, which the copy rebuilds as it steps.
+     */
+    public synchronized void copySettingsTo(PhysicsWorld target) {
+        target.setContactSolver(contactSolver);
+        target.setSolverIterations(impulseSolver.getIterations());
+        target.setBroadphase(broadphase.newInstance());
+        target.setSleeping(sleepingEnabled, sleepVelocity, sleepSteps);
+        target.setParallelism(getParallelism(), parallelThreshold);
+        target.setStaticFrictionCoefficient(staticFrictionCoefficient);
+        target.setKineticFrictionCoefficient(kineticFrictionCoefficient);
+        for (int i = 0; i < store.size(); i++) {
+            double forceX = store.getCustomForceX(i);
+            double forceY = store.getCustomForceY(i);
+            if (forceX != 0 || forceY != 0) {
+                target.setCustomForce(store.getId(i), new Vector2D(forceX, forceY));
+            }
+        }
     }
 
     public boolean isRunning() {
@@ -232,14 +1572,17 @@ public class PhysicsWorld {
 
     public void setRunning(boolean running) {
         this.running = running;
+        changed();
     }
 
     public void start() {
         this.running = true;
+        changed();
     }
 
     public void pause() {
         this.running = false;
+        changed();
     }
 
     public double getStaticFrictionCoefficient() {
@@ -261,37 +1604,59 @@ public class PhysicsWorld {
     /**
      * Reset the simulation to initial state.
      */
-    public void reset() {
-        bodies.clear();
-        customForces.clear();
-        collisionPairs.clear();
+    public synchronized void reset() {
+        store.clear();
+        slotById.clear();
+        emitters.clear();
+        collisionCount = 0;
+        Arrays.fill(contactColliders, null);
+        impulseSolver.reset();
+        wakeIslandCount = 0;
+        wakeRegionCount = 0;
+        broadphase.reset();
+        boundsStale = true;
         running = false;
         nextId = 1;
+        stepCount = 0;
         gravity = new Vector2D(0, 9.81);
+        removals.clear(nextVersion());
+        changed();
     }
 
     /**
-     * Get simulation state as a map (for API response).
+     * Get simulation state as a map (for API response), from the current snapshot.
      */
     public Map<String, Object> getState() {
-        Map<String, Object> state = new HashMap<>();
-        
-        List<Map<String, Object>> bodiesState = new ArrayList<>();
-        for (PhysicsBody body : bodies) {
-            Map<String, Object> bodyState = new HashMap<>();
-            bodyState.put("id", body.getId());
-            bodyState.put("position", body.getPosition().toArray());
-            bodyState.put("velocity", body.getVelocity().toArray());
-            bodyState.put("type", body.getType());
-            bodiesState.add(bodyState);
+        return getSnapshot().getState();
+    }
+
+    /**
+     * Get the state with only the bodies changed after a version the client
+     * already has (see WorldSnapshot.getStateSince).
+     * @param since Version from an earlier state response
+     */
+    public Map<String, Object> getStateSince(long since) {
+        return getSnapshot().getStateSince(since);
+    }
+
+    /**
+     * Record the position and velocity of every body in primitive arrays
+     * (one sample of a long trajectory).
+     * @param step Step count reported with the sample
+     * @param time Simulated time reported with the sample
+     */
+    public synchronized TrajectorySample sample(long step, double time) {
+        int count = store.size();
+        int[] ids = new int[count];
+        double[] state = new double[4 * count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = store.getId(i);
+            state[4 * i] = store.getPosX(i);
+            state[4 * i + 1] = store.getPosY(i);
+            state[4 * i + 2] = store.getVelX(i);
+            state[4 * i + 3] = store.getVelY(i);
         }
-        
-        state.put("bodies", bodiesState);
-        state.put("running", running);
-        state.put("gravity", gravity.toArray());
-        state.put("collisions", collisionPairs);
-        
-        return state;
+        return new TrajectorySample(step, time, ids, state);
     }
 
     /**
@@ -0,0 +1,61 @@
+package com.physics.engine;
+
+import com.physics.model.BodyStore;
+
+/**
+ * Emitter that drops bodies at a steady rate from random points along the
+ * top edge of a region, until a given number has been emitted.
+ *
+ * The rate is in bodies per second of simulated time; fractions carry over
+ * between steps, so a rate below one body per step is still met on average.
+ * Bodies are created in a staging store that is reused every step, since the
+ * world copies them into its own store anyway.
+ */
+public final class RainEmitter implements BodyEmitter {
+
+    private final BodyGenerator generator;
+    private final BodyStore staging = new BodyStore();
+    private final double rate;
+    private final double minX;
+    private final double maxX;
+    private final double y;
+    private int remaining;
+    private double due;
+
+    /**
+     * @param generator Creates the bodies (shape, mass, size, velocity)
+     * @param rate Bodies per second
+     * @param count Total number of bodies to emit
+     * @param minX Left end of the line bodies are dropped from
+     * @param maxX Right end of the line
+     * @param y Height of the line
+     * @throws IllegalArgumentException if the rate or count is not positive
+     */
+    public RainEmitter(BodyGenerator generator, double rate, int count, double minX, double maxX, double y) {
+        if (!(rate > 0) || count <= 0) {
+            throw new IllegalArgumentException("Rate and count must be positive");
+        }
+        if (!(minX <= maxX)) {
+            throw new IllegalArgumentException("Box minimum must not exceed its maximum");
+        }
+        this.generator = generator;
+        this.rate = rate;
+        this.remaining = count;
+        this.minX = minX;
+        this.maxX = maxX;
+        this.y = y;
+    }
+
+    @Override
+    public boolean emit(PhysicsWorld world, double deltaTime) {
+        due += rate * deltaTime;
+        int n = (int) Math.min(due, remaining);
+        due -= n;
+        remaining -= n;
+        for (int i = 0; i < n; i++) {
+            world.addObject(generator.createIn(staging, minX, y, maxX, y));
+        }
+        staging.clearMoved();
+        return remaining > 0;
+    }
+}
@@ -0,0 +1,81 @@
+package com.physics.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded log of removed body IDs and the world versions they were removed
+ * at, so a client can be told which bodies disappeared since the version it
+ * last saw. When the log is full the oldest entry is dropped and its version
+ * becomes the horizon: clients older than that must fetch the full state.
+ */
+final class RemovalLog {
+
+    private final int[] ids;
+    private final long[] versions;
+    private int start;
+    private int size;
+    private long horizon;
+
+    RemovalLog(int capacity) {
+        this.ids = new int[capacity];
+        this.versions = new long[capacity];
+    }
+
+    void add(int id, long version) {
+        if (size == ids.length) {
+            horizon = Math.max(horizon, versions[start]);
+            start = (start + 1) % ids.length;
+            size--;
+        }
+        int k = (start + size) % ids.length;
+        ids[k] = id;
+        versions[k] = version;
+        size++;
+    }
+
+    /**
+     * Forget every entry; clients older than the given version must fetch the full state.
+     */
+    void clear(long horizon) {
+        this.start = 0;
+        this.size = 0;
+        this.horizon = Math.max(this.horizon, horizon);
+    }
+
+    /**
+     * Copy the entries into a log of exactly their size (for a snapshot).
+     */
+    RemovalLog copy() {
+        RemovalLog copy = new RemovalLog(Math.max(1, size));
+        for (int n = 0; n < size; n++) {
+            int k = (start + n) % ids.length;
+            copy.ids[n] = ids[k];
+            copy.versions[n] = versions[k];
+        }
+        copy.size = size;
+        copy.horizon = horizon;
+        return copy;
+    }
+
+    /**
+     * Oldest version a client can have seen and still be sent only the removals after it.
+     */
+    long getHorizon() {
+        return horizon;
+    }
+
+    /**
+     * IDs removed after the given version, oldest first.
+     */
+    List<Integer> removedSince(long version) {
+        List<Integer> removed = new ArrayList<>();
+        for (int n = 0; n < size; n++) {
+            int k = (start + n) % ids.length;
+            if (versions[k] > version) {
+                removed.add(ids[k]);
+            }
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,384 @@
+package com.physics.engine;
+
+import com.physics.model.BodyStore;
+import com.physics.model.Collider;
+
+import java.util.Arrays;
+
+/**
+ * Iterative sequential-impulse contact solver with warm starting.
+ *
+ * The serial and graph-coloring solvers apply one impulse per contact per
+ * step, so a body in a stack only reacts to its direct neighbours and the
+ * stack sinks and jitters. This solver runs several velocity iterations over
+ * all contacts of a step instead. Each contact accumulates its normal and
+ * friction impulse, and the accumulated values are clamped: the normal
+ * impulse never pulls, and friction stays inside the friction cone.
+ * Penetration beyond a small slop is then pushed out directly on positions,
+ * so separating deep overlaps does not add kinetic energy to the scene.
+ *
+ * Accumulated impulses are cached by body-ID pair and warm-start the same
+ * contact in the next step, so a resting stack starts each solve close to
+ * its solution. Contacts that stopped touching drop out of the cache. Arrays
+ * are reused between steps, so solving does not allocate once they have grown
+ * to the scene's contact count.
+ */
+public class SequentialImpulseSolver {
+
+    public static final int DEFAULT_ITERATIONS = 8;
+
+    // Position correction passes after the velocity iterations
+    private static final int POSITION_ITERATIONS = 3;
+
+    // Fraction of the penetration (beyond SLOP) removed per position pass
+    private static final double BAUMGARTE = 0.2;
+
+    // Penetration left uncorrected so resting contacts stay touching
+    private static final double SLOP = 0.01;
+
+    // Largest correction of one contact per position pass, so deep overlaps
+    // separate over several steps instead of teleporting bodies
+    private static final double MAX_CORRECTION = 0.2;
+
+    // Closing speed below which contacts do not bounce, so resting bodies settle
+    private static final double RESTITUTION_THRESHOLD = 1.0;
+
+    private int iterations = DEFAULT_ITERATIONS;
+
+    // Contacts of the current step
+    private int count;
+    private int[] slotA = new int[64];
+    private int[] slotB = new int[64];
+    private long[] keys = new long[64];
+    private double[] normalX = new double[64];
+    private double[] normalY = new double[64];
+    private double[] penetration = new double[64];
+    private double[] restitutionBias = new double[64];
+    private double[] effectiveMass = new double[64];
+    private double[] normalImpulse = new double[64];
+    private double[] tangentImpulse = new double[64];
+
+    // Accumulated impulses of the previous step, indexed through previousIndex by body-ID pair
+    private double[] previousNormalImpulse = new double[64];
+    private double[] previousTangentImpulse = new double[64];
+    private final LongIntHashMap previousIndex = new LongIntHashMap();
+    private int warmStarted;
+
+    /**
+     * Solve the contacts (contactSlotA[k], contactSlotB[k]) for k < contactCount.
+     * Velocities and positions of bodies with mass <= 0 are never written.
+     */
+    public void solve(BodyStore store, int contactCount, int[] contactSlotA, int[] contactSlotB) {
+        ensureCapacity(contactCount);
+
+        // Build contact constraints from the current positions
+        count = 0;
+        for (int k = 0; k < contactCount; k++) {
+            int a = contactSlotA[k];
+            int b = contactSlotB[k];
+            double invMassSum = store.getInvMass(a) + store.getInvMass(b);
+            if (invMassSum == 0 || !computeManifold(store, a, b, count)) {
+                continue;
+            }
+            int c = count++;
+            slotA[c] = a;
+            slotB[c] = b;
+            keys[c] = pairKey(store.getId(a), store.getId(b));
+            effectiveMass[c] = 1.0 / invMassSum;
+
+            double closingSpeed = relativeVelocity(store, a, b, normalX[c], normalY[c]);
+            restitutionBias[c] = closingSpeed < -RESTITUTION_THRESHOLD ? -Collider.RESTITUTION * closingSpeed : 0;
+        }
+
+        // Warm start with last step's impulses of the same body pairs
+        warmStarted = 0;
+        for (int c = 0; c < count; c++) {
+            int previous = previousIndex.get(keys[c], -1);
+            if (previous < 0) {
+                normalImpulse[c] = 0;
+                tangentImpulse[c] = 0;
+                continue;
+            }
+            normalImpulse[c] = previousNormalImpulse[previous];
+            tangentImpulse[c] = previousTangentImpulse[previous];
+            applyImpulse(store, c, normalImpulse[c], tangentImpulse[c]);
+            warmStarted++;
+        }
+
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            for (int c = 0; c < count; c++) {
+                solveContact(store, c);
+            }
+        }
+        for (int iteration = 0; iteration < POSITION_ITERATIONS; iteration++) {
+            for (int c = 0; c < count; c++) {
+                correctPosition(store, c);
+            }
+        }
+
+        // Keep the accumulated impulses for the next step
+        double[] swap = previousNormalImpulse;
+        previousNormalImpulse = normalImpulse;
+        normalImpulse = swap;
+        swap = previousTangentImpulse;
+        previousTangentImpulse = tangentImpulse;
+        tangentImpulse = swap;
+        previousIndex.clear();
+        for (int c = 0; c < count; c++) {
+            previousIndex.put(keys[c], c);
+        }
+    }
+
+    /**
+     * One iteration of a contact: friction first, then the normal impulse,
+     * each clamped as an accumulated value.
+     */
+    private void solveContact(BodyStore store, int c) {
+        int a = slotA[c];
+        int b = slotB[c];
+        double nx = normalX[c];
+        double ny = normalY[c];
+        double tx = -ny;
+        double ty = nx;
+
+        // Friction, bounded by the current normal impulse
+        double tangentSpeed = relativeVelocity(store, a, b, tx, ty);
+        double maxFriction = Collider.FRICTION * normalImpulse[c];
+        double oldTangent = tangentImpulse[c];
+        double newTangent = clamp(oldTangent - tangentSpeed * effectiveMass[c], -maxFriction, maxFriction);
+        tangentImpulse[c] = newTangent;
+
+        // Normal impulse towards the target separation speed, never pulling
+        applyImpulse(store, c, 0, newTangent - oldTangent);
+        double normalSpeed = relativeVelocity(store, a, b, nx, ny);
+        double oldNormal = normalImpulse[c];
+        double newNormal = Math.max(oldNormal + (restitutionBias[c] - normalSpeed) * effectiveMass[c], 0);
+        normalImpulse[c] = newNormal;
+        applyImpulse(store, c, newNormal - oldNormal, 0);
+    }
+
+    /**
+     * Push the bodies of contact c apart along the contact normal, weighted by
+     * inverse mass. The manifold is recomputed from the current positions, so
+     * the normal arrays hold the last pass's values afterwards.
+     */
+    private void correctPosition(BodyStore store, int c) {
+        int a = slotA[c];
+        int b = slotB[c];
+        if (!computeManifold(store, a, b, c)) {
+            return;
+        }
+        double correction = Math.min(BAUMGARTE * (penetration[c] - SLOP), MAX_CORRECTION);
+        if (correction <= 0) {
+            return;
+        }
+        double invMassA = store.getInvMass(a);
+        double invMassB = store.getInvMass(b);
+        double push = correction / (invMassA + invMassB);
+        if (invMassA > 0) {
+            store.translate(a, -normalX[c] * push * invMassA, -normalY[c] * push * invMassA);
+        }
+        if (invMassB > 0) {
+            store.translate(b, normalX[c] * push * invMassB, normalY[c] * push * invMassB);
+        }
+    }
+
+    /**
+     * Apply an impulse along the normal and tangent of contact c (B gets +P, A gets -P).
+     */
+    private void applyImpulse(BodyStore store, int c, double normal, double tangent) {
+        double px = normalX[c] * normal - normalY[c] * tangent;
+        double py = normalY[c] * normal + normalX[c] * tangent;
+        int a = slotA[c];
+        int b = slotB[c];
+        double invMassA = store.getInvMass(a);
+        double invMassB = store.getInvMass(b);
+        if (invMassA > 0) {
+            store.setVelocity(a, store.getVelX(a) - px * invMassA, store.getVelY(a) - py * invMassA);
+        }
+        if (invMassB > 0) {
+            store.setVelocity(b, store.getVelX(b) + px * invMassB, store.getVelY(b) + py * invMassB);
+        }
+    }
+
+    private static double relativeVelocity(BodyStore store, int a, int b, double dirX, double dirY) {
+        return (store.getVelX(b) - store.getVelX(a)) * dirX + (store.getVelY(b) - store.getVelY(a)) * dirY;
+    }
+
+    /**
+     * Compute the normal (unit, from A to B) and penetration depth of two
+     * overlapping bodies into contact c.
+     * @return false if the bodies do not overlap
+     */
+    private boolean computeManifold(BodyStore store, int a, int b, int c) {
+        int shapeA = store.getShape(a);
+        int shapeB = store.getShape(b);
+        if (shapeA == BodyStore.SHAPE_CIRCLE && shapeB == BodyStore.SHAPE_CIRCLE) {
+            return circleCircle(store, a, b, c);
+        }
+        if (shapeA == BodyStore.SHAPE_BOX && shapeB == BodyStore.SHAPE_BOX) {
+            return boxBox(store, a, b, c);
+        }
+        if (shapeA == BodyStore.SHAPE_BOX && shapeB == BodyStore.SHAPE_CIRCLE) {
+            return boxCircle(store, a, b, c);
+        }
+        if (shapeA == BodyStore.SHAPE_CIRCLE && shapeB == BodyStore.SHAPE_BOX && boxCircle(store, b, a, c)) {
+            normalX[c] = -normalX[c];
+            normalY[c] = -normalY[c];
+            return true;
+        }
+        return false;
+    }
+
+    private boolean circleCircle(BodyStore store, int a, int b, int c) {
+        double dx = store.getPosX(b) - store.getPosX(a);
+        double dy = store.getPosY(b) - store.getPosY(a);
+        double radii = store.getExtentX(a) + store.getExtentX(b);
+        double distanceSquared = dx * dx + dy * dy;
+        if (distanceSquared >= radii * radii) {
+            return false;
+        }
+        double distance = Math.sqrt(distanceSquared);
+        if (distance > 0) {
+            normalX[c] = dx / distance;
+            normalY[c] = dy / distance;
+        } else {
+            // Concentric circles: pick any direction
+            normalX[c] = 1;
+            normalY[c] = 0;
+        }
+        penetration[c] = radii - distance;
+        return true;
+    }
+
+    private boolean boxBox(BodyStore store, int a, int b, int c) {
+        double overlapX = Math.min(store.getMaxX(a), store.getMaxX(b)) - Math.max(store.getMinX(a), store.getMinX(b));
+        double overlapY = Math.min(store.getMaxY(a), store.getMaxY(b)) - Math.max(store.getMinY(a), store.getMinY(b));
+        if (overlapX <= 0 || overlapY <= 0) {
+            return false;
+        }
+        // Separate along the axis of least overlap
+        double centerDx = (store.getMinX(b) + store.getMaxX(b)) - (store.getMinX(a) + store.getMaxX(a));
+        double centerDy = (store.getMinY(b) + store.getMaxY(b)) - (store.getMinY(a) + store.getMaxY(a));
+        if (overlapX < overlapY) {
+            normalX[c] = centerDx < 0 ? -1 : 1;
+            normalY[c] = 0;
+            penetration[c] = overlapX;
+        } else {
+            normalX[c] = 0;
+            normalY[c] = centerDy < 0 ? -1 : 1;
+            penetration[c] = overlapY;
+        }
+        return true;
+    }
+
+    /**
+     * Contact of a box (slot box) and a circle (slot circle), normal from box to circle.
+     */
+    private boolean boxCircle(BodyStore store, int box, int circle, int c) {
+        double cx = store.getPosX(circle);
+        double cy = store.getPosY(circle);
+        double radius = store.getExtentX(circle);
+        double minX = store.getMinX(box);
+        double minY = store.getMinY(box);
+        double maxX = store.getMaxX(box);
+        double maxY = store.getMaxY(box);
+
+        double dx = cx - clamp(cx, minX, maxX);
+        double dy = cy - clamp(cy, minY, maxY);
+        double distanceSquared = dx * dx + dy * dy;
+        if (distanceSquared > 0) {
+            if (distanceSquared >= radius * radius) {
+                return false;
+            }
+            double distance = Math.sqrt(distanceSquared);
+            normalX[c] = dx / distance;
+            normalY[c] = dy / distance;
+            penetration[c] = radius - distance;
+            return true;
+        }
+
+        // Center inside the box: push out through the nearest face
+        double left = cx - minX;
+        double right = maxX - cx;
+        double top = cy - minY;
+        double bottom = maxY - cy;
+        double nearest = Math.min(Math.min(left, right), Math.min(top, bottom));
+        normalX[c] = nearest == left ? -1 : nearest == right ? 1 : 0;
+        normalY[c] = normalX[c] != 0 ? 0 : nearest == top ? -1 : 1;
+        penetration[c] = radius + nearest;
+        return true;
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    /**
+     * Pack a body-ID pair into an order-independent key. Normal and friction
+     * impulses are scalars along the pair's own axes, so they keep their
+     * meaning when the two bodies swap order between steps.
+     */
+    private static long pairKey(int idA, int idB) {
+        int low = Math.min(idA, idB);
+        int high = Math.max(idA, idB);
+        return ((long) low << 32) | (high & 0xFFFFFFFFL);
+    }
+
+    private void ensureCapacity(int contactCount) {
+        if (slotA.length >= contactCount) {
+            return;
+        }
+        int capacity = Math.max(contactCount, slotA.length * 2);
+        slotA = Arrays.copyOf(slotA, capacity);
+        slotB = Arrays.copyOf(slotB, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+        normalX = Arrays.copyOf(normalX, capacity);
+        normalY = Arrays.copyOf(normalY, capacity);
+        penetration = Arrays.copyOf(penetration, capacity);
+        restitutionBias = Arrays.copyOf(restitutionBias, capacity);
+        effectiveMass = Arrays.copyOf(effectiveMass, capacity);
+        normalImpulse = Arrays.copyOf(normalImpulse, capacity);
+        tangentImpulse = Arrays.copyOf(tangentImpulse, capacity);
+        previousNormalImpulse = Arrays.copyOf(previousNormalImpulse, capacity);
+        previousTangentImpulse = Arrays.copyOf(previousTangentImpulse, capacity);
+    }
+
+    /**
+     * Forget all cached impulses (e.g. when the world is reset and IDs are reused).
+     */
+    public void reset() {
+        count = 0;
+        warmStarted = 0;
+        previousIndex.clear();
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Set the number of velocity iterations per step.
+     * @throws IllegalArgumentException if iterations is not positive
+     */
+    public void setIterations(int iterations) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("Solver iterations must be positive");
+        }
+        this.iterations = iterations;
+    }
+
+    /**
+     * Get the number of contacts solved in the last step.
+     */
+    public int getContactCount() {
+        return count;
+    }
+
+    /**
+     * Get the number of contacts of the last step that were warm-started from the cache.
+     */
+    public int getWarmStartedCount() {
+        return warmStarted;
+    }
+}
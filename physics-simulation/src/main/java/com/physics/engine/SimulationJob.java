@@ -0,0 +1,199 @@
+package com.physics.engine;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Headless simulation run in the background.
+ *
+ * A job owns a private PhysicsWorld (a copy of a live world or a loaded
+ * scene) that is not ticked by the scheduler; a worker thread steps it as
+ * fast as it can until the requested number of steps is reached, the stop
+ * condition holds or the job is cancelled. Progress is published through
+ * volatile fields so it can be polled while the job runs; the final world
+ * and the sampled trajectory are kept for download.
+ */
+public class SimulationJob implements Runnable {
+
+    // Steps between progress updates (and cancellation checks)
+    private static final int PROGRESS_INTERVAL = 64;
+
+    private final String id;
+    private final String source;
+    private final PhysicsWorld world;
+    private final double dt;
+    private final long steps;
+    private final long sampleEvery;
+    private final StopCondition until;
+    private final int bodyId;
+    private final Instant createdAt;
+
+    private final List<TrajectorySample> trajectory;
+
+    private volatile JobStatus status = JobStatus.QUEUED;
+    private volatile boolean cancelRequested;
+    private volatile long stepsDone;
+    private volatile boolean stopped;
+    private volatile long startNanos;
+    private volatile long endNanos;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    /**
+     * @param id Job ID
+     * @param source Description of where the world came from (for API response)
+     * @param world World to step; owned by the job from now on
+     * @param dt Time step in seconds
+     * @param steps Number of steps to take
+     * @param sampleEvery Record a trajectory sample every this many steps (0 = no trajectory)
+     * @param until Condition that ends the run early (null = none)
+     * @param bodyId Body checked by StopCondition.COLLISION
+     */
+    public SimulationJob(String id, String source, PhysicsWorld world, double dt, long steps,
+                         long sampleEvery, StopCondition until, int bodyId) {
+        this.id = id;
+        this.source = source;
+        this.world = world;
+        this.dt = dt;
+        this.steps = steps;
+        this.sampleEvery = sampleEvery;
+        this.until = until;
+        this.bodyId = bodyId;
+        this.createdAt = Instant.now();
+        this.trajectory = sampleEvery > 0 ? new ArrayList<>() : null;
+    }
+
+    @Override
+    public void run() {
+        if (cancelRequested) {
+            finish(JobStatus.CANCELLED);
+            return;
+        }
+        startedAt = Instant.now();
+        startNanos = System.nanoTime();
+        status = JobStatus.RUNNING;
+        try {
+            long taken = 0;
+            boolean stop = false;
+            while (taken < steps && !stop) {
+                stop = world.stepUntil(dt, until, bodyId);
+                taken++;
+                if (trajectory != null && (taken % sampleEvery == 0 || taken == steps || stop)) {
+                    TrajectorySample sample = world.sample(taken, taken * dt);
+                    synchronized (trajectory) {
+                        trajectory.add(sample);
+                    }
+                }
+                if (taken % PROGRESS_INTERVAL == 0) {
+                    stepsDone = taken;
+                    if (cancelRequested) {
+                        finish(JobStatus.CANCELLED);
+                        return;
+                    }
+                }
+            }
+            stepsDone = taken;
+            stopped = stop;
+            finish(JobStatus.COMPLETED);
+        } catch (RuntimeException e) {
+            error = e.getMessage();
+            finish(JobStatus.FAILED);
+        }
+    }
+
+    private void finish(JobStatus finalStatus) {
+        // The world is only read from now on; release any worker threads
+        world.setParallelism(1, 0);
+        endNanos = System.nanoTime();
+        finishedAt = Instant.now();
+        status = finalStatus;
+    }
+
+    /**
+     * Ask the job to stop. A queued job will not start; a running job stops
+     * within a few steps.
+     */
+    public void cancel() {
+        cancelRequested = true;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Get the job's world. Only safe to read once the job has finished.
+     */
+    public PhysicsWorld getWorld() {
+        return world;
+    }
+
+    public boolean hasTrajectory() {
+        return trajectory != null;
+    }
+
+    /**
+     * Get the trajectory samples recorded so far.
+     */
+    public List<TrajectorySample> getTrajectory() {
+        if (trajectory == null) {
+            return Collections.emptyList();
+        }
+        synchronized (trajectory) {
+            return new ArrayList<>(trajectory);
+        }
+    }
+
+    /**
+     * Get the job's progress (for API response).
+     */
+    public Map<String, Object> getSummary() {
+        long done = stepsDone;
+        double elapsed = 0;
+        if (startNanos != 0) {
+            long end = status.isFinished() ? endNanos : System.nanoTime();
+            elapsed = (end - startNanos) / 1e9;
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("id", id);
+        summary.put("status", status.getName());
+        summary.put("source", source);
+        summary.put("dt", dt);
+        summary.put("steps", steps);
+        summary.put("stepsDone", done);
+        summary.put("progress", (double) done / steps);
+        summary.put("simulatedTime", done * dt);
+        summary.put("elapsedSeconds", elapsed);
+        summary.put("stepsPerSecond", elapsed > 0 ? done / elapsed : 0.0);
+        if (until != null) {
+            summary.put("until", until.getName());
+            summary.put("stopped", stopped);
+        }
+        summary.put("trajectory", trajectory != null);
+        summary.put("createdAt", createdAt.toString());
+        if (startedAt != null) {
+            summary.put("startedAt", startedAt.toString());
+        }
+        if (finishedAt != null) {
+            summary.put("finishedAt", finishedAt.toString());
+        }
+        if (error != null) {
+            summary.put("error", error);
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,173 @@
+package com.physics.engine;
+
+import java.util.Arrays;
+
+/**
+ * Uniform spatial-hash grid broadphase.
+ *
+ * Every body is inserted into each grid cell its bounds overlap, keyed by a
+ * hash of the cell coordinates. Bodies are only paired when they share a cell,
+ * which turns the O(n^2) pair scan into roughly O(n) for evenly sized bodies.
+ *
+ * The cell size is derived from the collider extents (twice the mean body
+ * extent) unless a fixed size is configured. Bodies that would cover more than
+ * MAX_CELLS_PER_BODY cells (huge static walls, floors) are kept out of the grid
+ * and tested against every other body instead.
+ */
+public class SpatialHashBroadphase implements Broadphase {
+
+    public static final String NAME = "spatial-hash";
+
+    // Bodies spanning more cells than this are handled outside the grid
+    private static final int MAX_CELLS_PER_BODY = 64;
+
+    // Configured cell size (<= 0 means derive from collider extents)
+    private final double fixedCellSize;
+
+    // Cell size used in the last step
+    private double cellSize;
+
+    // Grid entries packed as (cellHash << 32 | bodyIndex), reused between steps
+    private long[] entries = new long[256];
+    private int entryCount;
+
+    // Indices of bodies too large for the grid
+    private int[] largeBodies = new int[16];
+    private int largeCount;
+
+    public SpatialHashBroadphase() {
+        this(0);
+    }
+
+    /**
+     * @param cellSize Fixed grid cell size, or 0 to derive it from collider extents
+     */
+    public SpatialHashBroadphase(double cellSize) {
+        this.fixedCellSize = cellSize;
+        this.cellSize = cellSize;
+    }
+
+    @Override
+    public void computePairs(BodyBounds bounds, PairBuffer pairs) {
+        int count = bounds.getCount();
+        cellSize = fixedCellSize > 0 ? fixedCellSize : deriveCellSize(bounds);
+        entryCount = 0;
+        largeCount = 0;
+
+        // Insert each body into every cell its bounds overlap
+        for (int i = 0; i < count; i++) {
+            if (bounds.isEmpty(i)) {
+                continue;
+            }
+            long cx0 = cell(bounds.getMinX(i));
+            long cy0 = cell(bounds.getMinY(i));
+            long cx1 = cell(bounds.getMaxX(i));
+            long cy1 = cell(bounds.getMaxY(i));
+
+            if ((cx1 - cx0 + 1) * (cy1 - cy0 + 1) > MAX_CELLS_PER_BODY) {
+                addLargeBody(i);
+                continue;
+            }
+            for (long cx = cx0; cx <= cx1; cx++) {
+                for (long cy = cy0; cy <= cy1; cy++) {
+                    addEntry(hash(cx, cy), i);
+                }
+            }
+        }
+
+        // Group entries by cell; within a cell, bodies are sorted by index
+        LongSort.sort(entries, 0, entryCount);
+        int runStart = 0;
+        while (runStart < entryCount) {
+            int cellHash = (int) (entries[runStart] >>> 32);
+            int runEnd = runStart + 1;
+            while (runEnd < entryCount && (int) (entries[runEnd] >>> 32) == cellHash) {
+                runEnd++;
+            }
+            for (int p = runStart; p < runEnd; p++) {
+                int i = (int) entries[p];
+                for (int q = p + 1; q < runEnd; q++) {
+                    int j = (int) entries[q];
+                    if (bounds.overlaps(i, j)) {
+                        pairs.add(i, j);
+                    }
+                }
+            }
+            runStart = runEnd;
+        }
+
+        // Oversized bodies are tested against everything
+        for (int k = 0; k < largeCount; k++) {
+            int large = largeBodies[k];
+            for (int j = 0; j < count; j++) {
+                if (j != large && bounds.overlaps(large, j)) {
+                    pairs.add(large, j);
+                }
+            }
+        }
+
+        // A pair sharing several cells (or colliding hashes) is reported more than once
+        pairs.sortAndDeduplicate();
+    }
+
+    /**
+     * Derive the cell size from the collider extents: twice the mean of each
+     * body's largest dimension, so a typical body covers one to four cells.
+     */
+    private double deriveCellSize(BodyBounds bounds) {
+        double total = 0;
+        int counted = 0;
+        for (int i = 0; i < bounds.getCount(); i++) {
+            if (bounds.isEmpty(i)) {
+                continue;
+            }
+            double extent = Math.max(bounds.getMaxX(i) - bounds.getMinX(i),
+                                     bounds.getMaxY(i) - bounds.getMinY(i));
+            total += extent;
+            counted++;
+        }
+        if (counted == 0 || total <= 0) {
+            return 1.0;
+        }
+        return 2.0 * total / counted;
+    }
+
+    private long cell(double coordinate) {
+        return (long) Math.floor(coordinate / cellSize);
+    }
+
+    private static int hash(long cx, long cy) {
+        return (int) (cx * 73856093L ^ cy * 19349663L);
+    }
+
+    private void addEntry(int cellHash, int index) {
+        if (entryCount == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        entries[entryCount++] = ((long) cellHash << 32) | (index & 0xFFFFFFFFL);
+    }
+
+    private void addLargeBody(int index) {
+        if (largeCount == largeBodies.length) {
+            largeBodies = Arrays.copyOf(largeBodies, largeBodies.length * 2);
+        }
+        largeBodies[largeCount++] = index;
+    }
+
+    /**
+     * Get the cell size used in the last step.
+     */
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    @Override
+    public Broadphase newInstance() {
+        return new SpatialHashBroadphase(fixedCellSize);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+}
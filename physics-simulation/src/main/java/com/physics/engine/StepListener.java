@@ -0,0 +1,21 @@
+package com.physics.engine;
+
+import com.physics.model.BodyStore;
+
+/**
+ * Callback run by PhysicsWorld at the end of every step.
+ *
+ * Listeners run on the stepping thread while it holds the world's lock, so
+ * they see a consistent state but must be quick and must not modify the
+ * store; hand any slow work (such as network I/O) to another thread.
+ */
+@FunctionalInterface
+public interface StepListener {
+
+    /**
+     * @param world The world that was stepped
+     * @param store The world's body columns (read-only)
+     * @param stepCount Number of steps taken since the world was created or reset
+     */
+    void afterStep(PhysicsWorld world, BodyStore store, long stepCount);
+}
@@ -0,0 +1,39 @@
+package com.physics.engine;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Fork/join pools for the parallel phases of a step (forces, integration and
+ * contact color batches), shared by every world with the same parallelism.
+ *
+ * Worlds only borrow a pool and never shut it down, so hundreds of worlds
+ * configured for parallel stepping cost one set of threads per distinct
+ * parallelism instead of one per world. Idle workers are retired by the pool
+ * itself.
+ */
+final class StepPools {
+
+    private static final Map<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+    private StepPools() {
+    }
+
+    /**
+     * Get the shared pool with the given number of workers, creating it on first use.
+     */
+    static ForkJoinPool get(int parallelism) {
+        return POOLS.computeIfAbsent(parallelism, StepPools::create);
+    }
+
+    private static ForkJoinPool create(int parallelism) {
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("physics-step-" + parallelism + "-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+}
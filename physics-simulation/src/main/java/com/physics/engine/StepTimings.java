@@ -0,0 +1,116 @@
+package com.physics.engine;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-phase timings of PhysicsWorld.step.
+ *
+ * Keeps a smoothed cost per body for each phase, separately for serial and
+ * parallel runs of that phase, so the speedup of the parallel mode can be reported even
+ * when the body count changed between measurements. Recording a step does not
+ * allocate.
+ */
+public class StepTimings {
+
+    public enum Phase {
+        FORCES("forces"),
+        INTEGRATION("integration"),
+        COLLISIONS("collisions"),
+        RESOLUTION("resolution");
+
+        private final String name;
+
+        Phase(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    // Weight of the newest sample in the moving averages
+    private static final double SMOOTHING = 0.1;
+
+    private static final int PHASES = Phase.values().length;
+
+    private final long[] lastNanos = new long[PHASES];
+    private final boolean[] lastParallel = new boolean[PHASES];
+    private final double[] serialNanosPerBody = new double[PHASES];
+    private final double[] parallelNanosPerBody = new double[PHASES];
+    private final long[] serialSteps = new long[PHASES];
+    private final long[] parallelSteps = new long[PHASES];
+    private int lastBodyCount;
+
+    /**
+     * Record the duration of one phase of a step.
+     * @param parallel Whether the phase ran in parallel
+     * @param bodyCount Number of bodies stepped
+     */
+    public void record(Phase phase, boolean parallel, int bodyCount, long nanos) {
+        int p = phase.ordinal();
+        lastNanos[p] = nanos;
+        lastParallel[p] = parallel;
+        lastBodyCount = bodyCount;
+        if (bodyCount == 0) {
+            return;
+        }
+
+        double perBody = (double) nanos / bodyCount;
+        if (parallel) {
+            parallelNanosPerBody[p] = smooth(parallelNanosPerBody[p], perBody, parallelSteps[p]++);
+        } else {
+            serialNanosPerBody[p] = smooth(serialNanosPerBody[p], perBody, serialSteps[p]++);
+        }
+    }
+
+    private static double smooth(double average, double sample, long previousSamples) {
+        return previousSamples == 0 ? sample : average + SMOOTHING * (sample - average);
+    }
+
+    /**
+     * Get the parallel speedup of a phase (serial cost / parallel cost per body),
+     * or NaN until the phase has been measured in both modes.
+     */
+    public double getSpeedup(Phase phase) {
+        int p = phase.ordinal();
+        if (serialSteps[p] == 0 || parallelSteps[p] == 0 || parallelNanosPerBody[p] == 0) {
+            return Double.NaN;
+        }
+        return serialNanosPerBody[p] / parallelNanosPerBody[p];
+    }
+
+    public long getLastNanos(Phase phase) {
+        return lastNanos[phase.ordinal()];
+    }
+
+    public boolean isLastParallel(Phase phase) {
+        return lastParallel[phase.ordinal()];
+    }
+
+    /**
+     * Get the timings as a map (for API response).
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("bodies", lastBodyCount);
+
+        Map<String, Object> phases = new LinkedHashMap<>();
+        for (Phase phase : Phase.values()) {
+            int p = phase.ordinal();
+            Map<String, Object> phaseState = new LinkedHashMap<>();
+            phaseState.put("parallel", lastParallel[p]);
+            phaseState.put("lastMicros", lastNanos[p] / 1000.0);
+            phaseState.put("serialSteps", serialSteps[p]);
+            phaseState.put("parallelSteps", parallelSteps[p]);
+            phaseState.put("serialNanosPerBody", serialSteps[p] > 0 ? serialNanosPerBody[p] : null);
+            phaseState.put("parallelNanosPerBody", parallelSteps[p] > 0 ? parallelNanosPerBody[p] : null);
+            double speedup = getSpeedup(phase);
+            phaseState.put("speedup", Double.isNaN(speedup) ? null : speedup);
+            phases.put(phase.getName(), phaseState);
+        }
+        result.put("phases", phases);
+        return result;
+    }
+}
@@ -0,0 +1,36 @@
+package com.physics.engine;
+
+/**
+ * Condition that ends a multi-step batch run early.
+ */
+public enum StopCondition {
+
+    // Every dynamic body is asleep (or there is none)
+    ALL_SLEEPING("sleep"),
+
+    // A given body took part in a collision during the step
+    COLLISION("collision");
+
+    private final String name;
+
+    StopCondition(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Look up a stop condition by its API name (e.g. "sleep").
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    public static StopCondition fromName(String name) {
+        for (StopCondition condition : values()) {
+            if (condition.name.equalsIgnoreCase(name) || condition.name().equalsIgnoreCase(name)) {
+                return condition;
+            }
+        }
+        throw new IllegalArgumentException("Unknown stop condition: " + name);
+    }
+}
@@ -0,0 +1,360 @@
+package com.physics.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental sweep-and-prune broadphase.
+ *
+ * Keeps the min/max endpoints of every body's bounds sorted along both axes
+ * across steps. Because bodies only move a little per step, the lists are
+ * nearly sorted and insertion sort fixes them with a handful of swaps. Each
+ * swap of a min past a max (or the other way round) is exactly the moment two
+ * bounds start or stop overlapping on that axis, so the set of overlapping
+ * pairs is maintained persistently instead of being recomputed every step.
+ *
+ * Bodies are tracked by ID, so the world may add or remove bodies between
+ * steps. Large batches of new bodies (e.g. loading a scene) trigger a full
+ * rebuild instead of many long insertion-sort runs.
+ */
+public class SweepAndPruneBroadphase implements Broadphase {
+
+    public static final String NAME = "sweep-and-prune";
+
+    /**
+     * Listener for changes to the persistent overlapping-pair set.
+     * Pairs are reported by body ID.
+     */
+    public interface PairListener {
+        void pairAdded(int idA, int idB);
+
+        void pairRemoved(int idA, int idB);
+    }
+
+    // Tracked bounds of one body
+    private static final class Proxy {
+        final int id;
+        int index;
+        int stamp;
+        double minX;
+        double minY;
+        double maxX;
+        double maxY;
+        boolean removed;
+        final List<Proxy> overlaps = new ArrayList<>(4);
+
+        Proxy(int id) {
+            this.id = id;
+        }
+    }
+
+    // One end of a proxy's interval on an axis
+    private static final class Endpoint {
+        final Proxy proxy;
+        final boolean isMin;
+        double value;
+
+        Endpoint(Proxy proxy, boolean isMin) {
+            this.proxy = proxy;
+            this.isMin = isMin;
+        }
+    }
+
+    // Max endpoints sort before min endpoints at equal values, so touching
+    // intervals count as separated and any penetration shows up as a swap
+    private static final Comparator<Endpoint> BY_VALUE =
+            Comparator.comparingDouble((Endpoint e) -> e.value).thenComparing(e -> e.isMin);
+
+    private final Map<Integer, Proxy> proxies = new HashMap<>();
+
+    // Proxy seen at each body index in the last step (avoids map lookups for unchanged bodies)
+    private Proxy[] byIndex = new Proxy[16];
+
+    // Sorted endpoint lists for each axis
+    private Endpoint[] xAxis = new Endpoint[32];
+    private Endpoint[] yAxis = new Endpoint[32];
+    private int endpointCount;
+
+    private final List<Proxy> pending = new ArrayList<>();
+    private int stamp;
+    private int pairCount;
+    private PairListener listener;
+
+    @Override
+    public void computePairs(BodyBounds bounds, PairBuffer pairs) {
+        int count = bounds.getCount();
+        stamp++;
+        if (byIndex.length < count) {
+            byIndex = Arrays.copyOf(byIndex, Math.max(count, byIndex.length * 2));
+        }
+
+        // Refresh tracked bounds and pick up new bodies
+        int tracked = 0;
+        for (int i = 0; i < count; i++) {
+            if (bounds.isEmpty(i)) {
+                byIndex[i] = null;
+                continue;
+            }
+            int id = bounds.getId(i);
+            Proxy proxy = byIndex[i];
+            if (proxy == null || proxy.id != id) {
+                proxy = proxies.get(id);
+                if (proxy == null) {
+                    proxy = new Proxy(id);
+                    proxies.put(id, proxy);
+                    pending.add(proxy);
+                }
+                byIndex[i] = proxy;
+            }
+            proxy.index = i;
+            proxy.stamp = stamp;
+            proxy.minX = bounds.getMinX(i);
+            proxy.minY = bounds.getMinY(i);
+            proxy.maxX = bounds.getMaxX(i);
+            proxy.maxY = bounds.getMaxY(i);
+            tracked++;
+        }
+
+        // Drop proxies of bodies that are gone
+        if (proxies.size() > tracked) {
+            removeStaleProxies();
+        }
+
+        // Rebuild from scratch when more bodies were added than were already tracked
+        boolean rebuild = pending.size() > proxies.size() - pending.size();
+        for (int k = 0; k < pending.size(); k++) {
+            appendEndpoints(pending.get(k));
+        }
+        pending.clear();
+        refreshEndpointValues();
+
+        if (rebuild) {
+            rebuild();
+        } else {
+            insertionSort(xAxis);
+            insertionSort(yAxis);
+        }
+
+        // Report the persistent pairs by current body index
+        for (int k = 0; k < endpointCount; k++) {
+            Endpoint endpoint = xAxis[k];
+            if (!endpoint.isMin) {
+                continue;
+            }
+            Proxy proxy = endpoint.proxy;
+            for (int m = 0; m < proxy.overlaps.size(); m++) {
+                Proxy other = proxy.overlaps.get(m);
+                if (proxy.index < other.index) {
+                    pairs.add(proxy.index, other.index);
+                }
+            }
+        }
+        pairs.sortAndDeduplicate();
+    }
+
+    /**
+     * Drop proxies whose body was removed (or lost its collider) since the last step.
+     */
+    private void removeStaleProxies() {
+        boolean anyRemoved = false;
+        Iterator<Proxy> it = proxies.values().iterator();
+        while (it.hasNext()) {
+            Proxy proxy = it.next();
+            if (proxy.stamp == stamp) {
+                continue;
+            }
+            it.remove();
+            proxy.removed = true;
+            anyRemoved = true;
+            while (!proxy.overlaps.isEmpty()) {
+                unlink(proxy, proxy.overlaps.get(proxy.overlaps.size() - 1));
+            }
+        }
+        if (anyRemoved) {
+            compact(xAxis);
+            endpointCount = compact(yAxis);
+        }
+    }
+
+    private int compact(Endpoint[] axis) {
+        int kept = 0;
+        for (int k = 0; k < endpointCount; k++) {
+            if (!axis[k].proxy.removed) {
+                axis[kept++] = axis[k];
+            }
+        }
+        Arrays.fill(axis, kept, endpointCount, null);
+        return kept;
+    }
+
+    private void appendEndpoints(Proxy proxy) {
+        if (endpointCount + 2 > xAxis.length) {
+            int capacity = Math.max(endpointCount + 2, xAxis.length * 2);
+            xAxis = Arrays.copyOf(xAxis, capacity);
+            yAxis = Arrays.copyOf(yAxis, capacity);
+        }
+        xAxis[endpointCount] = new Endpoint(proxy, true);
+        yAxis[endpointCount] = new Endpoint(proxy, true);
+        endpointCount++;
+        xAxis[endpointCount] = new Endpoint(proxy, false);
+        yAxis[endpointCount] = new Endpoint(proxy, false);
+        endpointCount++;
+    }
+
+    private void refreshEndpointValues() {
+        for (int k = 0; k < endpointCount; k++) {
+            Endpoint x = xAxis[k];
+            x.value = x.isMin ? x.proxy.minX : x.proxy.maxX;
+            Endpoint y = yAxis[k];
+            y.value = y.isMin ? y.proxy.minY : y.proxy.maxY;
+        }
+    }
+
+    /**
+     * Insertion sort of a nearly sorted axis. Every swap of a min endpoint with a
+     * max endpoint may start or end an overlap between the two proxies.
+     */
+    private void insertionSort(Endpoint[] axis) {
+        for (int k = 1; k < endpointCount; k++) {
+            Endpoint moving = axis[k];
+            int m = k - 1;
+            while (m >= 0 && sortsAfter(axis[m], moving)) {
+                Endpoint passed = axis[m];
+                if (moving.isMin && !passed.isMin) {
+                    // moving's min passed below passed's max: intervals may now overlap
+                    if (overlaps(moving.proxy, passed.proxy)) {
+                        link(moving.proxy, passed.proxy);
+                    }
+                } else if (!moving.isMin && passed.isMin) {
+                    // moving's max passed below passed's min: intervals separated
+                    unlink(moving.proxy, passed.proxy);
+                }
+                axis[m + 1] = passed;
+                m--;
+            }
+            axis[m + 1] = moving;
+        }
+    }
+
+    private static boolean sortsAfter(Endpoint a, Endpoint b) {
+        return a.value > b.value || (a.value == b.value && a.isMin && !b.isMin);
+    }
+
+    /**
+     * Sort both axes from scratch and recompute the overlapping pairs with a
+     * single sweep. Listeners only see the pairs that actually changed.
+     */
+    private void rebuild() {
+        Arrays.sort(xAxis, 0, endpointCount, BY_VALUE);
+        Arrays.sort(yAxis, 0, endpointCount, BY_VALUE);
+
+        Map<Proxy, List<Proxy>> previous = new HashMap<>();
+        for (Proxy proxy : proxies.values()) {
+            if (!proxy.overlaps.isEmpty()) {
+                previous.put(proxy, new ArrayList<>(proxy.overlaps));
+                proxy.overlaps.clear();
+            }
+        }
+        pairCount = 0;
+
+        List<Proxy> active = new ArrayList<>();
+        for (int k = 0; k < endpointCount; k++) {
+            Endpoint endpoint = xAxis[k];
+            Proxy proxy = endpoint.proxy;
+            if (!endpoint.isMin) {
+                active.remove(proxy);
+                continue;
+            }
+            for (Proxy other : active) {
+                if (overlaps(proxy, other)) {
+                    proxy.overlaps.add(other);
+                    other.overlaps.add(proxy);
+                    pairCount++;
+                }
+            }
+            active.add(proxy);
+        }
+
+        if (listener == null) {
+            return;
+        }
+        for (Proxy proxy : proxies.values()) {
+            List<Proxy> before = previous.getOrDefault(proxy, List.of());
+            for (Proxy other : proxy.overlaps) {
+                if (proxy.id < other.id && !before.contains(other)) {
+                    listener.pairAdded(proxy.id, other.id);
+                }
+            }
+            for (Proxy other : before) {
+                if (proxy.id < other.id && !proxy.overlaps.contains(other)) {
+                    listener.pairRemoved(proxy.id, other.id);
+                }
+            }
+        }
+    }
+
+    private static boolean overlaps(Proxy a, Proxy b) {
+        return a.minX < b.maxX && a.maxX > b.minX
+            && a.minY < b.maxY && a.maxY > b.minY;
+    }
+
+    private void link(Proxy a, Proxy b) {
+        if (a.overlaps.contains(b)) {
+            return;
+        }
+        a.overlaps.add(b);
+        b.overlaps.add(a);
+        pairCount++;
+        if (listener != null) {
+            listener.pairAdded(Math.min(a.id, b.id), Math.max(a.id, b.id));
+        }
+    }
+
+    private void unlink(Proxy a, Proxy b) {
+        if (!a.overlaps.remove(b)) {
+            return;
+        }
+        b.overlaps.remove(a);
+        pairCount--;
+        if (listener != null) {
+            listener.pairRemoved(Math.min(a.id, b.id), Math.max(a.id, b.id));
+        }
+    }
+
+    @Override
+    public void reset() {
+        proxies.clear();
+        pending.clear();
+        Arrays.fill(byIndex, null);
+        Arrays.fill(xAxis, 0, endpointCount, null);
+        Arrays.fill(yAxis, 0, endpointCount, null);
+        endpointCount = 0;
+        pairCount = 0;
+    }
+
+    /**
+     * Get the number of pairs in the persistent overlapping-pair set.
+     */
+    public int getPairCount() {
+        return pairCount;
+    }
+
+    public void setPairListener(PairListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public Broadphase newInstance() {
+        return new SweepAndPruneBroadphase();
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+}
@@ -0,0 +1,278 @@
+package com.physics.engine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ticks the fixed-timestep loops of many worlds on one shared work-stealing
+ * pool, so hosting thousands of small worlds does not cost a thread each.
+ *
+ * Running loops wait in a queue ordered by the deadline of their next step.
+ * A dispatcher thread hands every loop whose deadline has passed to the pool,
+ * earliest deadline first; the pool runs one slice of the loop (the steps that
+ * are due) and the loop is queued again for its next deadline.
+ *
+ * Fairness: a slice takes at most maxStepsPerSlice steps. A world that is
+ * further behind than that goes back into the queue behind the worlds whose
+ * deadlines came earlier instead of holding its pool thread until it has
+ * caught up, so one huge world cannot starve the others.
+ */
+public class TickScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(TickScheduler.class);
+
+    private final ForkJoinPool pool;
+    private final Thread dispatcher;
+
+    // Running loops waiting for their next deadline, earliest first
+    private final PriorityQueue<FixedTimestepLoop> queue =
+        new PriorityQueue<>((a, b) -> Long.compare(a.getDeadline(), b.getDeadline()));
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+
+    // Loops registered with this scheduler (for statistics)
+    private final List<FixedTimestepLoop> loops = new ArrayList<>();
+
+    private volatile int maxStepsPerSlice;
+    private volatile boolean closed;
+
+    // Statistics
+    private final AtomicLong slices = new AtomicLong();
+
+    /**
+     * @param parallelism Number of pool threads
+     * @param maxStepsPerSlice Maximum steps one world takes before yielding its pool thread
+     */
+    public TickScheduler(int parallelism, int maxStepsPerSlice) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Scheduler parallelism must be positive");
+        }
+        setMaxStepsPerSlice(maxStepsPerSlice);
+        this.pool = new ForkJoinPool(parallelism, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("physics-tick-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, true);
+        this.dispatcher = new Thread(this::dispatch, "physics-tick-dispatcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    /**
+     * Register a loop with this scheduler (done by FixedTimestepLoop itself).
+     */
+    void register(FixedTimestepLoop loop) {
+        synchronized (loops) {
+            loops.add(loop);
+        }
+    }
+
+    /**
+     * Unregister a loop and drop it from the queue (when its world is destroyed).
+     */
+    public void remove(FixedTimestepLoop loop) {
+        lock.lock();
+        try {
+            queue.remove(loop);
+        } finally {
+            lock.unlock();
+        }
+        synchronized (loops) {
+            loops.remove(loop);
+        }
+    }
+
+    /**
+     * Schedule a loop that is not already queued or running a slice, with its
+     * next slice due now. Called when its world is started or reconfigured.
+     */
+    public void wakeUp(FixedTimestepLoop loop) {
+        if (!closed && loop.claim()) {
+            enqueue(loop, System.nanoTime());
+        }
+    }
+
+    /**
+     * Run a slice of a loop as soon as possible (to apply queued commands):
+     * schedule it if idle, or move it to the front if it is waiting for a
+     * later deadline. A loop running a slice right now checks for commands
+     * when the slice ends.
+     * @return false if the scheduler is closed and will not run the loop again
+     */
+    public boolean expedite(FixedTimestepLoop loop) {
+        if (closed) {
+            return false;
+        }
+        if (loop.claim()) {
+            enqueue(loop, System.nanoTime());
+            return true;
+        }
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            if (loop.getDeadline() > now && queue.remove(loop)) {
+                loop.setDeadline(now);
+                queue.add(loop);
+                changed.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return true;
+    }
+
+    private void enqueue(FixedTimestepLoop loop, long deadline) {
+        lock.lock();
+        try {
+            loop.setDeadline(deadline);
+            queue.add(loop);
+            if (queue.peek() == loop) {
+                changed.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void dispatch() {
+        lock.lock();
+        try {
+            while (!closed) {
+                FixedTimestepLoop next = queue.peek();
+                if (next == null) {
+                    changed.await();
+                    continue;
+                }
+                long wait = next.getDeadline() - System.nanoTime();
+                if (wait > 0) {
+                    changed.awaitNanos(wait);
+                    continue;
+                }
+                queue.poll();
+                pool.execute(() -> runSlice(next));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void runSlice(FixedTimestepLoop loop) {
+        boolean requeued = false;
+        try {
+            long deadline = loop.runSlice(maxStepsPerSlice);
+            if (deadline != FixedTimestepLoop.IDLE && !closed) {
+                enqueue(loop, deadline);
+                requeued = true;
+            }
+        } catch (Throwable e) {
+            // A failing world stops being ticked instead of taking the pool thread with it
+            log.error("World tick failed; pausing the world", e);
+            loop.getWorld().pause();
+        } finally {
+            slices.incrementAndGet();
+            if (!requeued) {
+                loop.release();
+                // The world may have been started again, or sent commands, while the
+                // slice was finishing
+                if (loop.getWorld().isRunning() || loop.getWorld().hasPendingCommands()) {
+                    wakeUp(loop);
+                }
+            }
+        }
+    }
+
+    public int getMaxStepsPerSlice() {
+        return maxStepsPerSlice;
+    }
+
+    /**
+     * Change the fairness cap. Takes effect on the next slice.
+     * @throws IllegalArgumentException if the value is not positive
+     */
+    public void setMaxStepsPerSlice(int maxStepsPerSlice) {
+        if (maxStepsPerSlice <= 0) {
+            throw new IllegalArgumentException("Max steps per slice must be positive");
+        }
+        this.maxStepsPerSlice = maxStepsPerSlice;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Get scheduler statistics (for API response).
+     */
+    public Map<String, Object> getStats() {
+        int queued;
+        lock.lock();
+        try {
+            queued = queue.size();
+        } finally {
+            lock.unlock();
+        }
+
+        int runningWorlds = 0;
+        long missedDeadlines = 0;
+        double maxLagMillis = 0;
+        synchronized (loops) {
+            for (FixedTimestepLoop loop : loops) {
+                if (loop.getWorld().isRunning()) {
+                    runningWorlds++;
+                }
+                missedDeadlines += loop.getMissedDeadlines();
+                maxLagMillis = Math.max(maxLagMillis, loop.getLagMillis());
+            }
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("parallelism", pool.getParallelism());
+        stats.put("maxStepsPerSlice", maxStepsPerSlice);
+        stats.put("runningWorlds", runningWorlds);
+        stats.put("queuedWorlds", queued);
+        stats.put("activeThreads", pool.getActiveThreadCount());
+        stats.put("slices", slices.get());
+        stats.put("steals", pool.getStealCount());
+        stats.put("missedDeadlines", missedDeadlines);
+        stats.put("maxLagMillis", maxLagMillis);
+        return stats;
+    }
+
+    /**
+     * Stop the dispatcher and the pool (on application shutdown). Commands
+     * queued before the loops stopped running are applied here; later ones
+     * are applied by their submitters.
+     */
+    public void close() throws InterruptedException {
+        closed = true;
+        lock.lock();
+        try {
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+        dispatcher.join();
+        pool.shutdown();
+        pool.awaitTermination(5, TimeUnit.SECONDS);
+        synchronized (loops) {
+            for (FixedTimestepLoop loop : loops) {
+                loop.getWorld().applyCommands();
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.physics.engine;
+
+import com.physics.model.BodyStore;
+
+/**
+ * Swept time-of-impact tests for continuous collision detection.
+ *
+ * Each test moves shape A by (dx, dy) over one step while shape B stays put
+ * (for two moving bodies, pass the relative displacement) and returns the
+ * fraction of the step in [0, 1] at which the shapes first touch, or NO_HIT
+ * if they do not touch during the step. Shapes that already overlap at the
+ * start also return NO_HIT; the discrete narrowphase handles those.
+ *
+ * Shapes use the BodyStore conventions: a circle is given by its center and
+ * radius, a box by its top-left corner, width and height.
+ */
+public final class TimeOfImpact {
+
+    // Returned when the shapes do not touch during the step
+    public static final double NO_HIT = Double.POSITIVE_INFINITY;
+
+    private TimeOfImpact() {
+    }
+
+    /**
+     * Sweep two shapes given as BodyStore shape codes and columns.
+     * @return Time of impact in [0, 1], or NO_HIT
+     */
+    public static double sweep(int shapeA, double ax, double ay, double extentAX, double extentAY,
+                               double dx, double dy,
+                               int shapeB, double bx, double by, double extentBX, double extentBY) {
+        if (shapeA == BodyStore.SHAPE_CIRCLE && shapeB == BodyStore.SHAPE_CIRCLE) {
+            return circleCircle(ax, ay, extentAX, dx, dy, bx, by, extentBX);
+        }
+        if (shapeA == BodyStore.SHAPE_CIRCLE && shapeB == BodyStore.SHAPE_BOX) {
+            return circleAabb(ax, ay, extentAX, dx, dy, bx, by, bx + extentBX, by + extentBY);
+        }
+        if (shapeA == BodyStore.SHAPE_BOX && shapeB == BodyStore.SHAPE_CIRCLE) {
+            // Same contact seen from the circle, moving the opposite way
+            return circleAabb(bx, by, extentBX, -dx, -dy, ax, ay, ax + extentAX, ay + extentAY);
+        }
+        if (shapeA == BodyStore.SHAPE_BOX && shapeB == BodyStore.SHAPE_BOX) {
+            return aabbAabb(ax, ay, extentAX, extentAY, dx, dy, bx, by, bx + extentBX, by + extentBY);
+        }
+        return NO_HIT;
+    }
+
+    /**
+     * Sweep a circle against a static axis-aligned box.
+     * The circle hits the box when its center enters the box grown by the
+     * radius with rounded corners, so this is a ray test against that shape.
+     */
+    public static double circleAabb(double cx, double cy, double radius, double dx, double dy,
+                                    double minX, double minY, double maxX, double maxY) {
+        double t = rayAabb(cx, cy, dx, dy, minX - radius, minY - radius, maxX + radius, maxY + radius);
+        if (t == NO_HIT) {
+            return NO_HIT;
+        }
+
+        // In a corner region the grown box is rounded: test the corner circle instead
+        double s = Math.max(t, 0);
+        double hitX = cx + dx * s;
+        double hitY = cy + dy * s;
+        boolean outsideX = hitX < minX || hitX > maxX;
+        boolean outsideY = hitY < minY || hitY > maxY;
+        if (outsideX && outsideY) {
+            double cornerX = hitX < minX ? minX : maxX;
+            double cornerY = hitY < minY ? minY : maxY;
+            return rayCircle(cx, cy, dx, dy, cornerX, cornerY, radius);
+        }
+        return t < 0 ? NO_HIT : t;
+    }
+
+    /**
+     * Sweep a box (top-left corner ax, ay) against a static box.
+     * The boxes touch when A's top-left corner enters B grown by A's size.
+     */
+    public static double aabbAabb(double ax, double ay, double width, double height, double dx, double dy,
+                                  double minX, double minY, double maxX, double maxY) {
+        double t = rayAabb(ax, ay, dx, dy, minX - width, minY - height, maxX, maxY);
+        return t < 0 ? NO_HIT : t;
+    }
+
+    /**
+     * Sweep a circle against a static circle.
+     */
+    public static double circleCircle(double ax, double ay, double radiusA, double dx, double dy,
+                                      double bx, double by, double radiusB) {
+        return rayCircle(ax, ay, dx, dy, bx, by, radiusA + radiusB);
+    }
+
+    /**
+     * Entry time of the ray p + t * d into a box (slab test).
+     * @return Entry time (negative if p starts inside), or NO_HIT if the ray
+     *         misses the box within t <= 1
+     */
+    private static double rayAabb(double px, double py, double dx, double dy,
+                                  double minX, double minY, double maxX, double maxY) {
+        double enter = Double.NEGATIVE_INFINITY;
+        double exit = Double.POSITIVE_INFINITY;
+
+        if (dx == 0) {
+            if (px < minX || px > maxX) {
+                return NO_HIT;
+            }
+        } else {
+            double t1 = (minX - px) / dx;
+            double t2 = (maxX - px) / dx;
+            enter = Math.max(enter, Math.min(t1, t2));
+            exit = Math.min(exit, Math.max(t1, t2));
+        }
+
+        if (dy == 0) {
+            if (py < minY || py > maxY) {
+                return NO_HIT;
+            }
+        } else {
+            double t1 = (minY - py) / dy;
+            double t2 = (maxY - py) / dy;
+            enter = Math.max(enter, Math.min(t1, t2));
+            exit = Math.min(exit, Math.max(t1, t2));
+        }
+
+        if (enter > exit || exit < 0 || enter > 1) {
+            return NO_HIT;
+        }
+        return enter;
+    }
+
+    /**
+     * First time the ray p + t * d reaches distance radius from c.
+     * @return Time in [0, 1], or NO_HIT if it does not (or starts inside)
+     */
+    private static double rayCircle(double px, double py, double dx, double dy,
+                                    double cx, double cy, double radius) {
+        double mx = px - cx;
+        double my = py - cy;
+        double c = mx * mx + my * my - radius * radius;
+        if (c < 0) {
+            return NO_HIT;
+        }
+        double b = mx * dx + my * dy;
+        if (b >= 0) {
+            // Moving away from (or parallel to) the circle
+            return NO_HIT;
+        }
+        double a = dx * dx + dy * dy;
+        double discriminant = b * b - a * c;
+        if (discriminant < 0) {
+            return NO_HIT;
+        }
+        double t = (-b - Math.sqrt(discriminant)) / a;
+        return t <= 1 ? t : NO_HIT;
+    }
+}
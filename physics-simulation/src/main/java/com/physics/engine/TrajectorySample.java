@@ -0,0 +1,54 @@
+package com.physics.engine;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Position and velocity of every body after one step of a recorded run.
+ *
+ * The state is kept in primitive arrays, about 36 bytes per body; the
+ * per-body maps of the JSON form are only built while the sample is
+ * written out, so long trajectories of large worlds stay affordable.
+ */
+@JsonPropertyOrder({"step", "time", "bodies"})
+public final class TrajectorySample {
+
+    private final long step;
+    private final double time;
+    private final int[] ids;
+    private final double[] state;   // posX, posY, velX, velY of each body
+
+    TrajectorySample(long step, double time, int[] ids, double[] state) {
+        this.step = step;
+        this.time = time;
+        this.ids = ids;
+        this.state = state;
+    }
+
+    public long getStep() {
+        return step;
+    }
+
+    public double getTime() {
+        return time;
+    }
+
+    /**
+     * Get the recorded bodies (built on each call, for the API response).
+     */
+    public List<Map<String, Object>> getBodies() {
+        List<Map<String, Object>> bodies = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("id", ids[i]);
+            body.put("position", new double[]{state[4 * i], state[4 * i + 1]});
+            body.put("velocity", new double[]{state[4 * i + 2], state[4 * i + 3]});
+            bodies.add(body);
+        }
+        return bodies;
+    }
+}
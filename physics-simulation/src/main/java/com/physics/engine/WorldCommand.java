@@ -0,0 +1,20 @@
+package com.physics.engine;
+
+/**
+ * A change to a world, submitted to its command queue.
+ *
+ * Commands run one at a time on the thread that steps the world, between
+ * steps and with the world's lock held, so they see and leave a consistent
+ * state and are applied in the order they were submitted.
+ *
+ * @param <T> Result passed back to the submitter
+ */
+@FunctionalInterface
+public interface WorldCommand<T> {
+
+    /**
+     * @param world The world to change
+     * @return The result for the submitter (may be null)
+     */
+    T apply(PhysicsWorld world);
+}
@@ -0,0 +1,11 @@
+package com.physics.engine;
+
+/**
+ * Thrown when a request names a world that is not in the WorldRegistry.
+ */
+public class WorldNotFoundException extends RuntimeException {
+
+    public WorldNotFoundException(String id) {
+        super("World not found with ID: " + id);
+    }
+}
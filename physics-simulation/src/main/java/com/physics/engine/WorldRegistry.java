@@ -0,0 +1,144 @@
+package com.physics.engine;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Registry of the independent worlds hosted by this process.
+ *
+ * Every world is a WorldSession with its own ID, bodies, gravity and run
+ * state. The "default" world always exists; the unscoped API routes
+ * (/objects, /simulation, ...) operate on it, while /worlds/{id}/... routes
+ * operate on the named world. Running worlds are ticked by one shared
+ * TickScheduler.
+ */
+public class WorldRegistry {
+
+    // ID of the world used by the unscoped API routes
+    public static final String DEFAULT_WORLD = "default";
+
+    private static final Pattern ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final Map<String, WorldSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final TickScheduler scheduler;
+
+    // Loop settings of worlds created without their own
+    private final double defaultTickRate;
+    private final int defaultMaxCatchUpSteps;
+
+    /**
+     * Create the registry with its default world.
+     * @param tickRate Default steps per simulated second
+     * @param maxCatchUpSteps Default maximum catch-up steps before a loop drops its backlog
+     * @param schedulerThreads Number of threads ticking the worlds
+     * @param maxStepsPerSlice Maximum steps one world takes before yielding its thread
+     */
+    public WorldRegistry(double tickRate, int maxCatchUpSteps, int schedulerThreads, int maxStepsPerSlice) {
+        this.defaultTickRate = tickRate;
+        this.defaultMaxCatchUpSteps = maxCatchUpSteps;
+        this.scheduler = new TickScheduler(schedulerThreads, maxStepsPerSlice);
+        create(DEFAULT_WORLD, null, null);
+    }
+
+    /**
+     * Create a new, empty world.
+     * @param id World ID (null = generated)
+     * @param tickRate Steps per simulated second (null = default)
+     * @param maxCatchUpSteps Maximum catch-up steps before the loop drops its backlog (null = default)
+     * @return The new session
+     * @throws IllegalArgumentException if the ID is invalid or taken, or a loop setting is not positive
+     */
+    public WorldSession create(String id, Double tickRate, Integer maxCatchUpSteps) {
+        if (id != null && !ID_PATTERN.matcher(id).matches()) {
+            throw new IllegalArgumentException(
+                "World ID must be 1-64 letters, digits, '-' or '_': " + id);
+        }
+        double rate = tickRate != null ? tickRate : defaultTickRate;
+        int catchUp = maxCatchUpSteps != null ? maxCatchUpSteps : defaultMaxCatchUpSteps;
+
+        while (true) {
+            String worldId = id != null ? id : "world-" + nextId.getAndIncrement();
+            WorldSession session = new WorldSession(worldId, new PhysicsWorld(), scheduler, rate, catchUp);
+            if (sessions.putIfAbsent(worldId, session) == null) {
+                return session;
+            }
+            session.close();
+            if (id != null) {
+                throw new IllegalArgumentException("World already exists with ID: " + id);
+            }
+        }
+    }
+
+    /**
+     * Get a world's session.
+     * @param id World ID (null = default world)
+     * @throws WorldNotFoundException if there is no such world
+     */
+    public WorldSession get(String id) {
+        String worldId = id != null ? id : DEFAULT_WORLD;
+        WorldSession session = sessions.get(worldId);
+        if (session == null) {
+            throw new WorldNotFoundException(worldId);
+        }
+        return session;
+    }
+
+    /**
+     * Get a world.
+     * @param id World ID (null = default world)
+     * @throws WorldNotFoundException if there is no such world
+     */
+    public PhysicsWorld getWorld(String id) {
+        return get(id).getWorld();
+    }
+
+    /**
+     * Get all sessions, oldest first.
+     */
+    public List<WorldSession> list() {
+        List<WorldSession> result = new ArrayList<>(sessions.values());
+        result.sort(Comparator.comparing(WorldSession::getCreatedAt));
+        return result;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    public TickScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Destroy a world and unschedule its loop.
+     * @return false if there is no such world
+     * @throws IllegalArgumentException for the default world
+     */
+    public boolean destroy(String id) {
+        if (DEFAULT_WORLD.equals(id)) {
+            throw new IllegalArgumentException("The default world cannot be destroyed");
+        }
+        WorldSession session = sessions.remove(id);
+        if (session == null) {
+            return false;
+        }
+        session.close();
+        return true;
+    }
+
+    /**
+     * Pause all worlds and stop the scheduler (on application shutdown).
+     */
+    public void close() throws InterruptedException {
+        for (WorldSession session : sessions.values()) {
+            session.close();
+        }
+        scheduler.close();
+    }
+}
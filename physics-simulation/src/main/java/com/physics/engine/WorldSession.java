@@ -0,0 +1,89 @@
+package com.physics.engine;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One simulation session of the WorldRegistry: a PhysicsWorld with its own
+ * bodies, gravity and run state, and the fixed-timestep loop that steps it.
+ *
+ * The loop is ticked by the registry's shared TickScheduler while the world
+ * is running, so worlds cost no threads of their own.
+ */
+public class WorldSession {
+
+    private final String id;
+    private final PhysicsWorld world;
+    private final FixedTimestepLoop loop;
+    private final Instant createdAt;
+
+    /**
+     * @param id World ID
+     * @param world World stepped by this session
+     * @param scheduler Scheduler that ticks the world's loop
+     * @param tickRate Steps per simulated second
+     * @param maxCatchUpSteps Maximum steps taken to catch up in one loop iteration
+     */
+    public WorldSession(String id, PhysicsWorld world, TickScheduler scheduler,
+                        double tickRate, int maxCatchUpSteps) {
+        this.id = id;
+        this.world = world;
+        this.loop = new FixedTimestepLoop(world, scheduler, tickRate, maxCatchUpSteps);
+        this.createdAt = Instant.now();
+    }
+
+    /**
+     * Start the world and schedule its loop.
+     */
+    public void start() {
+        world.start();
+        loop.wakeUp();
+    }
+
+    public void pause() {
+        world.pause();
+    }
+
+    /**
+     * Pause the world, unschedule its loop and release its parallel step
+     * pool (when the world is destroyed).
+     */
+    public void close() {
+        world.pause();
+        loop.stop();
+        world.setParallelism(1, 0);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public PhysicsWorld getWorld() {
+        return world;
+    }
+
+    public FixedTimestepLoop getLoop() {
+        return loop;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Get a summary of the session (for API response).
+     */
+    public Map<String, Object> getSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("id", id);
+        summary.put("running", world.isRunning());
+        summary.put("bodies", world.getObjectCount());
+        summary.put("gravity", world.getGravity().toArray());
+        summary.put("tickRate", loop.getTickRate());
+        summary.put("lagMillis", loop.getLagMillis());
+        summary.put("missedDeadlines", loop.getMissedDeadlines());
+        summary.put("createdAt", createdAt.toString());
+        return summary;
+    }
+}
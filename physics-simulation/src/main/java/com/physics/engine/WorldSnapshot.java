@@ -0,0 +1,238 @@
+package com.physics.engine;
+
+import com.physics.model.BodyStore;
+import com.physics.model.CircleBody;
+import com.physics.model.PhysicsBody;
+import com.physics.model.RectangleBody;
+import com.physics.model.SquareBody;
+import com.physics.model.Vector2D;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable copy of a world's state at one version.
+ *
+ * PhysicsWorld publishes snapshots through a volatile reference, so read
+ * endpoints work on a consistent state without taking the world's lock or
+ * seeing a half-finished step. Body state is copied into primitive columns;
+ * the maps and body objects returned to callers are built on the reader's
+ * thread.
+ */
+public final class WorldSnapshot {
+
+    private final long version;
+    private final long stepCount;
+    private final boolean running;
+    private final double gravityX;
+    private final double gravityY;
+    private final String broadphase;
+
+    // Body columns, in store slot order
+    private final int count;
+    private final int[] ids;
+    private final String[] types;
+    private final double[] mass;
+    private final double[] posX;
+    private final double[] posY;
+    private final double[] velX;
+    private final double[] velY;
+    private final double[] extentX;
+    private final double[] extentY;
+    private final boolean[] fast;
+    private final boolean[] sleeping;
+    private final long[] modified;
+    private final int sleepingCount;
+
+    // Body ID pairs that collided in the last step, packed as [idA0, idB0, ...]
+    private final int[] collisionIds;
+
+    // Recently removed bodies, for change queries
+    private final RemovalLog removals;
+
+    // Position of each body ID in the columns, built on the first lookup
+    private volatile LongIntHashMap index;
+
+    /**
+     * Copy the state of a world. Called by PhysicsWorld with its lock held.
+     */
+    WorldSnapshot(long version, long stepCount, boolean running, Vector2D gravity, String broadphase,
+                  BodyStore store, int[] collisionIds, int collisionCount, RemovalLog removals) {
+        this.version = version;
+        this.stepCount = stepCount;
+        this.running = running;
+        this.gravityX = gravity.x;
+        this.gravityY = gravity.y;
+        this.broadphase = broadphase;
+        this.collisionIds = Arrays.copyOf(collisionIds, 2 * collisionCount);
+        this.removals = removals.copy();
+
+        int n = store.size();
+        this.count = n;
+        this.ids = new int[n];
+        this.types = new String[n];
+        this.mass = new double[n];
+        this.posX = new double[n];
+        this.posY = new double[n];
+        this.velX = new double[n];
+        this.velY = new double[n];
+        this.extentX = new double[n];
+        this.extentY = new double[n];
+        this.fast = new boolean[n];
+        this.sleeping = new boolean[n];
+        this.modified = new long[n];
+        int asleep = 0;
+        for (int i = 0; i < n; i++) {
+            ids[i] = store.getId(i);
+            types[i] = store.getBody(i).getType();
+            mass[i] = store.getMass(i);
+            posX[i] = store.getPosX(i);
+            posY[i] = store.getPosY(i);
+            velX[i] = store.getVelX(i);
+            velY[i] = store.getVelY(i);
+            extentX[i] = store.getExtentX(i);
+            extentY[i] = store.getExtentY(i);
+            fast[i] = store.isFast(i);
+            sleeping[i] = store.isSleeping(i);
+            modified[i] = store.getModified(i);
+            if (sleeping[i]) {
+                asleep++;
+            }
+        }
+        this.sleepingCount = asleep;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getStepCount() {
+        return stepCount;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public double[] getGravity() {
+        return new double[]{gravityX, gravityY};
+    }
+
+    public int getBodyCount() {
+        return count;
+    }
+
+    /**
+     * Get detached copies of the bodies. They are not part of any world and
+     * can be serialized, changed or added to another world freely.
+     */
+    public List<PhysicsBody> getBodies() {
+        List<PhysicsBody> bodies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            bodies.add(createBody(i));
+        }
+        return bodies;
+    }
+
+    /**
+     * Get a detached copy of one body.
+     */
+    public Optional<PhysicsBody> getBody(int id) {
+        LongIntHashMap byId = index;
+        if (byId == null) {
+            // Racing readers may each build one; any of them is correct
+            byId = new LongIntHashMap(count);
+            for (int i = 0; i < count; i++) {
+                byId.put(ids[i], i);
+            }
+            index = byId;
+        }
+        int i = byId.get(id, -1);
+        return i >= 0 ? Optional.of(createBody(i)) : Optional.empty();
+    }
+
+    private PhysicsBody createBody(int i) {
+        Vector2D position = new Vector2D(posX[i], posY[i]);
+        Vector2D velocity = new Vector2D(velX[i], velY[i]);
+        PhysicsBody body;
+        switch (types[i]) {
+            case "circle":
+                body = new CircleBody(ids[i], mass[i], position, velocity, extentX[i]);
+                break;
+            case "square":
+                body = new SquareBody(ids[i], mass[i], position, velocity, extentX[i]);
+                break;
+            default:
+                body = new RectangleBody(ids[i], mass[i], position, velocity, extentX[i], extentY[i]);
+                break;
+        }
+        body.setFast(fast[i]);
+        return body;
+    }
+
+    /**
+     * Get the state as a map (for API response).
+     */
+    public Map<String, Object> getState() {
+        Map<String, Object> state = buildState(-1);
+        state.put("version", version);
+        return state;
+    }
+
+    /**
+     * Get the state with only the bodies changed after a version the client
+     * already has, plus the IDs of bodies removed since. If the changes cannot
+     * be told apart (the world was reset, too many bodies were removed, or the
+     * version is unknown) every body is returned and "full" is true.
+     * @param since Version from an earlier state response
+     */
+    public Map<String, Object> getStateSince(long since) {
+        boolean full = since < removals.getHorizon() || since > version;
+        Map<String, Object> state = buildState(full ? -1 : since);
+        state.put("version", version);
+        state.put("since", since);
+        state.put("full", full);
+        state.put("removed", full ? List.of() : removals.removedSince(since));
+        return state;
+    }
+
+    /**
+     * Build the state, with the bodies changed after the given version (-1 = all).
+     */
+    private Map<String, Object> buildState(long since) {
+        Map<String, Object> state = new HashMap<>();
+
+        List<Map<String, Object>> bodiesState = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (since >= 0 && modified[i] <= since) {
+                continue;
+            }
+            Map<String, Object> bodyState = new HashMap<>();
+            bodyState.put("id", ids[i]);
+            bodyState.put("position", new double[]{posX[i], posY[i]});
+            bodyState.put("velocity", new double[]{velX[i], velY[i]});
+            bodyState.put("type", types[i]);
+            bodyState.put("sleeping", sleeping[i]);
+            bodiesState.add(bodyState);
+        }
+
+        List<int[]> collisions = new ArrayList<>(collisionIds.length / 2);
+        for (int k = 0; k < collisionIds.length; k += 2) {
+            collisions.add(new int[]{collisionIds[k], collisionIds[k + 1]});
+        }
+
+        state.put("bodies", bodiesState);
+        state.put("running", running);
+        state.put("gravity", getGravity());
+        state.put("collisions", collisions);
+        state.put("broadphase", broadphase);
+        state.put("awake", count - sleepingCount);
+        state.put("sleeping", sleepingCount);
+
+        return state;
+    }
+}
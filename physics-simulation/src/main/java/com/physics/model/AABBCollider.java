@@ -57,7 +57,38 @@ public class AABBCollider extends Collider {
 
     @Override
     public void updatePosition(Vector2D position) {
-        this.position = new Vector2D(position);
+        this.position.x = position.x;
+        this.position.y = position.y;
+    }
+
+    @Override
+    @JsonIgnore
+    public double getMinX() {
+        return position.x;
+    }
+
+    @Override
+    @JsonIgnore
+    public double getMinY() {
+        return position.y;
+    }
+
+    @Override
+    @JsonIgnore
+    public double getMaxX() {
+        return position.x + width;
+    }
+
+    @Override
+    @JsonIgnore
+    public double getMaxY() {
+        return position.y + height;
+    }
+
+    @Override
+    public boolean containsPoint(double x, double y) {
+        return x >= position.x && x <= position.x + width
+            && y >= position.y && y <= position.y + height;
     }
 
     @Override
@@ -96,94 +127,42 @@ public class AABBCollider extends Collider {
         double closestX = Math.max(aabb.position.x, Math.min(circle.getCenter().x, aabb.position.x + aabb.width));
         double closestY = Math.max(aabb.position.y, Math.min(circle.getCenter().y, aabb.position.y + aabb.height));
 
-        Vector2D closestPoint = new Vector2D(closestX, closestY);
-        double distance = closestPoint.distance(circle.getCenter());
+        double dx = closestX - circle.getCenter().x;
+        double dy = closestY - circle.getCenter().y;
+        double distance = Math.sqrt(dx * dx + dy * dy);
         return distance < circle.getRadius();
     }
 
     @Override
     public void resolveCollision(PhysicsBody bodyA, PhysicsBody bodyB) {
-        Vector2D posA = bodyA.getPosition();
-        Vector2D posB = bodyB.getPosition();
-        Vector2D velA = bodyA.getVelocity();
-        Vector2D velB = bodyB.getVelocity();
-        double massA = bodyA.getMass();
-        double massB = bodyB.getMass();
-
-        // Calculate collision normal (from A to B)
-        Vector2D normal;
+        BodyStore storeA = bodyA.getStore();
+        BodyStore storeB = bodyB.getStore();
+        double posAX = storeA.getPosX(bodyA.getSlot());
+        double posAY = storeA.getPosY(bodyA.getSlot());
+        double posBX = storeB.getPosX(bodyB.getSlot());
+        double posBY = storeB.getPosY(bodyB.getSlot());
+
+        // Size of B (another box may differ in size from this one)
+        boolean boxB = storeB.getShape(bodyB.getSlot()) == BodyStore.SHAPE_BOX;
+        double widthB = boxB ? storeB.getExtentX(bodyB.getSlot()) : width;
+        double heightB = boxB ? storeB.getExtentY(bodyB.getSlot()) : height;
 
         // Find the overlap direction
-        double overlapX = (posA.x + width) - posB.x;
-        if (Math.abs(overlapX) > Math.abs(posA.x - (posB.x + width))) {
-            overlapX = posA.x - (posB.x + width);
+        double overlapX = (posAX + width) - posBX;
+        if (Math.abs(overlapX) > Math.abs(posAX - (posBX + widthB))) {
+            overlapX = posAX - (posBX + widthB);
         }
 
-        double overlapY = (posA.y + height) - posB.y;
-        if (Math.abs(overlapY) > Math.abs(posA.y - (posB.y + height))) {
-            overlapY = posA.y - (posB.y + height);
+        double overlapY = (posAY + height) - posBY;
+        if (Math.abs(overlapY) > Math.abs(posAY - (posBY + heightB))) {
+            overlapY = posAY - (posBY + heightB);
         }
 
-        // Use the smallest overlap to determine collision normal
+        // Use the smallest overlap to determine collision normal (from A to B)
         if (Math.abs(overlapX) < Math.abs(overlapY)) {
-            normal = new Vector2D(overlapX > 0 ? 1.0 : -1.0, 0.0);
+            applyContactImpulse(bodyA, bodyB, overlapX > 0 ? 1.0 : -1.0, 0.0);
         } else {
-            normal = new Vector2D(0.0, overlapY > 0 ? 1.0 : -1.0);
-        }
-
-        // Calculate relative velocity
-        Vector2D relativeVel = velB.subtract(velA);
-        double velocityAlongNormal = relativeVel.dot(normal);
-
-        // Don't resolve if objects are moving apart
-        if (velocityAlongNormal > 0) {
-            return;
-        }
-
-        // Coefficient of restitution (elasticity)
-        double e = 0.8;
-
-        // Calculate impulse scalar (with division by zero protection)
-        double invMassSum = 0.0;
-        if (massA > 0) invMassSum += 1.0 / massA;
-        if (massB > 0) invMassSum += 1.0 / massB;
-        
-        if (invMassSum == 0) return;
-
-        double j = -(1.0 + e) * velocityAlongNormal;
-        j /= invMassSum;
-
-        // Apply impulse
-        Vector2D impulse = normal.multiply(j);
-        if (massA > 0) {
-            bodyA.setVelocity(velA.subtract(impulse.divide(massA)));
-        }
-        if (massB > 0) {
-            bodyB.setVelocity(velB.add(impulse.divide(massB)));
-        }
-
-        // Apply friction
-        double friction = 0.2;
-        Vector2D tangent = relativeVel.subtract(normal.multiply(velocityAlongNormal));
-        if (tangent.lengthSquared() > 0.0001) {
-            tangent = tangent.normalized();
-            double jt = -relativeVel.dot(tangent);
-            jt /= invMassSum;
-
-            // Clamp friction
-            Vector2D frictionImpulse;
-            if (Math.abs(jt) < j * friction) {
-                frictionImpulse = tangent.multiply(jt);
-            } else {
-                frictionImpulse = tangent.multiply(-j * friction);
-            }
-
-            if (massA > 0) {
-                bodyA.setVelocity(bodyA.getVelocity().subtract(frictionImpulse.divide(massA)));
-            }
-            if (massB > 0) {
-                bodyB.setVelocity(bodyB.getVelocity().add(frictionImpulse.divide(massB)));
-            }
+            applyContactImpulse(bodyA, bodyB, 0.0, overlapY > 0 ? 1.0 : -1.0);
         }
     }
 }
@@ -0,0 +1,611 @@
+package com.physics.model;
+
+import java.util.Arrays;
+
+/**
+ * Structure-of-arrays storage for physics body state.
+ *
+ * Position, velocity, accumulated force, mass and shape parameters of every
+ * body are kept in parallel primitive columns indexed by slot. PhysicsBody is
+ * a lightweight view over one slot, so the step loop (force accumulation,
+ * integration and bounds computation) runs over contiguous arrays instead of
+ * chasing Vector2D objects across the heap.
+ *
+ * Slots are dense: removing a body moves the last body into the freed slot.
+ * A body that is not part of a world lives in a private single-slot store,
+ * or in a detached store shared with other bodies removed from the same
+ * store (so removals do not allocate a store each).
+ */
+public class BodyStore {
+
+    // Shape codes for the shape column
+    public static final int SHAPE_NONE = 0;
+    public static final int SHAPE_CIRCLE = 1;
+    public static final int SHAPE_BOX = 2;
+
+    // Number of removed bodies that share one detached store
+    private static final int DETACHED_CAPACITY = 256;
+
+    private int count;
+    private PhysicsBody[] bodies;
+    private int[] ids;
+    private double[] posX;
+    private double[] posY;
+    private double[] velX;
+    private double[] velY;
+    private double[] forceX;
+    private double[] forceY;
+    private double[] customForceX;  // Persistent user force, added every step
+    private double[] customForceY;
+    private double[] mass;
+    private double[] invMass;
+    private int[] shape;
+    private double[] extentX;   // Circle: radius, box: width
+    private double[] extentY;   // Circle: radius, box: height
+    private boolean[] sleeping;
+    private int[] restSteps;    // Consecutive steps below the sleep velocity
+    private int[] island;       // Island ID shared by bodies put to sleep together
+    private boolean[] fast;     // Swept against other bodies each step (continuous collision detection)
+    private long[] modified;    // World version at which the slot's state last changed
+
+    // Store that removed bodies are moved to until it is full
+    private BodyStore detached;
+
+    public BodyStore() {
+        this(16);
+    }
+
+    public BodyStore(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        this.bodies = new PhysicsBody[capacity];
+        this.ids = new int[capacity];
+        this.posX = new double[capacity];
+        this.posY = new double[capacity];
+        this.velX = new double[capacity];
+        this.velY = new double[capacity];
+        this.forceX = new double[capacity];
+        this.forceY = new double[capacity];
+        this.customForceX = new double[capacity];
+        this.customForceY = new double[capacity];
+        this.mass = new double[capacity];
+        this.invMass = new double[capacity];
+        this.shape = new int[capacity];
+        this.extentX = new double[capacity];
+        this.extentY = new double[capacity];
+        this.sleeping = new boolean[capacity];
+        this.restSteps = new int[capacity];
+        this.island = new int[capacity];
+        this.fast = new boolean[capacity];
+        this.modified = new long[capacity];
+    }
+
+    /**
+     * Add a body to this store, moving its state out of the store it is currently bound to.
+     * @return The slot assigned to the body
+     */
+    public int add(PhysicsBody body) {
+        ensureCapacity(count + 1);
+        int slot = count++;
+        bodies[slot] = body;
+        if (body.store != null) {
+            copySlot(body.store, body.slot, slot);
+        } else {
+            // A new body: the slot may still hold the state of a removed one
+            clearSlot(slot);
+        }
+        body.bind(this, slot);
+        return slot;
+    }
+
+    /**
+     * Remove the body in a slot. The body keeps its state in a detached store
+     * shared with the next bodies removed from this one, and the last body in
+     * this store is moved into the freed slot.
+     */
+    public void remove(int slot) {
+        PhysicsBody body = bodies[slot];
+        if (detached == null || detached.count == detached.bodies.length) {
+            detached = new BodyStore(DETACHED_CAPACITY);
+        }
+        detached.add(body);
+
+        int last = --count;
+        if (slot != last) {
+            copySlot(this, last, slot);
+            bodies[slot] = bodies[last];
+            bodies[slot].bind(this, slot);
+        }
+        bodies[last] = null;
+    }
+
+    /**
+     * Remove every body. The current columns are handed to one store shared
+     * by the removed bodies, which keep their state there, and this store
+     * starts over with empty columns of the same capacity.
+     */
+    public void clear() {
+        if (count > 0) {
+            swap(new BodyStore(bodies.length));
+        }
+    }
+
+    /**
+     * Empty a staging store whose bodies have all been added to another store
+     * since, so its slots can be reused without allocating.
+     * @throws IllegalStateException if a body still lives in this store
+     */
+    public void clearMoved() {
+        for (int i = 0; i < count; i++) {
+            if (bodies[i].store == this) {
+                throw new IllegalStateException("Body " + ids[i] + " still lives in this store");
+            }
+        }
+        Arrays.fill(bodies, 0, count, null);
+        count = 0;
+    }
+
+    /**
+     * Grow the columns to hold at least the given number of bodies.
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity <= bodies.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, bodies.length * 2);
+        bodies = Arrays.copyOf(bodies, newCapacity);
+        ids = Arrays.copyOf(ids, newCapacity);
+        posX = Arrays.copyOf(posX, newCapacity);
+        posY = Arrays.copyOf(posY, newCapacity);
+        velX = Arrays.copyOf(velX, newCapacity);
+        velY = Arrays.copyOf(velY, newCapacity);
+        forceX = Arrays.copyOf(forceX, newCapacity);
+        forceY = Arrays.copyOf(forceY, newCapacity);
+        customForceX = Arrays.copyOf(customForceX, newCapacity);
+        customForceY = Arrays.copyOf(customForceY, newCapacity);
+        mass = Arrays.copyOf(mass, newCapacity);
+        invMass = Arrays.copyOf(invMass, newCapacity);
+        shape = Arrays.copyOf(shape, newCapacity);
+        extentX = Arrays.copyOf(extentX, newCapacity);
+        extentY = Arrays.copyOf(extentY, newCapacity);
+        sleeping = Arrays.copyOf(sleeping, newCapacity);
+        restSteps = Arrays.copyOf(restSteps, newCapacity);
+        island = Arrays.copyOf(island, newCapacity);
+        fast = Arrays.copyOf(fast, newCapacity);
+        modified = Arrays.copyOf(modified, newCapacity);
+    }
+
+    /**
+     * Exchange the contents of this store with another one: the column arrays
+     * are swapped, not copied, and the body views are rebound. Used to install
+     * bodies that were built in a staging store in one step.
+     */
+    public void swap(BodyStore other) {
+        int countSwap = count;
+        count = other.count;
+        other.count = countSwap;
+        PhysicsBody[] bodiesSwap = bodies;
+        bodies = other.bodies;
+        other.bodies = bodiesSwap;
+        int[] idsSwap = ids;
+        ids = other.ids;
+        other.ids = idsSwap;
+        double[] posXSwap = posX;
+        posX = other.posX;
+        other.posX = posXSwap;
+        double[] posYSwap = posY;
+        posY = other.posY;
+        other.posY = posYSwap;
+        double[] velXSwap = velX;
+        velX = other.velX;
+        other.velX = velXSwap;
+        double[] velYSwap = velY;
+        velY = other.velY;
+        other.velY = velYSwap;
+        double[] forceXSwap = forceX;
+        forceX = other.forceX;
+        other.forceX = forceXSwap;
+        double[] forceYSwap = forceY;
+        forceY = other.forceY;
+        other.forceY = forceYSwap;
+        double[] customForceXSwap = customForceX;
+        customForceX = other.customForceX;
+        other.customForceX = customForceXSwap;
+        double[] customForceYSwap = customForceY;
+        customForceY = other.customForceY;
+        other.customForceY = customForceYSwap;
+        double[] massSwap = mass;
+        mass = other.mass;
+        other.mass = massSwap;
+        double[] invMassSwap = invMass;
+        invMass = other.invMass;
+        other.invMass = invMassSwap;
+        int[] shapeSwap = shape;
+        shape = other.shape;
+        other.shape = shapeSwap;
+        double[] extentXSwap = extentX;
+        extentX = other.extentX;
+        other.extentX = extentXSwap;
+        double[] extentYSwap = extentY;
+        extentY = other.extentY;
+        other.extentY = extentYSwap;
+        boolean[] sleepingSwap = sleeping;
+        sleeping = other.sleeping;
+        other.sleeping = sleepingSwap;
+        int[] restStepsSwap = restSteps;
+        restSteps = other.restSteps;
+        other.restSteps = restStepsSwap;
+        int[] islandSwap = island;
+        island = other.island;
+        other.island = islandSwap;
+        boolean[] fastSwap = fast;
+        fast = other.fast;
+        other.fast = fastSwap;
+        long[] modifiedSwap = modified;
+        modified = other.modified;
+        other.modified = modifiedSwap;
+        rebind();
+        other.rebind();
+    }
+
+    private void rebind() {
+        for (int i = 0; i < count; i++) {
+            bodies[i].bind(this, i);
+        }
+    }
+
+    private void clearSlot(int slot) {
+        ids[slot] = 0;
+        posX[slot] = 0;
+        posY[slot] = 0;
+        velX[slot] = 0;
+        velY[slot] = 0;
+        forceX[slot] = 0;
+        forceY[slot] = 0;
+        customForceX[slot] = 0;
+        customForceY[slot] = 0;
+        mass[slot] = 0;
+        invMass[slot] = 0;
+        shape[slot] = 0;
+        extentX[slot] = 0;
+        extentY[slot] = 0;
+        sleeping[slot] = false;
+        restSteps[slot] = 0;
+        island[slot] = 0;
+        fast[slot] = false;
+        modified[slot] = 0;
+    }
+
+    private void copySlot(BodyStore from, int fromSlot, int toSlot) {
+        ids[toSlot] = from.ids[fromSlot];
+        posX[toSlot] = from.posX[fromSlot];
+        posY[toSlot] = from.posY[fromSlot];
+        velX[toSlot] = from.velX[fromSlot];
+        velY[toSlot] = from.velY[fromSlot];
+        forceX[toSlot] = from.forceX[fromSlot];
+        forceY[toSlot] = from.forceY[fromSlot];
+        customForceX[toSlot] = from.customForceX[fromSlot];
+        customForceY[toSlot] = from.customForceY[fromSlot];
+        mass[toSlot] = from.mass[fromSlot];
+        invMass[toSlot] = from.invMass[fromSlot];
+        shape[toSlot] = from.shape[fromSlot];
+        extentX[toSlot] = from.extentX[fromSlot];
+        extentY[toSlot] = from.extentY[fromSlot];
+        sleeping[toSlot] = from.sleeping[fromSlot];
+        restSteps[toSlot] = from.restSteps[fromSlot];
+        island[toSlot] = from.island[fromSlot];
+        fast[toSlot] = from.fast[fromSlot];
+        modified[toSlot] = from.modified[fromSlot];
+    }
+
+    // Bulk kernels used by the step loop. The range variants touch only slots
+    // [from, to), so disjoint ranges can run on different threads. Sleeping
+    // bodies are skipped.
+
+    /**
+     * Clear the accumulated force of every body.
+     */
+    public void resetForces() {
+        resetForces(0, count);
+    }
+
+    public void resetForces(int from, int to) {
+        // Sleeping bodies keep zero force, so clearing them too is harmless
+        Arrays.fill(forceX, from, to, 0.0);
+        Arrays.fill(forceY, from, to, 0.0);
+    }
+
+    /**
+     * Add the gravity force (g * mass, for bodies with positive mass) and the
+     * custom force of every body, in one pass over the columns.
+     */
+    public void applyForces(double gravityX, double gravityY) {
+        applyForces(0, count, gravityX, gravityY);
+    }
+
+    public void applyForces(int from, int to, double gravityX, double gravityY) {
+        for (int i = from; i < to; i++) {
+            if (sleeping[i]) {
+                continue;
+            }
+            double m = mass[i];
+            double g = m > 0 ? m : 0.0;
+            forceX[i] += gravityX * g + customForceX[i];
+            forceY[i] += gravityY * g + customForceY[i];
+        }
+    }
+
+    /**
+     * Semi-implicit Euler integration of every body:
+     * v += (F / m) * dt, then x += v * dt.
+     */
+    public void integrate(double deltaTime) {
+        integrate(0, count, deltaTime);
+    }
+
+    public void integrate(int from, int to, double deltaTime) {
+        for (int i = from; i < to; i++) {
+            if (sleeping[i]) {
+                continue;
+            }
+            double im = invMass[i];
+            velX[i] += forceX[i] * im * deltaTime;
+            velY[i] += forceY[i] * im * deltaTime;
+            posX[i] += velX[i] * deltaTime;
+            posY[i] += velY[i] * deltaTime;
+        }
+    }
+
+    /**
+     * Integrate a single slot (used by PhysicsBody.update).
+     */
+    public void integrate(int slot, double deltaTime) {
+        double im = invMass[slot];
+        velX[slot] += forceX[slot] * im * deltaTime;
+        velY[slot] += forceY[slot] * im * deltaTime;
+        posX[slot] += velX[slot] * deltaTime;
+        posY[slot] += velY[slot] * deltaTime;
+    }
+
+    // Per-slot accessors
+
+    public int size() {
+        return count;
+    }
+
+    public PhysicsBody getBody(int slot) {
+        return bodies[slot];
+    }
+
+    public int getId(int slot) {
+        return ids[slot];
+    }
+
+    public void setId(int slot, int id) {
+        ids[slot] = id;
+    }
+
+    public double getPosX(int slot) {
+        return posX[slot];
+    }
+
+    public double getPosY(int slot) {
+        return posY[slot];
+    }
+
+    public void setPosition(int slot, double x, double y) {
+        posX[slot] = x;
+        posY[slot] = y;
+    }
+
+    public void translate(int slot, double dx, double dy) {
+        posX[slot] += dx;
+        posY[slot] += dy;
+    }
+
+    public double getVelX(int slot) {
+        return velX[slot];
+    }
+
+    public double getVelY(int slot) {
+        return velY[slot];
+    }
+
+    public void setVelocity(int slot, double x, double y) {
+        velX[slot] = x;
+        velY[slot] = y;
+    }
+
+    public double getForceX(int slot) {
+        return forceX[slot];
+    }
+
+    public double getForceY(int slot) {
+        return forceY[slot];
+    }
+
+    public void setForce(int slot, double x, double y) {
+        forceX[slot] = x;
+        forceY[slot] = y;
+    }
+
+    public void addForce(int slot, double x, double y) {
+        forceX[slot] += x;
+        forceY[slot] += y;
+    }
+
+    public double getCustomForceX(int slot) {
+        return customForceX[slot];
+    }
+
+    public double getCustomForceY(int slot) {
+        return customForceY[slot];
+    }
+
+    /**
+     * Set the force added to a slot on every step until it is changed (0, 0 = none).
+     */
+    public void setCustomForce(int slot, double x, double y) {
+        customForceX[slot] = x;
+        customForceY[slot] = y;
+    }
+
+    public double getMass(int slot) {
+        return mass[slot];
+    }
+
+    public double getInvMass(int slot) {
+        return invMass[slot];
+    }
+
+    /**
+     * Set the mass of a slot. Bodies with zero or negative mass get an inverse
+     * mass of 0 and are not accelerated by forces.
+     */
+    public void setMass(int slot, double m) {
+        mass[slot] = m;
+        invMass[slot] = m > 0 ? 1.0 / m : 0.0;
+    }
+
+    public int getShape(int slot) {
+        return shape[slot];
+    }
+
+    public double getExtentX(int slot) {
+        return extentX[slot];
+    }
+
+    public double getExtentY(int slot) {
+        return extentY[slot];
+    }
+
+    /**
+     * Set the shape of a slot.
+     * @param shapeCode SHAPE_CIRCLE (extents = radius) or SHAPE_BOX (extents = width, height)
+     */
+    public void setShape(int slot, int shapeCode, double extentX, double extentY) {
+        this.shape[slot] = shapeCode;
+        this.extentX[slot] = extentX;
+        this.extentY[slot] = extentY;
+    }
+
+    public boolean isFast(int slot) {
+        return fast[slot];
+    }
+
+    public void setFast(int slot, boolean fast) {
+        this.fast[slot] = fast;
+    }
+
+    // Change tracking
+
+    public long getModified(int slot) {
+        return modified[slot];
+    }
+
+    public void setModified(int slot, long version) {
+        modified[slot] = version;
+    }
+
+    /**
+     * Stamp every slot that may have moved in a step (awake, and either
+     * dynamic or moving) with the given world version.
+     */
+    public void markAwake(long version) {
+        for (int i = 0; i < count; i++) {
+            if (!sleeping[i] && (invMass[i] != 0 || velX[i] != 0 || velY[i] != 0)) {
+                modified[i] = version;
+            }
+        }
+    }
+
+    // Sleep state
+
+    public boolean isSleeping(int slot) {
+        return sleeping[slot];
+    }
+
+    /**
+     * Put a slot to sleep as part of an island: velocity and force are cleared
+     * so the body stays exactly where it came to rest.
+     */
+    public void sleep(int slot, int islandId) {
+        sleeping[slot] = true;
+        island[slot] = islandId;
+        velX[slot] = 0;
+        velY[slot] = 0;
+        forceX[slot] = 0;
+        forceY[slot] = 0;
+    }
+
+    /**
+     * Wake a slot and restart its rest counter.
+     */
+    public void wake(int slot) {
+        sleeping[slot] = false;
+        restSteps[slot] = 0;
+    }
+
+    public int getIsland(int slot) {
+        return island[slot];
+    }
+
+    public int getRestSteps(int slot) {
+        return restSteps[slot];
+    }
+
+    /**
+     * Update the rest counter of every awake body: counts consecutive steps with
+     * speed below the threshold and resets when the body moves faster.
+     * @return The largest rest counter of any awake dynamic body
+     */
+    public int updateRestSteps(double speedThreshold) {
+        double thresholdSquared = speedThreshold * speedThreshold;
+        int maxRest = 0;
+        for (int i = 0; i < count; i++) {
+            if (sleeping[i] || invMass[i] == 0) {
+                continue;
+            }
+            if (velX[i] * velX[i] + velY[i] * velY[i] < thresholdSquared) {
+                restSteps[i]++;
+                maxRest = Math.max(maxRest, restSteps[i]);
+            } else {
+                restSteps[i] = 0;
+            }
+        }
+        return maxRest;
+    }
+
+    // Axis-aligned bounds derived from the shape columns (empty for SHAPE_NONE)
+
+    public double getMinX(int slot) {
+        switch (shape[slot]) {
+            case SHAPE_CIRCLE: return posX[slot] - extentX[slot];
+            case SHAPE_BOX: return posX[slot];
+            default: return Double.POSITIVE_INFINITY;
+        }
+    }
+
+    public double getMinY(int slot) {
+        switch (shape[slot]) {
+            case SHAPE_CIRCLE: return posY[slot] - extentY[slot];
+            case SHAPE_BOX: return posY[slot];
+            default: return Double.POSITIVE_INFINITY;
+        }
+    }
+
+    public double getMaxX(int slot) {
+        switch (shape[slot]) {
+            case SHAPE_CIRCLE:
+            case SHAPE_BOX: return posX[slot] + extentX[slot];
+            default: return Double.NEGATIVE_INFINITY;
+        }
+    }
+
+    public double getMaxY(int slot) {
+        switch (shape[slot]) {
+            case SHAPE_CIRCLE:
+            case SHAPE_BOX: return posY[slot] + extentY[slot];
+            default: return Double.NEGATIVE_INFINITY;
+        }
+    }
+}
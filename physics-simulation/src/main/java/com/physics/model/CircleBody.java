@@ -24,13 +24,23 @@ public class CircleBody extends PhysicsBody {
      * Converted from C++ Circle constructor.
      */
     public CircleBody(int id, double mass, Vector2D position, Vector2D velocity, double radius) {
-        super(id, mass, position, velocity);
+        this(new BodyStore(1), id, mass, position, velocity, radius);
+    }
+
+    /**
+     * Constructor for a Circle body whose state is put in a slot of the given store.
+     */
+    public CircleBody(BodyStore store, int id, double mass, Vector2D position, Vector2D velocity, double radius) {
+        super(store, id, mass, position, velocity);
         this.radius = radius;
         initCollider();
     }
 
     private void initCollider() {
-        this.collider = new CircleCollider(position, radius);
+        CircleCollider circle = new CircleCollider(position, radius);
+        circle.setCenter(position);  // Share the body's position vector
+        this.collider = circle;
+        store.setShape(slot, BodyStore.SHAPE_CIRCLE, radius, radius);
     }
 
     // Getters and Setters
@@ -40,6 +50,7 @@ public class CircleBody extends PhysicsBody {
 
     public void setRadius(double radius) {
         this.radius = radius;
+        store.setShape(slot, BodyStore.SHAPE_CIRCLE, radius, radius);
         // Update collider when radius changes
         if (collider instanceof CircleCollider) {
             ((CircleCollider) collider).setRadius(radius);
@@ -58,6 +69,13 @@ public class CircleBody extends PhysicsBody {
         return "circle";
     }
 
+    @Override
+    public CircleBody copy() {
+        CircleBody copy = new CircleBody(getId(), getMass(), getPosition(), getVelocity(), radius);
+        copy.setFast(isFast());
+        return copy;
+    }
+
     @Override
     public void setPosition(Vector2D position) {
         super.setPosition(position);
@@ -69,6 +87,6 @@ public class CircleBody extends PhysicsBody {
     @Override
     public String toString() {
         return String.format("CircleBody[id=%d, mass=%.2f, pos=%s, vel=%s, radius=%.2f]",
-            id, mass, position, velocity, radius);
+            getId(), getMass(), getPosition(), getVelocity(), radius);
     }
 }
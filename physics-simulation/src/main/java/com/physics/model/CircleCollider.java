@@ -44,7 +44,39 @@ public class CircleCollider extends Collider {
 
     @Override
     public void updatePosition(Vector2D position) {
-        this.center = new Vector2D(position);
+        center.x = position.x;
+        center.y = position.y;
+    }
+
+    @Override
+    @JsonIgnore
+    public double getMinX() {
+        return center.x - radius;
+    }
+
+    @Override
+    @JsonIgnore
+    public double getMinY() {
+        return center.y - radius;
+    }
+
+    @Override
+    @JsonIgnore
+    public double getMaxX() {
+        return center.x + radius;
+    }
+
+    @Override
+    @JsonIgnore
+    public double getMaxY() {
+        return center.y + radius;
+    }
+
+    @Override
+    public boolean containsPoint(double x, double y) {
+        double dx = x - center.x;
+        double dy = y - center.y;
+        return dx * dx + dy * dy <= radius * radius;
     }
 
     @Override
@@ -68,78 +100,29 @@ public class CircleCollider extends Collider {
      * Converted from C++ checkCircleCollision function
      */
     private boolean checkCircleCollision(CircleCollider other) {
-        double distance = center.subtract(other.center).length();
+        double dx = center.x - other.center.x;
+        double dy = center.y - other.center.y;
+        double distance = Math.sqrt(dx * dx + dy * dy);
         return distance < (radius + other.radius);
     }
 
     @Override
     public void resolveCollision(PhysicsBody bodyA, PhysicsBody bodyB) {
-        Vector2D posA = bodyA.getPosition();
-        Vector2D posB = bodyB.getPosition();
-        Vector2D velA = bodyA.getVelocity();
-        Vector2D velB = bodyB.getVelocity();
-        double massA = bodyA.getMass();
-        double massB = bodyB.getMass();
+        BodyStore storeA = bodyA.getStore();
+        BodyStore storeB = bodyB.getStore();
 
         // Calculate collision normal
-        Vector2D diff = posB.subtract(posA);
-        if (diff.lengthSquared() < 0.0001) {
+        double normalX = storeB.getPosX(bodyB.getSlot()) - storeA.getPosX(bodyA.getSlot());
+        double normalY = storeB.getPosY(bodyB.getSlot()) - storeA.getPosY(bodyA.getSlot());
+        if (normalX * normalX + normalY * normalY < 0.0001) {
             // Objects at same position, use default normal
-            diff = new Vector2D(1, 0);
-        }
-        Vector2D normal = diff.normalized();
-        Vector2D relativeVel = velB.subtract(velA);
-
-        double velocityAlongNormal = relativeVel.dot(normal);
-
-        // Don't resolve if objects are moving apart
-        if (velocityAlongNormal > 0) {
-            return;
+            normalX = 1;
+            normalY = 0;
         }
+        double length = Math.sqrt(normalX * normalX + normalY * normalY);
+        normalX /= length;
+        normalY /= length;
 
-        // Coefficient of restitution (elasticity)
-        double e = 0.8;
-
-        // Calculate impulse scalar (with division by zero protection)
-        double invMassSum = 0.0;
-        if (massA > 0) invMassSum += 1.0 / massA;
-        if (massB > 0) invMassSum += 1.0 / massB;
-        
-        if (invMassSum == 0) return;
-
-        double j = -(1.0 + e) * velocityAlongNormal;
-        j /= invMassSum;
-
-        // Apply impulse
-        Vector2D impulse = normal.multiply(j);
-        if (massA > 0) {
-            bodyA.setVelocity(velA.subtract(impulse.divide(massA)));
-        }
-        if (massB > 0) {
-            bodyB.setVelocity(velB.add(impulse.divide(massB)));
-        }
-
-        // Apply friction (similar to AABB collision)
-        double friction = 0.2;
-        Vector2D tangent = relativeVel.subtract(normal.multiply(velocityAlongNormal));
-        if (tangent.lengthSquared() > 0.0001) {
-            tangent = tangent.normalized();
-            double jt = -relativeVel.dot(tangent);
-            jt /= invMassSum;
-
-            Vector2D frictionImpulse;
-            if (Math.abs(jt) < j * friction) {
-                frictionImpulse = tangent.multiply(jt);
-            } else {
-                frictionImpulse = tangent.multiply(-j * friction);
-            }
-
-            if (massA > 0) {
-                bodyA.setVelocity(bodyA.getVelocity().subtract(frictionImpulse.divide(massA)));
-            }
-            if (massB > 0) {
-                bodyB.setVelocity(bodyB.getVelocity().add(frictionImpulse.divide(massB)));
-            }
-        }
+        applyContactImpulse(bodyA, bodyB, normalX, normalY);
     }
 }
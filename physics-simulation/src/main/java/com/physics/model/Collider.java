@@ -14,6 +14,12 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
     @JsonSubTypes.Type(value = CircleCollider.class, name = "circle")
 })
 public abstract class Collider {
+
+    // Coefficient of restitution (elasticity) of contacts
+    public static final double RESTITUTION = 0.8;
+
+    // Coefficient of friction of contacts
+    public static final double FRICTION = 0.2;
     
     /**
      * Check if this collider overlaps with another collider.
@@ -35,10 +41,131 @@ public abstract class Collider {
      */
     public abstract void updatePosition(Vector2D position);
     
+    /**
+     * Get the left edge of the collider's axis-aligned bounds.
+     * Used by the broadphase to cull pairs before the narrowphase check.
+     */
+    @JsonIgnore
+    public abstract double getMinX();
+    
+    /**
+     * Get the top edge of the collider's axis-aligned bounds.
+     */
+    @JsonIgnore
+    public abstract double getMinY();
+    
+    /**
+     * Get the right edge of the collider's axis-aligned bounds.
+     */
+    @JsonIgnore
+    public abstract double getMaxX();
+    
+    /**
+     * Get the bottom edge of the collider's axis-aligned bounds.
+     */
+    @JsonIgnore
+    public abstract double getMaxY();
+    
+    /**
+     * Check if a point lies inside this collider.
+     * @param x Point x coordinate
+     * @param y Point y coordinate
+     * @return true if the point is inside or on the boundary
+     */
+    public abstract boolean containsPoint(double x, double y);
+    
     /**
      * Get the collider type as string.
      * @return collider type
      */
     @JsonIgnore
     public abstract String getColliderType();
+
+    /**
+     * Apply the restitution and friction impulses for a contact along a unit
+     * normal pointing from A to B. Works directly on the bodies' store columns
+     * so resolving a contact does not allocate.
+     */
+    protected static void applyContactImpulse(PhysicsBody bodyA, PhysicsBody bodyB, double normalX, double normalY) {
+        BodyStore storeA = bodyA.getStore();
+        BodyStore storeB = bodyB.getStore();
+        int a = bodyA.getSlot();
+        int b = bodyB.getSlot();
+        double massA = storeA.getMass(a);
+        double massB = storeB.getMass(b);
+        double velAX = storeA.getVelX(a);
+        double velAY = storeA.getVelY(a);
+        double velBX = storeB.getVelX(b);
+        double velBY = storeB.getVelY(b);
+
+        // Calculate relative velocity
+        double relVelX = velBX - velAX;
+        double relVelY = velBY - velAY;
+        double velocityAlongNormal = relVelX * normalX + relVelY * normalY;
+
+        // Don't resolve if objects are moving apart
+        if (velocityAlongNormal > 0) {
+            return;
+        }
+
+        double e = RESTITUTION;
+
+        // Calculate impulse scalar (with division by zero protection)
+        double invMassSum = 0.0;
+        if (massA > 0) invMassSum += 1.0 / massA;
+        if (massB > 0) invMassSum += 1.0 / massB;
+
+        if (invMassSum == 0) return;
+
+        double j = -(1.0 + e) * velocityAlongNormal;
+        j /= invMassSum;
+
+        // Apply impulse
+        double impulseX = normalX * j;
+        double impulseY = normalY * j;
+        if (massA > 0) {
+            velAX = velAX - impulseX / massA;
+            velAY = velAY - impulseY / massA;
+        }
+        if (massB > 0) {
+            velBX = velBX + impulseX / massB;
+            velBY = velBY + impulseY / massB;
+        }
+
+        // Apply friction
+        double friction = FRICTION;
+        double tangentX = relVelX - normalX * velocityAlongNormal;
+        double tangentY = relVelY - normalY * velocityAlongNormal;
+        double tangentLengthSquared = tangentX * tangentX + tangentY * tangentY;
+        if (tangentLengthSquared > 0.0001) {
+            double tangentLength = Math.sqrt(tangentLengthSquared);
+            tangentX /= tangentLength;
+            tangentY /= tangentLength;
+            double jt = -(relVelX * tangentX + relVelY * tangentY);
+            jt /= invMassSum;
+
+            // Clamp friction
+            double frictionScale = Math.abs(jt) < j * friction ? jt : -j * friction;
+            double frictionX = tangentX * frictionScale;
+            double frictionY = tangentY * frictionScale;
+
+            if (massA > 0) {
+                velAX = velAX - frictionX / massA;
+                velAY = velAY - frictionY / massA;
+            }
+            if (massB > 0) {
+                velBX = velBX + frictionX / massB;
+                velBY = velBY + frictionY / massB;
+            }
+        }
+
+        // Static bodies are never written, so contacts sharing only a static
+        // body can be resolved concurrently
+        if (massA > 0) {
+            storeA.setVelocity(a, velAX, velAY);
+        }
+        if (massB > 0) {
+            storeB.setVelocity(b, velBX, velBY);
+        }
+    }
 }
@@ -2,6 +2,7 @@ package com.physics.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
@@ -11,8 +12,13 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
  * 
  * This class provides common properties and methods for all physics objects
  * including position, velocity, acceleration, mass, and force application.
+ * 
+ * The body's state lives in a slot of a BodyStore; this class is a view over
+ * that slot. Vectors returned by the getters are refreshed from the store on
+ * each call, so changes must go through the setters.
  */
 @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonPropertyOrder({"id", "mass", "position", "velocity"})
 @JsonSubTypes({
     @JsonSubTypes.Type(value = CircleBody.class, name = "circle"),
     @JsonSubTypes.Type(value = RectangleBody.class, name = "rectangle"),
@@ -20,12 +26,6 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo;
 })
 public abstract class PhysicsBody {
     
-    @JsonProperty("id")
-    protected int id;
-    
-    @JsonProperty("mass")
-    protected double mass;
-    
     @JsonProperty("position")
     protected Vector2D position;
     
@@ -36,19 +36,18 @@ public abstract class PhysicsBody {
     protected Vector2D acceleration;
     
     @JsonIgnore
-    protected Vector2D netForce;
+    protected Collider collider;
+
+    // Backing storage: the body is a view over one slot of a BodyStore
+    @JsonIgnore
+    BodyStore store;
     
     @JsonIgnore
-    protected Collider collider;
+    int slot;
 
     // Default constructor for JSON deserialization
     public PhysicsBody() {
-        this.id = 0;
-        this.mass = 1.0;
-        this.position = new Vector2D();
-        this.velocity = new Vector2D();
-        this.acceleration = new Vector2D();
-        this.netForce = new Vector2D();
+        this(0, 1.0, new Vector2D(), new Vector2D());
     }
 
     /**
@@ -56,57 +55,137 @@ public abstract class PhysicsBody {
      * Converted from C++ Object constructor.
      */
     public PhysicsBody(int id, double mass, Vector2D position, Vector2D velocity) {
-        this.id = id;
-        this.mass = mass;
+        this(new BodyStore(1), id, mass, position, velocity);
+    }
+
+    /**
+     * Constructor that puts the body's state in a new slot of the given store
+     * instead of a private one (e.g. a staging store filled by a loader).
+     */
+    protected PhysicsBody(BodyStore store, int id, double mass, Vector2D position, Vector2D velocity) {
         this.position = new Vector2D(position);
         this.velocity = new Vector2D(velocity);
         this.acceleration = new Vector2D();
-        this.netForce = new Vector2D();
+        store.add(this);
+        store.setId(slot, id);
+        store.setMass(slot, mass);
+        store.setPosition(slot, position.x, position.y);
+        store.setVelocity(slot, velocity.x, velocity.y);
+    }
+
+    /**
+     * Bind this view to a slot of a store (called by BodyStore when the body moves).
+     */
+    void bind(BodyStore store, int slot) {
+        this.store = store;
+        this.slot = slot;
+    }
+
+    /**
+     * Get the store holding this body's state.
+     */
+    @JsonIgnore
+    public BodyStore getStore() {
+        return store;
+    }
+
+    /**
+     * Get this body's slot in its store.
+     */
+    @JsonIgnore
+    public int getSlot() {
+        return slot;
     }
 
     // Getters and Setters
+    @JsonProperty("id")
     public int getId() {
-        return id;
+        return store.getId(slot);
     }
 
     public void setId(int id) {
-        this.id = id;
+        store.setId(slot, id);
     }
 
+    @JsonProperty("mass")
     public double getMass() {
-        return mass;
+        return store.getMass(slot);
     }
 
     public void setMass(double mass) {
-        this.mass = mass;
+        store.setMass(slot, mass);
     }
 
+    /**
+     * Get the current position (refreshed from the store on each call).
+     */
     public Vector2D getPosition() {
+        position.x = store.getPosX(slot);
+        position.y = store.getPosY(slot);
         return position;
     }
 
     public void setPosition(Vector2D position) {
-        this.position = new Vector2D(position);
+        store.setPosition(slot, position.x, position.y);
+        this.position.x = position.x;
+        this.position.y = position.y;
         // Update collider position when body position changes
         if (collider != null) {
             collider.updatePosition(this.position);
         }
     }
 
+    /**
+     * Get the current velocity (refreshed from the store on each call).
+     */
     public Vector2D getVelocity() {
+        velocity.x = store.getVelX(slot);
+        velocity.y = store.getVelY(slot);
         return velocity;
     }
 
     public void setVelocity(Vector2D velocity) {
-        this.velocity = new Vector2D(velocity);
+        store.setVelocity(slot, velocity.x, velocity.y);
     }
 
     public Vector2D getAcceleration() {
+        double invMass = store.getInvMass(slot);
+        acceleration.x = store.getForceX(slot) * invMass;
+        acceleration.y = store.getForceY(slot) * invMass;
         return acceleration;
     }
 
+    /**
+     * Check if the body is flagged as fast. Fast bodies are swept against
+     * other bodies each step so they cannot tunnel through thin walls.
+     */
+    @JsonProperty("fast")
+    public boolean isFast() {
+        return store.isFast(slot);
+    }
+
+    public void setFast(boolean fast) {
+        store.setFast(slot, fast);
+    }
+
+    /**
+     * Check if the body is asleep (at rest and skipped by the step loop).
+     */
+    @JsonIgnore
+    public boolean isSleeping() {
+        return store.isSleeping(slot);
+    }
+
+    /**
+     * Get the collider, synchronised with the current position.
+     * Colliders of the built-in shapes share this body's position vector, so
+     * the sync is an in-place refresh rather than a copy.
+     */
     @JsonIgnore
     public Collider getCollider() {
+        if (collider != null) {
+            collider.updatePosition(getPosition());
+        }
         return collider;
     }
 
@@ -115,7 +194,7 @@ public abstract class PhysicsBody {
      * Converted from C++ Object::applyForce method.
      */
     public void applyForce(Vector2D force) {
-        netForce = netForce.add(force);
+        store.addForce(slot, force.x, force.y);
     }
 
     /**
@@ -123,9 +202,7 @@ public abstract class PhysicsBody {
      * Converted from C++ Object::update method.
      */
     public void update(double deltaTime) {
-        acceleration = calculateAcceleration();
-        velocity = velocity.add(acceleration.multiply(deltaTime));
-        updatePosition(deltaTime);
+        store.integrate(slot, deltaTime);
     }
 
     /**
@@ -133,7 +210,7 @@ public abstract class PhysicsBody {
      * Converted from C++ Object::resetForces method.
      */
     public void resetForces() {
-        netForce = new Vector2D(0, 0);
+        store.setForce(slot, 0, 0);
     }
 
     /**
@@ -141,11 +218,7 @@ public abstract class PhysicsBody {
      * Converted from C++ Object::updatePosition method.
      */
     public void updatePosition(double deltaTime) {
-        position = position.add(velocity.multiply(deltaTime));
-        // Update collider position
-        if (collider != null) {
-            collider.updatePosition(position);
-        }
+        store.translate(slot, store.getVelX(slot) * deltaTime, store.getVelY(slot) * deltaTime);
     }
 
     /**
@@ -153,10 +226,7 @@ public abstract class PhysicsBody {
      * Converted from C++ Object::calculateAcceleration method.
      */
     protected Vector2D calculateAcceleration() {
-        if (mass > 0) {
-            return netForce.divide(mass);
-        }
-        return new Vector2D(0, 0);
+        return new Vector2D(getAcceleration());
     }
 
     /**
@@ -172,10 +242,16 @@ public abstract class PhysicsBody {
     @JsonIgnore
     public abstract String getType();
 
+    /**
+     * Create a detached copy of the body: same ID, shape and state, but not
+     * part of any world, so it can be read after the world's lock is released.
+     */
+    public abstract PhysicsBody copy();
+
     @Override
     public String toString() {
         return String.format("PhysicsBody[id=%d, mass=%.2f, pos=%s, vel=%s]", 
-            id, mass, position, velocity);
+            getId(), getMass(), getPosition(), getVelocity());
     }
 
     @Override
@@ -183,11 +259,11 @@ public abstract class PhysicsBody {
         if (this == obj) return true;
         if (obj == null || getClass() != obj.getClass()) return false;
         PhysicsBody other = (PhysicsBody) obj;
-        return id == other.id;
+        return getId() == other.getId();
     }
 
     @Override
     public int hashCode() {
-        return Integer.hashCode(id);
+        return Integer.hashCode(getId());
     }
 }
@@ -28,14 +28,25 @@ public class RectangleBody extends PhysicsBody {
      * Converted from C++ Rectangle constructor.
      */
     public RectangleBody(int id, double mass, Vector2D position, Vector2D velocity, double width, double height) {
-        super(id, mass, position, velocity);
+        this(new BodyStore(1), id, mass, position, velocity, width, height);
+    }
+
+    /**
+     * Constructor for a Rectangle body whose state is put in a slot of the given store.
+     */
+    public RectangleBody(BodyStore store, int id, double mass, Vector2D position, Vector2D velocity,
+                         double width, double height) {
+        super(store, id, mass, position, velocity);
         this.width = width;
         this.height = height;
         initCollider();
     }
 
     private void initCollider() {
-        this.collider = new AABBCollider(position, width, height);
+        AABBCollider aabb = new AABBCollider(position, width, height);
+        aabb.setPosition(position);  // Share the body's position vector
+        this.collider = aabb;
+        store.setShape(slot, BodyStore.SHAPE_BOX, width, height);
     }
 
     // Getters and Setters
@@ -54,6 +65,7 @@ public class RectangleBody extends PhysicsBody {
     public void setDimensions(double width, double height) {
         this.width = width;
         this.height = height;
+        store.setShape(slot, BodyStore.SHAPE_BOX, width, height);
         // Update collider when dimensions change
         if (collider instanceof AABBCollider) {
             AABBCollider aabb = (AABBCollider) collider;
@@ -64,6 +76,7 @@ public class RectangleBody extends PhysicsBody {
 
     public void setWidth(double width) {
         this.width = width;
+        store.setShape(slot, BodyStore.SHAPE_BOX, width, height);
         if (collider instanceof AABBCollider) {
             ((AABBCollider) collider).setWidth(width);
         }
@@ -71,6 +84,7 @@ public class RectangleBody extends PhysicsBody {
 
     public void setHeight(double height) {
         this.height = height;
+        store.setShape(slot, BodyStore.SHAPE_BOX, width, height);
         if (collider instanceof AABBCollider) {
             ((AABBCollider) collider).setHeight(height);
         }
@@ -88,9 +102,16 @@ public class RectangleBody extends PhysicsBody {
         return "rectangle";
     }
 
+    @Override
+    public RectangleBody copy() {
+        RectangleBody copy = new RectangleBody(getId(), getMass(), getPosition(), getVelocity(), width, height);
+        copy.setFast(isFast());
+        return copy;
+    }
+
     @Override
     public String toString() {
         return String.format("RectangleBody[id=%d, mass=%.2f, pos=%s, vel=%s, width=%.2f, height=%.2f]",
-            id, mass, position, velocity, width, height);
+            getId(), getMass(), getPosition(), getVelocity(), width, height);
     }
 }
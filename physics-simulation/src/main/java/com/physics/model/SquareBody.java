@@ -24,13 +24,23 @@ public class SquareBody extends PhysicsBody {
      * Converted from C++ Square constructor.
      */
     public SquareBody(int id, double mass, Vector2D position, Vector2D velocity, double sideLength) {
-        super(id, mass, position, velocity);
+        this(new BodyStore(1), id, mass, position, velocity, sideLength);
+    }
+
+    /**
+     * Constructor for a Square body whose state is put in a slot of the given store.
+     */
+    public SquareBody(BodyStore store, int id, double mass, Vector2D position, Vector2D velocity, double sideLength) {
+        super(store, id, mass, position, velocity);
         this.sideLength = sideLength;
         initCollider();
     }
 
     private void initCollider() {
-        this.collider = new AABBCollider(position, sideLength, sideLength);
+        AABBCollider aabb = new AABBCollider(position, sideLength, sideLength);
+        aabb.setPosition(position);  // Share the body's position vector
+        this.collider = aabb;
+        store.setShape(slot, BodyStore.SHAPE_BOX, sideLength, sideLength);
     }
 
     // Getters and Setters
@@ -44,6 +54,7 @@ public class SquareBody extends PhysicsBody {
      */
     public void setSideLength(double sideLength) {
         this.sideLength = sideLength;
+        store.setShape(slot, BodyStore.SHAPE_BOX, sideLength, sideLength);
         // Update collider when side length changes
         if (collider instanceof AABBCollider) {
             AABBCollider aabb = (AABBCollider) collider;
@@ -64,9 +75,16 @@ public class SquareBody extends PhysicsBody {
         return "square";
     }
 
+    @Override
+    public SquareBody copy() {
+        SquareBody copy = new SquareBody(getId(), getMass(), getPosition(), getVelocity(), sideLength);
+        copy.setFast(isFast());
+        return copy;
+    }
+
     @Override
     public String toString() {
         return String.format("SquareBody[id=%d, mass=%.2f, pos=%s, vel=%s, sideLength=%.2f]",
-            id, mass, position, velocity, sideLength);
+            getId(), getMass(), getPosition(), getVelocity(), sideLength);
     }
 }
@@ -14,90 +14,93 @@ import java.util.Optional;
 /**
  * Service for handling force-related operations.
  * Manages force application, impulses, and gravity settings.
+ * Each operation acts on the world passed in, looked up by the controller
+ * in the WorldRegistry. Changes are submitted to the world's command queue
+ * and applied by the thread that steps it.
  */
 @Service
 public class ForceService {
-    
-    private final PhysicsWorld physicsWorld;
-
-    public ForceService(PhysicsWorld physicsWorld) {
-        this.physicsWorld = physicsWorld;
-    }
 
     /**
      * Apply a force to a physics body.
+     * @param world The world to operate on
      * @param request The apply force request
      * @return true if force was applied, false if body not found
      */
-    public boolean applyForce(ApplyForceRequest request) {
+    public boolean applyForce(PhysicsWorld world, ApplyForceRequest request) {
         if (request.getId() == null || request.getForce() == null || request.getForce().length < 2) {
             return false;
         }
 
-        Optional<PhysicsBody> optBody = physicsWorld.getObject(request.getId());
-        if (optBody.isEmpty()) {
-            return false;
-        }
-
         Vector2D force = new Vector2D(request.getForce()[0], request.getForce()[1]);
-        
-        // Set as a persistent custom force
-        physicsWorld.setCustomForce(request.getId(), force);
-        
-        return true;
+        int id = request.getId();
+        return world.execute(w -> {
+            // Set as a persistent custom force
+            if (!w.setCustomForce(id, force)) {
+                return false;
+            }
+            w.wakeObject(id);
+            return true;
+        });
     }
 
     /**
      * Apply an impulse to a physics body (instantaneous velocity change).
+     * @param world The world to operate on
      * @param request The apply impulse request
      * @return true if impulse was applied, false if body not found
      */
-    public boolean applyImpulse(ApplyImpulseRequest request) {
+    public boolean applyImpulse(PhysicsWorld world, ApplyImpulseRequest request) {
         if (request.getId() == null || request.getImpulse() == null || request.getImpulse().length < 2) {
             return false;
         }
 
-        Optional<PhysicsBody> optBody = physicsWorld.getObject(request.getId());
-        if (optBody.isEmpty()) {
-            return false;
-        }
-
         Vector2D impulse = new Vector2D(request.getImpulse()[0], request.getImpulse()[1]);
-        Forces.applyImpulse(optBody.get(), impulse);
-        
-        return true;
+        int id = request.getId();
+        return world.execute(w -> {
+            Optional<PhysicsBody> optBody = w.getObject(id);
+            if (optBody.isEmpty()) {
+                return false;
+            }
+            w.wakeObject(id);
+            Forces.applyImpulse(optBody.get(), impulse);
+            w.markChanged(id);
+            return true;
+        });
     }
 
     /**
      * Change global gravity.
+     * @param world The world to operate on
      * @param request The gravity request
      */
-    public void setGravity(GravityRequest request) {
+    public void setGravity(PhysicsWorld world, GravityRequest request) {
         if (request.getGravity() != null && request.getGravity().length >= 2) {
-            physicsWorld.setGravity(request.getGravity()[0], request.getGravity()[1]);
+            double x = request.getGravity()[0];
+            double y = request.getGravity()[1];
+            world.execute(w -> {
+                w.setGravity(x, y);
+                return null;
+            });
         }
     }
 
     /**
      * Get current gravity setting.
+     * @param world The world to operate on
      * @return Current gravity vector as array
      */
-    public double[] getGravity() {
-        return physicsWorld.getGravity().toArray();
+    public double[] getGravity(PhysicsWorld world) {
+        return world.getGravity().toArray();
     }
 
     /**
      * Clear custom force from a body.
+     * @param world The world to operate on
      * @param id The body ID
      * @return true if cleared, false if body not found
      */
-    public boolean clearForce(int id) {
-        Optional<PhysicsBody> optBody = physicsWorld.getObject(id);
-        if (optBody.isEmpty()) {
-            return false;
-        }
-        
-        physicsWorld.clearCustomForce(id);
-        return true;
+    public boolean clearForce(PhysicsWorld world, int id) {
+        return world.execute(w -> w.clearCustomForce(id));
     }
 }
@@ -0,0 +1,215 @@
+package com.physics.service;
+
+import com.physics.dto.JobRequest;
+import com.physics.dto.SceneData;
+import com.physics.engine.PhysicsWorld;
+import com.physics.engine.SimulationJob;
+import com.physics.engine.StopCondition;
+import com.physics.engine.TrajectorySample;
+import com.physics.engine.WorldRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service for background simulation jobs.
+ * Runs copies of live worlds or scene files headless on a worker pool, so a
+ * scene can be fast-forwarded without holding an HTTP connection open.
+ * Finished jobs keep their final scene and trajectory until deleted.
+ */
+@Service
+public class JobService implements DisposableBean {
+
+    // Default time step (1/60th of a second for 60fps)
+    private static final double DEFAULT_DT = 1.0 / 60.0;
+
+    // Limits of one job
+    private static final long MAX_STEPS = 1_000_000_000L;
+    private static final long MAX_TRAJECTORY_SAMPLES = 100_000;
+    // Body states (samples times bodies) one trajectory may hold, about 72 MB
+    private static final long MAX_TRAJECTORY_BODY_SAMPLES = 2_000_000;
+
+    // Sources a job's world can come from
+    private static final String SOURCE_WORLD = "world";
+    private static final String SOURCE_SCENE = "scene";
+
+    private final WorldRegistry worldRegistry;
+    private final SceneService sceneService;
+    private final ExecutorService workers;
+
+    private final Map<String, SimulationJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final AtomicLong nextThreadId = new AtomicLong(1);
+
+    public JobService(WorldRegistry worldRegistry, SceneService sceneService,
+                      @Value("${simulation.jobs.threads:2}") int threads) {
+        this.worldRegistry = worldRegistry;
+        this.sceneService = sceneService;
+        this.workers = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "physics-job-" + nextThreadId.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Start a job. Its world is copied (or loaded) before this returns, so
+     * later changes to the source world do not affect it.
+     * @param request The job request
+     * @return The queued job
+     * @throws IllegalArgumentException if a parameter is invalid
+     * @throws IOException if the scene file cannot be read
+     */
+    public SimulationJob submit(JobRequest request) throws IOException {
+        double dt = (request.getDt() != null && request.getDt() > 0) ? request.getDt() : DEFAULT_DT;
+        long steps;
+        if (request.getSteps() != null) {
+            steps = request.getSteps();
+        } else if (request.getDuration() != null) {
+            steps = (long) Math.ceil(request.getDuration() / dt);
+        } else {
+            throw new IllegalArgumentException("Either steps or duration is required");
+        }
+        if (steps <= 0 || steps > MAX_STEPS) {
+            throw new IllegalArgumentException("Steps must be between 1 and " + MAX_STEPS);
+        }
+        long sampleEvery = request.getSampleEvery() != null ? request.getSampleEvery() : 0;
+        if (sampleEvery < 0) {
+            throw new IllegalArgumentException("Sample interval must be positive");
+        }
+        if (sampleEvery > 0 && steps / sampleEvery > MAX_TRAJECTORY_SAMPLES) {
+            throw new IllegalArgumentException(
+                "Trajectory would exceed " + MAX_TRAJECTORY_SAMPLES + " samples; increase sampleEvery");
+        }
+        StopCondition until = request.getUntil() != null ? StopCondition.fromName(request.getUntil()) : null;
+        if (until == StopCondition.COLLISION && request.getBodyId() == null) {
+            throw new IllegalArgumentException("Stop condition 'collision' requires a bodyId");
+        }
+        int bodyId = request.getBodyId() != null ? request.getBodyId() : 0;
+
+        // Build the job's private world
+        String source = request.getSource() != null ? request.getSource().toLowerCase() : SOURCE_WORLD;
+        PhysicsWorld world = new PhysicsWorld();
+        PhysicsWorld sourceWorld = null;
+        String description;
+        if (source.equals(SOURCE_WORLD)) {
+            sourceWorld = worldRegistry.getWorld(request.getWorldId());
+            sceneService.installScene(world, sceneService.copyScene(sourceWorld));
+            description = "world:" + (request.getWorldId() != null ? request.getWorldId() : WorldRegistry.DEFAULT_WORLD);
+        } else if (source.equals(SOURCE_SCENE)) {
+            sceneService.loadScene(world, request.getFilename());
+            description = "scene:" + (request.getFilename() != null ? request.getFilename() : "default");
+        } else {
+            throw new IllegalArgumentException("Unknown job source: " + request.getSource());
+        }
+        if (sampleEvery > 0 && (steps / sampleEvery + 1) * world.getObjectCount() > MAX_TRAJECTORY_BODY_SAMPLES) {
+            throw new IllegalArgumentException("Trajectory would hold more than " + MAX_TRAJECTORY_BODY_SAMPLES
+                + " body samples (samples x bodies); increase sampleEvery");
+        }
+        if (until == StopCondition.COLLISION && world.getObject(bodyId).isEmpty()) {
+            throw new IllegalArgumentException("Object not found with ID: " + bodyId);
+        }
+        // Settings last: they may borrow a parallel step pool for the job's world
+        if (sourceWorld != null) {
+            sourceWorld.copySettingsTo(world);
+        }
+
+        String id = "job-" + nextId.getAndIncrement();
+        SimulationJob job = new SimulationJob(id, description, world, dt, steps, sampleEvery, until, bodyId);
+        jobs.put(id, job);
+        workers.execute(job);
+        return job;
+    }
+
+    /**
+     * Get a job by ID.
+     */
+    public Optional<SimulationJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Get the progress of all jobs.
+     */
+    public List<Map<String, Object>> listJobs() {
+        List<SimulationJob> sorted = new ArrayList<>(jobs.values());
+        sorted.sort(Comparator.comparing(SimulationJob::getCreatedAt));
+        List<Map<String, Object>> summaries = new ArrayList<>();
+        for (SimulationJob job : sorted) {
+            summaries.add(job.getSummary());
+        }
+        return summaries;
+    }
+
+    /**
+     * Cancel a job.
+     * @return false if there is no such job
+     */
+    public boolean cancelJob(String id) {
+        SimulationJob job = jobs.get(id);
+        if (job == null) {
+            return false;
+        }
+        job.cancel();
+        return true;
+    }
+
+    /**
+     * Cancel a job and discard it with its results.
+     * @return false if there is no such job
+     */
+    public boolean deleteJob(String id) {
+        SimulationJob job = jobs.remove(id);
+        if (job == null) {
+            return false;
+        }
+        job.cancel();
+        return true;
+    }
+
+    /**
+     * Get the final scene of a finished job.
+     * @throws IllegalStateException if the job has not finished yet
+     */
+    public SceneData getScene(SimulationJob job) {
+        if (!job.getStatus().isFinished()) {
+            throw new IllegalStateException("Job " + job.getId() + " has not finished yet");
+        }
+        return sceneService.getCurrentScene(job.getWorld());
+    }
+
+    /**
+     * Get the trajectory recorded by a job (so far, if it is still running).
+     * @throws IllegalStateException if the job does not record a trajectory
+     */
+    public List<TrajectorySample> getTrajectory(SimulationJob job) {
+        if (!job.hasTrajectory()) {
+            throw new IllegalStateException("Job " + job.getId() + " does not record a trajectory");
+        }
+        return job.getTrajectory();
+    }
+
+    /**
+     * Cancel all jobs and stop the workers (on application shutdown).
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        for (SimulationJob job : jobs.values()) {
+            job.cancel();
+        }
+        workers.shutdown();
+        workers.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
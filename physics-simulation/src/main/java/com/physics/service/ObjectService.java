@@ -1,33 +1,235 @@
 package com.physics.service;
 
+import com.physics.dto.BatchResult;
 import com.physics.dto.CreateObjectRequest;
+import com.physics.dto.GenerateRequest;
 import com.physics.dto.UpdateObjectRequest;
+import com.physics.engine.BodyGenerator;
 import com.physics.engine.PhysicsWorld;
+import com.physics.engine.RainEmitter;
 import com.physics.model.*;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Service for managing physics objects.
  * Handles CRUD operations for physics bodies in the simulation.
+ * Each operation acts on the world passed in, looked up by the controller
+ * in the WorldRegistry. Changes are submitted to the world's command queue
+ * and applied by the thread that steps it; reads are served from its
+ * snapshot.
  */
 @Service
 public class ObjectService {
-    
-    private final PhysicsWorld physicsWorld;
 
-    public ObjectService(PhysicsWorld physicsWorld) {
-        this.physicsWorld = physicsWorld;
+    // Largest number of bodies one generate request may create
+    private final int maxGeneratedBodies;
+
+    public ObjectService(@Value("${simulation.generate.max-bodies:1000000}") int maxGeneratedBodies) {
+        this.maxGeneratedBodies = maxGeneratedBodies;
     }
 
     /**
      * Create a new physics object from request.
+     * @param world The world to operate on
      * @param request The create object request
-     * @return The created physics body
+     * @return Detached copy of the created physics body
+     */
+    public PhysicsBody createObject(PhysicsWorld world, CreateObjectRequest request) {
+        PhysicsBody body = buildBody(request);
+        return world.execute(w -> {
+            w.addObject(body);
+            // The body is now a view of the world's store; hand out a copy
+            return body.copy();
+        });
+    }
+
+    /**
+     * Create several physics objects in one world change: either every body
+     * is added or, if any request is invalid, none is.
+     * @param world The world to operate on
+     * @param requests The create object requests
+     * @return The assigned ID of each body
+     * @throws IllegalArgumentException if a request is invalid (nothing is created)
+     */
+    public BatchResult createObjects(PhysicsWorld world, List<CreateObjectRequest> requests) {
+        List<PhysicsBody> bodies = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                bodies.add(buildBody(requests.get(i)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Item " + i + ": " + e.getMessage());
+            }
+        }
+        int[] ids = world.execute(w -> {
+            w.addObjects(bodies);
+            int[] assigned = new int[bodies.size()];
+            for (int i = 0; i < assigned.length; i++) {
+                assigned[i] = bodies.get(i).getId();
+            }
+            return assigned;
+        });
+        return new BatchResult(ids, null);
+    }
+
+    /**
+     * Generate a procedural layout of bodies server-side. Grid, random and
+     * pyramid layouts are built on the calling thread and added in one world
+     * change; a rain layout registers an emitter that adds its bodies as the
+     * world is stepped.
+     * @param world The world to operate on
+     * @param request The generate request
+     * @return Summary: pattern, seed, bodies created (with their ID range) or scheduled
+     * @throws IllegalArgumentException if the request is invalid (nothing is created)
+     */
+    public Map<String, Object> generateObjects(PhysicsWorld world, GenerateRequest request) {
+        long start = System.nanoTime();
+        if (request.getPattern() == null) {
+            throw new IllegalArgumentException("Pattern is required");
+        }
+        String pattern = request.getPattern().toLowerCase();
+        long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+        BodyGenerator.Shape shape = request.getShape() != null
+            ? BodyGenerator.Shape.fromString(request.getShape())
+            : pattern.equals("pyramid") ? BodyGenerator.Shape.SQUARE : BodyGenerator.Shape.CIRCLE;
+        double[] mass = range(request.getMass(), 1.0, "Mass");
+        double[] size = range(request.getSize(), 1.0, "Size");
+        BodyGenerator generator = new BodyGenerator(shape, mass[0], mass[1], size[0], size[1], seed);
+        double[] vel = request.getVelocity();
+        if (vel != null && vel.length >= 2) {
+            generator.velocity(vel[0], vel[1]);
+        }
+        if (request.getFast() != null) {
+            generator.fast(request.getFast());
+        }
+        double[] origin = vector(request.getOrigin(), "Origin");
+        double[] box = request.getBox();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("pattern", pattern);
+        result.put("seed", seed);
+
+        List<PhysicsBody> bodies;
+        switch (pattern) {
+            case "grid":
+                int columns = request.getColumns() != null ? request.getColumns() : 0;
+                double cellGap = request.getGap() != null ? request.getGap() : 1.0;
+                bodies = generator.grid(count(request), columns, origin[0], origin[1], cellGap);
+                break;
+            case "random":
+                requireBox(box);
+                bodies = generator.random(count(request), box[0], box[1], box[2], box[3]);
+                break;
+            case "pyramid":
+                int rows = pyramidRows(request);
+                double blockGap = request.getGap() != null ? request.getGap() : 0.0;
+                bodies = generator.pyramid(rows, origin[0], origin[1], blockGap);
+                break;
+            case "rain":
+                requireBox(box);
+                int count = count(request);
+                double rate = request.getRate() != null ? request.getRate() : 0;
+                RainEmitter emitter = new RainEmitter(generator, rate, count, box[0], box[2], box[1]);
+                world.execute(w -> {
+                    w.addEmitter(emitter);
+                    return null;
+                });
+                result.put("scheduled", count);
+                result.put("rate", rate);
+                return result;
+            default:
+                throw new IllegalArgumentException("Unknown pattern: " + pattern);
+        }
+
+        int[] ids = world.execute(w -> {
+            w.addObjects(bodies);
+            return bodies.isEmpty()
+                ? new int[]{0, 0}
+                : new int[]{bodies.get(0).getId(), bodies.get(bodies.size() - 1).getId()};
+        });
+        result.put("created", bodies.size());
+        result.put("firstId", ids[0]);
+        result.put("lastId", ids[1]);
+        result.put("elapsedMs", (System.nanoTime() - start) / 1_000_000.0);
+        return result;
+    }
+
+    private int count(GenerateRequest request) {
+        Integer count = request.getCount();
+        if (count == null || count <= 0) {
+            throw new IllegalArgumentException("Count must be positive");
+        }
+        if (count > maxGeneratedBodies) {
+            throw new IllegalArgumentException("Count must not exceed " + maxGeneratedBodies);
+        }
+        return count;
+    }
+
+    /**
+     * Rows of a pyramid: as requested, or the most that fit in the count.
      */
-    public PhysicsBody createObject(CreateObjectRequest request) {
+    private int pyramidRows(GenerateRequest request) {
+        int rows;
+        if (request.getRows() != null) {
+            rows = request.getRows();
+        } else {
+            rows = (int) ((Math.sqrt(8.0 * count(request) + 1) - 1) / 2);
+        }
+        if (rows <= 0) {
+            throw new IllegalArgumentException("Rows must be positive");
+        }
+        if ((long) rows * (rows + 1) / 2 > maxGeneratedBodies) {
+            throw new IllegalArgumentException("Pyramid must not exceed " + maxGeneratedBodies + " bodies");
+        }
+        return rows;
+    }
+
+    /**
+     * Parse a [min, max] or [value] distribution.
+     */
+    private static double[] range(double[] values, double defaultValue, String name) {
+        if (values == null || values.length == 0) {
+            return new double[]{defaultValue, defaultValue};
+        }
+        if (values.length == 1) {
+            return new double[]{values[0], values[0]};
+        }
+        if (values.length != 2) {
+            throw new IllegalArgumentException(name + " must be [min, max] or [value]");
+        }
+        return values;
+    }
+
+    private static double[] vector(double[] values, String name) {
+        if (values == null) {
+            return new double[]{0, 0};
+        }
+        if (values.length < 2) {
+            throw new IllegalArgumentException(name + " must be [x, y]");
+        }
+        return values;
+    }
+
+    private static void requireBox(double[] box) {
+        if (box == null || box.length != 4) {
+            throw new IllegalArgumentException("Box must be [minX, minY, maxX, maxY]");
+        }
+    }
+
+    /**
+     * Build a body (not yet part of a world) from a create request.
+     */
+    private PhysicsBody buildBody(CreateObjectRequest request) {
+        if (request == null || request.getType() == null) {
+            throw new IllegalArgumentException("Object type is required");
+        }
         String type = request.getType().toLowerCase();
         double mass = request.getMass() != null ? request.getMass() : 1.0;
         
@@ -41,8 +243,9 @@ public class ObjectService {
             ? new Vector2D(vel[0], vel[1]) 
             : new Vector2D(0, 0);
 
+        // ID 0: the world assigns the next free ID when the body is added
         PhysicsBody body;
-        int id = physicsWorld.getNextId();
+        int id = 0;
 
         switch (type) {
             case "circle":
@@ -61,36 +264,101 @@ public class ObjectService {
             default:
                 throw new IllegalArgumentException("Unknown object type: " + type);
         }
-
-        physicsWorld.addObject(body);
+        if (request.getFast() != null) {
+            body.setFast(request.getFast());
+        }
         return body;
     }
 
     /**
      * Get all physics objects.
+     * @param world The world to operate on
      * @return List of all physics bodies
      */
-    public List<PhysicsBody> getAllObjects() {
-        return physicsWorld.getObjects();
+    public List<PhysicsBody> getAllObjects(PhysicsWorld world) {
+        return world.getObjects();
     }
 
     /**
      * Get a physics object by ID.
+     * @param world The world to operate on
      * @param id The object ID
-     * @return Optional containing the body if found
+     * @return Optional containing a copy of the body if found
+     */
+    public Optional<PhysicsBody> getObject(PhysicsWorld world, int id) {
+        return world.getSnapshot().getBody(id);
+    }
+
+    /**
+     * Find all physics objects containing a point.
+     * @param world The world to operate on
+     * @param x Point x coordinate
+     * @param y Point y coordinate
+     * @return Detached copies of the bodies whose collider contains the point
      */
-    public Optional<PhysicsBody> getObject(int id) {
-        return physicsWorld.getObject(id);
+    public List<PhysicsBody> queryPoint(PhysicsWorld world, double x, double y) {
+        return world.queryPoint(x, y);
+    }
+
+    /**
+     * Find all physics objects overlapping a rectangular region.
+     * @param world The world to operate on
+     * @return Detached copies of the bodies whose bounds overlap the region
+     */
+    public List<PhysicsBody> queryRegion(PhysicsWorld world, double minX, double minY, double maxX, double maxY) {
+        return world.queryRegion(minX, minY, maxX, maxY);
     }
 
     /**
      * Update a physics object.
+     * @param world The world to operate on
      * @param id The object ID to update
      * @param request The update request
-     * @return The updated physics body, or empty if not found
+     * @return Detached copy of the updated physics body, or empty if not found
+     */
+    public Optional<PhysicsBody> updateObject(PhysicsWorld world, int id, UpdateObjectRequest request) {
+        return world.execute(w -> {
+            Optional<PhysicsBody> body = applyUpdate(w, id, request);
+            w.wakeObject(id);
+            return body.map(PhysicsBody::copy);
+        });
+    }
+
+    /**
+     * Update several physics objects in one world change. Each request names
+     * its body in "id"; requests for unknown bodies are skipped.
+     * @param world The world to operate on
+     * @param requests The update requests
+     * @return Whether each request's body was found and updated
+     * @throws IllegalArgumentException if a request has no ID (nothing is updated)
+     */
+    public BatchResult updateObjects(PhysicsWorld world, List<UpdateObjectRequest> requests) {
+        int[] ids = new int[requests.size()];
+        for (int i = 0; i < ids.length; i++) {
+            UpdateObjectRequest request = requests.get(i);
+            if (request == null || request.getId() == null) {
+                throw new IllegalArgumentException("Item " + i + ": Object ID is required");
+            }
+            ids[i] = request.getId();
+        }
+        boolean[] found = world.execute(w -> {
+            boolean[] updated = new boolean[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                updated[i] = applyUpdate(w, ids[i], requests.get(i)).isPresent();
+            }
+            // Wake the updated bodies' islands in one pass
+            w.wakeObjects(ids);
+            return updated;
+        });
+        return new BatchResult(ids, found);
+    }
+
+    /**
+     * Apply an update to a body without waking it (the caller wakes it, which
+     * also wakes the sleeping bodies that touched its old bounds).
      */
-    public Optional<PhysicsBody> updateObject(int id, UpdateObjectRequest request) {
-        Optional<PhysicsBody> optBody = physicsWorld.getObject(id);
+    private Optional<PhysicsBody> applyUpdate(PhysicsWorld world, int id, UpdateObjectRequest request) {
+        Optional<PhysicsBody> optBody = world.getObject(id);
         
         if (optBody.isEmpty()) {
             return Optional.empty();
@@ -98,6 +366,9 @@ public class ObjectService {
 
         PhysicsBody body = optBody.get();
 
+        // Bodies resting on this one may lose their support
+        world.wakeTouching(id);
+
         // Update common properties
         if (request.getMass() != null) {
             body.setMass(request.getMass());
@@ -111,6 +382,10 @@ public class ObjectService {
             body.setVelocity(new Vector2D(request.getVelocity()[0], request.getVelocity()[1]));
         }
 
+        if (request.getFast() != null) {
+            body.setFast(request.getFast());
+        }
+
         // Update shape-specific properties
         if (body instanceof CircleBody && request.getRadius() != null) {
             ((CircleBody) body).setRadius(request.getRadius());
@@ -130,15 +405,31 @@ public class ObjectService {
             ((SquareBody) body).setSideLength(request.getSideLength());
         }
 
+        // Position or size may have changed outside of a step
+        world.invalidateBounds();
+        world.markChanged(id);
+
         return Optional.of(body);
     }
 
     /**
      * Delete a physics object.
+     * @param world The world to operate on
      * @param id The object ID to delete
      * @return true if deleted, false if not found
      */
-    public boolean deleteObject(int id) {
-        return physicsWorld.removeObject(id);
+    public boolean deleteObject(PhysicsWorld world, int id) {
+        return world.execute(w -> w.removeObject(id));
+    }
+
+    /**
+     * Delete several physics objects in one world change.
+     * @param world The world to operate on
+     * @param ids The object IDs to delete
+     * @return Whether each ID was found and deleted
+     */
+    public BatchResult deleteObjects(PhysicsWorld world, int[] ids) {
+        boolean[] found = world.execute(w -> w.removeObjects(ids));
+        return new BatchResult(ids, found);
     }
 }
@@ -1,94 +1,272 @@
 package com.physics.service;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.physics.dto.SceneData;
 import com.physics.engine.PhysicsWorld;
+import com.physics.engine.WorldSnapshot;
+import com.physics.model.BodyStore;
+import com.physics.model.CircleBody;
 import com.physics.model.PhysicsBody;
+import com.physics.model.RectangleBody;
+import com.physics.model.SquareBody;
 import com.physics.model.Vector2D;
 import org.springframework.stereotype.Service;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Service for scene management operations.
  * Handles saving and loading scenes to/from JSON files.
+ * Each operation acts on the world passed in, looked up by the controller
+ * in the WorldRegistry.
  */
 @Service
 public class SceneService {
     
-    private final PhysicsWorld physicsWorld;
     private final ObjectMapper objectMapper;
     
     // Default scene file path
     private static final String DEFAULT_SCENE_FILE = "scene.json";
 
-    public SceneService(PhysicsWorld physicsWorld) {
-        this.physicsWorld = physicsWorld;
+    // Bytes per body assumed when pre-sizing the staging store from the file
+    // size (about one compactly written body; indented files over-estimate)
+    private static final long BYTES_PER_BODY = 160;
+
+    public SceneService() {
         this.objectMapper = new ObjectMapper();
         this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
     }
 
     /**
      * Save current scene to file.
+     * @param world The world to operate on
      * @param filename Optional filename (uses default if null)
      * @return The filename where scene was saved
      * @throws IOException if save fails
      */
-    public String saveScene(String filename) throws IOException {
+    public String saveScene(PhysicsWorld world, String filename) throws IOException {
         String file = (filename != null && !filename.isEmpty()) ? filename : DEFAULT_SCENE_FILE;
         
-        SceneData sceneData = new SceneData();
-        sceneData.setBodies(new ArrayList<>(physicsWorld.getObjects()));
-        sceneData.setGravity(physicsWorld.getGravity().toArray());
-        
-        objectMapper.writeValue(new File(file), sceneData);
+        objectMapper.writeValue(new File(file), getCurrentScene(world));
         
         return file;
     }
 
     /**
-     * Load scene from file.
+     * Load scene from file. The file is streamed: bodies are built one at a
+     * time straight into a staging store sized from the file, without an
+     * intermediate scene object, and the whole store is then swapped into
+     * the world in one command.
+     * @param world The world to operate on
      * @param filename Optional filename (uses default if null)
-     * @return The loaded scene data
-     * @throws IOException if load fails
+     * @return Summary: file, body count, gravity and load throughput
+     * @throws IOException if the file is missing or cannot be parsed (the world is unchanged)
      */
-    public SceneData loadScene(String filename) throws IOException {
+    public Map<String, Object> loadScene(PhysicsWorld world, String filename) throws IOException {
         String file = (filename != null && !filename.isEmpty()) ? filename : DEFAULT_SCENE_FILE;
         
         File sceneFile = new File(file);
         if (!sceneFile.exists()) {
             throw new IOException("Scene file not found: " + file);
         }
-        
-        SceneData sceneData = objectMapper.readValue(sceneFile, SceneData.class);
-        
-        // Clear current world and load new data
-        physicsWorld.reset();
-        
-        // Set gravity
-        if (sceneData.getGravity() != null && sceneData.getGravity().length >= 2) {
-            physicsWorld.setGravity(new Vector2D(sceneData.getGravity()[0], sceneData.getGravity()[1]));
+
+        long start = System.nanoTime();
+        int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(16, sceneFile.length() / BYTES_PER_BODY));
+        BodyStore staged = new BodyStore(capacity);
+        double[] gravity = streamScene(sceneFile, staged);
+        int count = staged.size();
+
+        // One command, so no step runs on a half-loaded scene
+        world.execute(w -> {
+            w.reset();
+            if (gravity != null) {
+                w.setGravity(new Vector2D(gravity[0], gravity[1]));
+            }
+            w.installBodies(staged);
+            return null;
+        });
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("filename", file);
+        result.put("bodies", count);
+        result.put("gravity", world.getGravity().toArray());
+        result.put("elapsedMs", seconds * 1000);
+        result.put("bodiesPerSecond", Math.round(count / seconds));
+        return result;
+    }
+
+    /**
+     * Parse a scene file token by token, creating each body in the staging
+     * store as soon as its object has been read. Unknown fields are skipped.
+     * @return The scene's gravity, or null if it has none
+     */
+    private double[] streamScene(File file, BodyStore staged) throws IOException {
+        double[] gravity = null;
+        try (JsonParser parser = objectMapper.getFactory().createParser(file)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Invalid scene file: expected an object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (field.equals("bodies") && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        readBody(parser, staged);
+                    }
+                    if (parser.currentToken() != JsonToken.END_ARRAY) {
+                        throw new IOException("Invalid scene file: bodies must be objects");
+                    }
+                } else if (field.equals("gravity") && value != JsonToken.VALUE_NULL) {
+                    gravity = readVector(parser, "gravity");
+                } else {
+                    parser.skipChildren();
+                }
+            }
         }
-        
-        // Add bodies
-        for (PhysicsBody body : sceneData.getBodies()) {
-            physicsWorld.addObject(body);
+        return gravity;
+    }
+
+    /**
+     * Read one body object (the parser is on its START_OBJECT) into the staging store.
+     * Missing fields get the same defaults as bodies deserialized from JSON.
+     */
+    private void readBody(JsonParser parser, BodyStore staged) throws IOException {
+        String type = null;
+        int id = 0;
+        double mass = 1.0;
+        double[] position = {0, 0};
+        double[] velocity = {0, 0};
+        double radius = 1.0;
+        double width = 1.0;
+        double height = 1.0;
+        double sideLength = 1.0;
+        boolean fast = false;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            if (parser.nextToken() == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "type": type = parser.getText(); break;
+                case "id": id = parser.getIntValue(); break;
+                case "mass": mass = parser.getDoubleValue(); break;
+                case "position": position = readVector(parser, field); break;
+                case "velocity": velocity = readVector(parser, field); break;
+                case "radius": radius = parser.getDoubleValue(); break;
+                case "width": width = parser.getDoubleValue(); break;
+                case "height": height = parser.getDoubleValue(); break;
+                case "sideLength": sideLength = parser.getDoubleValue(); break;
+                case "fast": fast = parser.getBooleanValue(); break;
+                default: parser.skipChildren(); break;
+            }
         }
-        
-        return sceneData;
+
+        Vector2D pos = new Vector2D(position[0], position[1]);
+        Vector2D vel = new Vector2D(velocity[0], velocity[1]);
+        PhysicsBody body;
+        switch (type != null ? type : "") {
+            case "circle":
+                body = new CircleBody(staged, id, mass, pos, vel, radius);
+                break;
+            case "rectangle":
+                body = new RectangleBody(staged, id, mass, pos, vel, width, height);
+                break;
+            case "square":
+                body = new SquareBody(staged, id, mass, pos, vel, sideLength);
+                break;
+            default:
+                throw new IOException("Invalid scene file: body " + staged.size() + " has unknown type: " + type);
+        }
+        body.setFast(fast);
+    }
+
+    /**
+     * Read a vector written as {"x": .., "y": ..} or [x, y].
+     */
+    private static double[] readVector(JsonParser parser, String field) throws IOException {
+        double[] vector = new double[2];
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String axis = parser.currentName();
+                parser.nextToken();
+                if (axis.equals("x")) {
+                    vector[0] = parser.getDoubleValue();
+                } else if (axis.equals("y")) {
+                    vector[1] = parser.getDoubleValue();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } else if (parser.currentToken() == JsonToken.START_ARRAY) {
+            for (int i = 0; parser.nextToken() != JsonToken.END_ARRAY; i++) {
+                if (i < 2) {
+                    vector[i] = parser.getDoubleValue();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } else {
+            throw new IOException("Invalid scene file: " + field + " must be an object or an array");
+        }
+        return vector;
+    }
+
+    /**
+     * Replace a world's contents with a scene.
+     * The scene's bodies become views over the world, so a scene can only be
+     * installed once.
+     * @param world The world to operate on
+     * @param sceneData Scene to install
+     */
+    public void installScene(PhysicsWorld world, SceneData sceneData) {
+        // One command, so no step runs on a half-loaded scene
+        world.execute(w -> {
+            // Clear current world and load new data
+            w.reset();
+
+            // Set gravity
+            if (sceneData.getGravity() != null && sceneData.getGravity().length >= 2) {
+                w.setGravity(new Vector2D(sceneData.getGravity()[0], sceneData.getGravity()[1]));
+            }
+
+            // Add bodies
+            for (PhysicsBody body : sceneData.getBodies()) {
+                w.addObject(body);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Copy a world's current scene into bodies that can be installed into
+     * another world. Snapshot bodies are detached already, so this is the
+     * current scene.
+     * @param world The world to copy
+     * @return Deep copy of the scene
+     */
+    public SceneData copyScene(PhysicsWorld world) {
+        return getCurrentScene(world);
     }
 
     /**
-     * Get current scene data (without saving to file).
+     * Get current scene data (without saving to file), from the world's
+     * current snapshot.
+     * @param world The world to operate on
      * @return Current scene data
      */
-    public SceneData getCurrentScene() {
+    public SceneData getCurrentScene(PhysicsWorld world) {
+        WorldSnapshot snapshot = world.getSnapshot();
         SceneData sceneData = new SceneData();
-        sceneData.setBodies(new ArrayList<>(physicsWorld.getObjects()));
-        sceneData.setGravity(physicsWorld.getGravity().toArray());
+        sceneData.setBodies(snapshot.getBodies());
+        sceneData.setGravity(snapshot.getGravity());
         return sceneData;
     }
 
@@ -1,69 +1,346 @@
 package com.physics.service;
 
+import com.physics.dto.BroadphaseRequest;
+import com.physics.dto.ParallelismRequest;
+import com.physics.dto.SleepRequest;
+import com.physics.dto.SolverRequest;
+import com.physics.dto.StepRequest;
+import com.physics.engine.Broadphase;
+import com.physics.engine.BroadphaseType;
+import com.physics.engine.ContactSolverMode;
+import com.physics.engine.FixedTimestepLoop;
 import com.physics.engine.PhysicsWorld;
+import com.physics.engine.StopCondition;
+import com.physics.engine.TrajectorySample;
+import com.physics.engine.WorldSession;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Service for simulation control operations.
  * Handles starting, pausing, resetting, and stepping the simulation.
+ * 
+ * While the simulation is running, the shared tick scheduler steps the
+ * world at a fixed rate, so clients no longer need to call /simulation/step.
+ * Each operation acts on the world session passed in, looked up by the
+ * controller in the WorldRegistry.
  */
 @Service
 public class SimulationService {
     
-    private final PhysicsWorld physicsWorld;
-    
     // Default time step (1/60th of a second for 60fps)
     private static final double DEFAULT_DT = 1.0 / 60.0;
 
-    public SimulationService(PhysicsWorld physicsWorld) {
-        this.physicsWorld = physicsWorld;
-    }
+    // Limits of one batch step request
+    private static final int MAX_STEPS = 1_000_000;
+    private static final int MAX_TRAJECTORY_SAMPLES = 10_000;
+    // Body states (samples times bodies) one response may hold
+    private static final long MAX_TRAJECTORY_BODY_SAMPLES = 1_000_000;
+
+    // Steps of a batch taken per world command, so the world's other
+    // commands get applied in between
+    private static final int STEPS_PER_COMMAND = 256;
+
+    // Return modes of a batch step request
+    private static final String RETURN_NONE = "none";
+    private static final String RETURN_FINAL = "final";
+    private static final String RETURN_TRAJECTORY = "trajectory";
 
     /**
-     * Start the simulation.
+     * Start the simulation and schedule its loop.
      */
-    public void start() {
-        physicsWorld.start();
+    public void start(WorldSession session) {
+        session.start();
     }
 
     /**
      * Pause the simulation.
      */
-    public void pause() {
-        physicsWorld.pause();
+    public void pause(WorldSession session) {
+        session.pause();
     }
 
     /**
      * Reset the simulation to initial state.
      */
-    public void reset() {
-        physicsWorld.reset();
+    public void reset(WorldSession session) {
+        session.getWorld().execute(world -> {
+            world.reset();
+            return null;
+        });
+    }
+
+    /**
+     * Step the simulation forward by one or more time deltas.
+     * The run ends early when the request's stop condition holds after a step.
+     * @param session The world session to operate on
+     * @param request The step request (null = one default step)
+     * @return Steps taken, simulated time, whether the run stopped early, and
+     *         the final state or trajectory if requested
+     * @throws IllegalArgumentException if a parameter is invalid
+     * @throws IllegalStateException if the simulation is running (its loop already steps it)
+     */
+    public Map<String, Object> step(WorldSession session, StepRequest request) {
+        PhysicsWorld world = session.getWorld();
+        if (world.isRunning()) {
+            throw new IllegalStateException("Simulation is running; pause it before stepping manually");
+        }
+        if (request == null) {
+            request = new StepRequest();
+        }
+        double dt = (request.getDt() != null && request.getDt() > 0) ? request.getDt() : DEFAULT_DT;
+        int steps = request.getSteps() != null ? request.getSteps() : 1;
+        if (steps <= 0 || steps > MAX_STEPS) {
+            throw new IllegalArgumentException("Steps must be between 1 and " + MAX_STEPS);
+        }
+        String returnMode = request.getReturnMode() != null ? request.getReturnMode().toLowerCase() : RETURN_NONE;
+        if (!returnMode.equals(RETURN_NONE) && !returnMode.equals(RETURN_FINAL)
+                && !returnMode.equals(RETURN_TRAJECTORY)) {
+            throw new IllegalArgumentException("Unknown return mode: " + request.getReturnMode());
+        }
+        int sampleEvery = request.getSampleEvery() != null ? request.getSampleEvery() : 1;
+        if (sampleEvery <= 0) {
+            throw new IllegalArgumentException("Sample interval must be positive");
+        }
+        if (returnMode.equals(RETURN_TRAJECTORY) && steps / sampleEvery > MAX_TRAJECTORY_SAMPLES) {
+            throw new IllegalArgumentException(
+                "Trajectory would exceed " + MAX_TRAJECTORY_SAMPLES + " samples; increase sampleEvery");
+        }
+
+        if (returnMode.equals(RETURN_TRAJECTORY)
+                && (long) (steps / sampleEvery + 1) * world.getObjectCount() > MAX_TRAJECTORY_BODY_SAMPLES) {
+            throw new IllegalArgumentException("Trajectory would hold more than " + MAX_TRAJECTORY_BODY_SAMPLES
+                + " body samples (samples x bodies); increase sampleEvery");
+        }
+
+        StopCondition until = request.getUntil() != null ? StopCondition.fromName(request.getUntil()) : null;
+        int bodyId = 0;
+        if (until == StopCondition.COLLISION) {
+            if (request.getBodyId() == null) {
+                throw new IllegalArgumentException("Stop condition 'collision' requires a bodyId");
+            }
+            bodyId = request.getBodyId();
+            if (world.getObject(bodyId).isEmpty()) {
+                throw new IllegalArgumentException("Object not found with ID: " + bodyId);
+            }
+        }
+
+        BatchStep batch = new BatchStep(dt, steps, until, bodyId, sampleEvery,
+                                        returnMode.equals(RETURN_TRAJECTORY));
+        while (!batch.isDone()) {
+            world.execute(batch::advance);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("steps", batch.taken);
+        result.put("dt", dt);
+        result.put("time", batch.taken * dt);
+        result.put("stopped", batch.stopped);
+        if (batch.stopped) {
+            result.put("stopCondition", until.getName());
+        }
+        if (returnMode.equals(RETURN_FINAL)) {
+            result.put("state", world.getState());
+        } else if (batch.trajectory != null) {
+            result.put("trajectory", batch.trajectory);
+        }
+        return result;
     }
 
     /**
-     * Step the simulation forward by a time delta.
-     * @param dt Time delta in seconds (null uses default)
+     * Progress of a batch step request. Each world command takes the next
+     * STEPS_PER_COMMAND steps, so the batch is applied in order with the
+     * world's other commands instead of stepping it from the request thread.
      */
-    public void step(Double dt) {
-        double deltaTime = (dt != null && dt > 0) ? dt : DEFAULT_DT;
-        physicsWorld.step(deltaTime);
+    private static final class BatchStep {
+        final double dt;
+        final int steps;
+        final StopCondition until;
+        final int bodyId;
+        final int sampleEvery;
+        final List<TrajectorySample> trajectory;
+        int taken;
+        boolean stopped;
+
+        BatchStep(double dt, int steps, StopCondition until, int bodyId, int sampleEvery, boolean record) {
+            this.dt = dt;
+            this.steps = steps;
+            this.until = until;
+            this.bodyId = bodyId;
+            this.sampleEvery = sampleEvery;
+            this.trajectory = record ? new ArrayList<>() : null;
+        }
+
+        boolean isDone() {
+            return stopped || taken >= steps;
+        }
+
+        /**
+         * Take the next chunk of steps (applied as a world command).
+         * @throws IllegalStateException if the simulation was started meanwhile
+         */
+        Void advance(PhysicsWorld world) {
+            if (world.isRunning()) {
+                throw new IllegalStateException("Simulation was started; batch step stopped after " + taken + " steps");
+            }
+            int end = Math.min(steps, taken + STEPS_PER_COMMAND);
+            while (taken < end && !stopped) {
+                stopped = world.stepUntil(dt, until, bodyId);
+                taken++;
+                if (trajectory != null && (taken % sampleEvery == 0 || taken == steps || stopped)) {
+                    trajectory.add(world.sample(taken, taken * dt));
+                }
+            }
+            return null;
+        }
     }
 
     /**
      * Get current simulation state.
-     * @return Map containing bodies, positions, velocities, and collisions
+     * @param session The world session to operate on
+     * @param since Version the client already has; only bodies changed after it are returned (null = all)
+     * @return Map containing bodies, positions, velocities, collisions and the world version
+     */
+    public Map<String, Object> getState(WorldSession session, Long since) {
+        PhysicsWorld world = session.getWorld();
+        return since != null ? world.getStateSince(since) : world.getState();
+    }
+
+    /**
+     * Select the collision broadphase strategy.
+     * @param session The world session to operate on
+     * @param request The broadphase request
+     * @return Name of the selected broadphase
+     * @throws IllegalArgumentException if the type is unknown
+     */
+    public String setBroadphase(WorldSession session, BroadphaseRequest request) {
+        BroadphaseType type = BroadphaseType.fromName(request.getType());
+        double cellSize = request.getCellSize() != null ? request.getCellSize() : 0;
+        Broadphase broadphase = type.create(cellSize);
+        session.getWorld().execute(world -> {
+            world.setBroadphase(broadphase);
+            return null;
+        });
+        return type.getName();
+    }
+
+    /**
+     * Get the name of the current collision broadphase.
+     */
+    public String getBroadphase(WorldSession session) {
+        return session.getWorld().getBroadphase().getName();
+    }
+
+    /**
+     * Configure parallel stepping of force application, integration and
+     * (with the graph-coloring solver) contact resolution.
+     * @param session The world session to operate on
+     * @param request The parallelism request
+     * @return Number of worker threads now in use (1 = serial)
+     * @throws IllegalArgumentException if a value is negative or the solver is unknown
+     */
+    public int setParallelism(WorldSession session, ParallelismRequest request) {
+        int parallelism = request.getParallelism() != null
+            ? request.getParallelism()
+            : Runtime.getRuntime().availableProcessors();
+        int threshold = request.getThreshold() != null ? request.getThreshold() : 0;
+        if (parallelism < 0 || threshold < 0) {
+            throw new IllegalArgumentException("Parallelism and threshold must not be negative");
+        }
+        ContactSolverMode mode = request.getContactSolver() != null
+            ? ContactSolverMode.fromName(request.getContactSolver())
+            : null;
+        return session.getWorld().execute(world -> {
+            if (mode != null) {
+                world.setContactSolver(mode);
+            }
+            world.setParallelism(parallelism, threshold);
+            return world.getParallelism();
+        });
+    }
+
+    /**
+     * Select the contact solver and its iteration count.
+     * @param session The world session to operate on
+     * @param request The solver request
+     * @return The name of the selected solver
+     * @throws IllegalArgumentException if the solver is unknown or iterations is not positive
+     */
+    public String setContactSolver(WorldSession session, SolverRequest request) {
+        ContactSolverMode requested = request.getContactSolver() != null
+            ? ContactSolverMode.fromName(request.getContactSolver())
+            : null;
+        Integer iterations = request.getIterations();
+        return session.getWorld().execute(world -> {
+            if (iterations != null) {
+                world.setSolverIterations(iterations);
+            }
+            if (requested != null) {
+                world.setContactSolver(requested);
+            }
+            return world.getContactSolver().getName();
+        });
+    }
+
+    /**
+     * Get per-phase step timings and parallel speedups.
+     */
+    public Map<String, Object> getTimings(WorldSession session) {
+        return session.getWorld().getTimings();
+    }
+
+    /**
+     * Configure body sleeping.
+     * @param session The world session to operate on
+     * @param request The sleep request
+     * @throws IllegalArgumentException if the threshold is negative or steps is not positive
+     */
+    public void setSleeping(WorldSession session, SleepRequest request) {
+        PhysicsWorld world = session.getWorld();
+        double velocity = request.getVelocityThreshold() != null
+            ? request.getVelocityThreshold()
+            : world.getSleepVelocity();
+        int steps = request.getSteps() != null ? request.getSteps() : world.getSleepSteps();
+        if (velocity < 0 || steps <= 0) {
+            throw new IllegalArgumentException("Velocity threshold must not be negative and steps must be positive");
+        }
+        boolean enabled = request.getEnabled() == null || request.getEnabled();
+        world.execute(w -> {
+            w.setSleeping(enabled, velocity, steps);
+            return null;
+        });
+    }
+
+    /**
+     * Configure the simulation loop.
+     * @param session The world session to operate on
+     * @param tickRate Steps per simulated second (null = unchanged)
+     * @param maxCatchUpSteps Maximum steps per loop iteration when behind (null = unchanged)
+     * @throws IllegalArgumentException if a value is not positive
+     */
+    public void configureLoop(WorldSession session, Double tickRate, Integer maxCatchUpSteps) {
+        FixedTimestepLoop loop = session.getLoop();
+        loop.configure(tickRate != null ? tickRate : loop.getTickRate(),
+                       maxCatchUpSteps != null ? maxCatchUpSteps : loop.getMaxCatchUpSteps());
+    }
+
+    /**
+     * Get simulation loop statistics (tick rate, ticks, real-time ratio).
      */
-    public Map<String, Object> getState() {
-        return physicsWorld.getState();
+    public Map<String, Object> getLoopStats(WorldSession session) {
+        return session.getLoop().getStats();
     }
 
     /**
      * Check if simulation is running.
+     * @param session The world session to operate on
      * @return true if running
      */
-    public boolean isRunning() {
-        return physicsWorld.isRunning();
+    public boolean isRunning(WorldSession session) {
+        return session.getWorld().isRunning();
     }
 }
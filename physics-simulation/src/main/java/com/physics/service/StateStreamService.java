@@ -0,0 +1,260 @@
+package com.physics.service;
+
+import com.physics.engine.DeltaFrameEncoder;
+import com.physics.engine.PhysicsWorld;
+import com.physics.engine.StepListener;
+import com.physics.engine.WorldRegistry;
+import com.physics.model.BodyStore;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service for the binary state streams of the WebSocket endpoint.
+ *
+ * Each streamed world has one DeltaFrameEncoder registered as a step
+ * listener, so a frame is encoded once per step however many clients are
+ * subscribed, and only while at least one is. Frames are sent from a small
+ * sender pool so network I/O never holds up the world. A client has at most
+ * one frame queued and one send in flight, so a slow client neither holds up
+ * the others nor builds a backlog: a keyframe replaces whatever is queued,
+ * and a delta arriving while another is still queued drops both and waits
+ * for the keyframe it asks for, as a delta cannot be applied after a gap.
+ */
+@Service
+public class StateStreamService implements DisposableBean {
+
+    // Limits of the per-client send buffer
+    private static final int SEND_TIME_LIMIT_MS = 1000;
+    private static final int SEND_BUFFER_LIMIT = 1024 * 1024;
+
+    private final WorldRegistry worldRegistry;
+    private final double epsilon;
+    private final int keyframeInterval;
+    private final ExecutorService sender;
+
+    // Active streams by world, and each client by session ID
+    private final Map<PhysicsWorld, WorldStream> streams = new ConcurrentHashMap<>();
+    private final Map<String, Client> clients = new ConcurrentHashMap<>();
+    private final AtomicLong nextThreadId = new AtomicLong(1);
+
+    public StateStreamService(WorldRegistry worldRegistry,
+                              @Value("${simulation.stream.epsilon:0.01}") double epsilon,
+                              @Value("${simulation.stream.keyframe-interval:60}") int keyframeInterval,
+                              @Value("${simulation.stream.threads:2}") int threads) {
+        this.worldRegistry = worldRegistry;
+        this.epsilon = epsilon;
+        this.keyframeInterval = keyframeInterval;
+        this.sender = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "physics-stream-" + nextThreadId.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Subscribe a client to a world's stream. The client is sent a keyframe
+     * right away, so it sees the state of paused worlds too.
+     * @param worldId World ID (null = default world)
+     * @param session The client's WebSocket session
+     * @throws com.physics.engine.WorldNotFoundException if there is no such world
+     */
+    public synchronized void subscribe(String worldId, WebSocketSession session) {
+        PhysicsWorld world = worldRegistry.getWorld(worldId);
+        WorldStream stream = streams.get(world);
+        if (stream == null) {
+            stream = new WorldStream(new DeltaFrameEncoder(epsilon, keyframeInterval));
+            streams.put(world, stream);
+            world.addStepListener(stream);
+        }
+        Client client = new Client(stream, new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS,
+            SEND_BUFFER_LIMIT, ConcurrentWebSocketSessionDecorator.OverflowStrategy.DROP));
+        stream.clients.add(client);
+        clients.put(session.getId(), client);
+        stream.encoder.requestKeyframe();
+        world.runListener(stream);
+    }
+
+    /**
+     * Ask for a keyframe on the client's stream (after it lost track).
+     */
+    public void requestKeyframe(WebSocketSession session) {
+        Client client = clients.get(session.getId());
+        if (client != null) {
+            client.resync();
+        }
+    }
+
+    /**
+     * Unsubscribe a client. A world's encoder is removed with its last client.
+     */
+    public synchronized void unsubscribe(WebSocketSession session) {
+        Client client = clients.remove(session.getId());
+        if (client == null) {
+            return;
+        }
+        WorldStream stream = client.stream;
+        stream.clients.remove(client);
+        if (stream.clients.isEmpty()) {
+            streams.entrySet().removeIf(entry -> {
+                if (entry.getValue() == stream) {
+                    entry.getKey().removeStepListener(stream);
+                    return true;
+                }
+                return false;
+            });
+        }
+    }
+
+    /**
+     * Get the number of subscribed clients.
+     */
+    public int getSubscriberCount() {
+        return clients.size();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        sender.shutdownNow();
+        sender.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stream of one world: encodes a frame after every step and offers it to
+     * every client.
+     */
+    private static final class WorldStream implements StepListener {
+        private final DeltaFrameEncoder encoder;
+        private final CopyOnWriteArraySet<Client> clients = new CopyOnWriteArraySet<>();
+
+        WorldStream(DeltaFrameEncoder encoder) {
+            this.encoder = encoder;
+        }
+
+        @Override
+        public void afterStep(PhysicsWorld world, BodyStore store, long stepCount) {
+            if (clients.isEmpty()) {
+                return;
+            }
+            byte[] frame = encoder.encode(store, stepCount);
+            for (Client client : clients) {
+                client.offer(frame);
+            }
+        }
+    }
+
+    /**
+     * One WebSocket client with its queued frame.
+     */
+    private final class Client {
+        private final WorldStream stream;
+        private final WebSocketSession session;
+
+        // Frame waiting to be sent, and whether deltas are skipped until the
+        // next keyframe (new clients start out waiting for one)
+        private byte[] queued;
+        private boolean resyncing = true;
+
+        // Set while a send is queued or running; frames offered in the
+        // meantime are picked up by the re-check after it
+        private final AtomicBoolean pending = new AtomicBoolean();
+
+        Client(WorldStream stream, WebSocketSession session) {
+            this.stream = stream;
+            this.session = session;
+        }
+
+        /**
+         * Queue a frame, replacing a queued keyframe or resyncing after a gap.
+         */
+        void offer(byte[] frame) {
+            synchronized (this) {
+                if (frame[0] == DeltaFrameEncoder.KEYFRAME) {
+                    queued = frame;
+                    resyncing = false;
+                } else if (resyncing) {
+                    return;
+                } else if (queued != null) {
+                    // The queued frame was not sent in time; this delta alone
+                    // would leave a gap. The send in flight asks for a keyframe
+                    // once it is done, so a stuck client cannot force one per step.
+                    queued = null;
+                    resyncing = true;
+                    return;
+                } else {
+                    queued = frame;
+                }
+            }
+            schedule();
+        }
+
+        /**
+         * Drop what is queued and wait for a keyframe.
+         */
+        void resync() {
+            synchronized (this) {
+                queued = null;
+                resyncing = true;
+            }
+            stream.encoder.requestKeyframe();
+        }
+
+        private synchronized byte[] take() {
+            byte[] frame = queued;
+            queued = null;
+            return frame;
+        }
+
+        private synchronized boolean hasQueued() {
+            return queued != null;
+        }
+
+        private synchronized boolean isResyncing() {
+            return resyncing;
+        }
+
+        private void schedule() {
+            if (!pending.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sender.execute(this::send);
+            } catch (RejectedExecutionException e) {
+                // Sender shut down
+                pending.set(false);
+            }
+        }
+
+        private void send() {
+            byte[] frame = take();
+            if (frame != null) {
+                try {
+                    session.sendMessage(new BinaryMessage(frame));
+                } catch (IOException | IllegalStateException e) {
+                    // Closed or failed sessions are removed by the handler
+                }
+            }
+            pending.set(false);
+            if (isResyncing()) {
+                stream.encoder.requestKeyframe();
+            } else if (hasQueued()) {
+                // A frame was queued while this one was being sent
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.physics.service;
+
+import com.physics.engine.PhysicsWorld;
+import com.physics.engine.StepListener;
+import com.physics.engine.WorldRegistry;
+import com.physics.engine.WorldSnapshot;
+import com.physics.model.BodyStore;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service for the Server-Sent Events tick stream.
+ *
+ * Each world with subscribers has one step listener that only marks its
+ * subscribers as due; the state itself is read and sent from a small sender
+ * pool. A subscriber has at most one send queued or in flight and gets no
+ * more than maxRate events per second, so a slow consumer is always sent
+ * the latest state instead of working through a backlog of old ones.
+ * Nothing is sent while a world is paused, apart from a periodic comment
+ * that detects closed connections.
+ */
+@Service
+public class TickEventService implements DisposableBean {
+
+    // Interval of the keep-alive comment sent to every subscriber
+    private static final long HEARTBEAT_SECONDS = 15;
+
+    private final WorldRegistry worldRegistry;
+    private final double defaultMaxRate;
+    private final ScheduledExecutorService sender;
+
+    // Active event sources by world
+    private final Map<PhysicsWorld, WorldEvents> sources = new ConcurrentHashMap<>();
+    private final AtomicLong nextThreadId = new AtomicLong(1);
+
+    public TickEventService(WorldRegistry worldRegistry,
+                            @Value("${simulation.events.max-rate:30}") double defaultMaxRate,
+                            @Value("${simulation.events.threads:2}") int threads) {
+        if (defaultMaxRate <= 0) {
+            throw new IllegalArgumentException("Default event rate must be positive");
+        }
+        this.worldRegistry = worldRegistry;
+        this.defaultMaxRate = defaultMaxRate;
+        this.sender = Executors.newScheduledThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "physics-events-" + nextThreadId.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sender.scheduleWithFixedDelay(this::heartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Subscribe to a world's tick events. The current state is sent right
+     * away, so a paused world's subscriber sees it too.
+     * @param worldId World ID (null = default world)
+     * @param maxRate Maximum events per second (null = configured default)
+     * @return The emitter to return from the controller
+     * @throws IllegalArgumentException if maxRate is not positive
+     * @throws com.physics.engine.WorldNotFoundException if there is no such world
+     */
+    public synchronized SseEmitter subscribe(String worldId, Double maxRate) {
+        double rate = maxRate != null ? maxRate : defaultMaxRate;
+        if (!(rate > 0)) {
+            throw new IllegalArgumentException("Max rate must be positive");
+        }
+        PhysicsWorld world = worldRegistry.getWorld(worldId);
+
+        SseEmitter emitter = new SseEmitter(0L);
+        WorldEvents source = sources.get(world);
+        if (source == null) {
+            source = new WorldEvents(world);
+            sources.put(world, source);
+            world.addStepListener(source);
+        }
+        Subscriber subscriber = new Subscriber(source, emitter, (long) (1e9 / rate));
+        source.subscribers.add(subscriber);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        subscriber.due();
+        return emitter;
+    }
+
+    /**
+     * Get the number of subscribers.
+     */
+    public int getSubscriberCount() {
+        int count = 0;
+        for (WorldEvents source : sources.values()) {
+            count += source.subscribers.size();
+        }
+        return count;
+    }
+
+    private synchronized void unsubscribe(Subscriber subscriber) {
+        WorldEvents source = subscriber.source;
+        if (source.subscribers.remove(subscriber) && source.subscribers.isEmpty()) {
+            sources.remove(source.world);
+            source.world.removeStepListener(source);
+        }
+    }
+
+    private void heartbeat() {
+        for (WorldEvents source : sources.values()) {
+            for (Subscriber subscriber : source.subscribers) {
+                subscriber.heartbeat();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        for (WorldEvents source : sources.values()) {
+            for (Subscriber subscriber : source.subscribers) {
+                subscriber.emitter.complete();
+            }
+        }
+        sender.shutdownNow();
+        sender.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Event source of one world: marks every subscriber as due after a step.
+     */
+    private static final class WorldEvents implements StepListener {
+        private final PhysicsWorld world;
+        private final CopyOnWriteArraySet<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+
+        WorldEvents(PhysicsWorld world) {
+            this.world = world;
+        }
+
+        @Override
+        public void afterStep(PhysicsWorld world, BodyStore store, long stepCount) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.due();
+            }
+        }
+    }
+
+    /**
+     * One SSE connection with its rate limit.
+     */
+    private final class Subscriber {
+        private final WorldEvents source;
+        private final SseEmitter emitter;
+        private final long minIntervalNanos;
+
+        // Set while a send is queued or running; steps in the meantime are
+        // picked up by that send or by the re-check after it
+        private final AtomicBoolean pending = new AtomicBoolean();
+        private volatile long lastSentNanos;
+        private volatile long lastSentStep = -1;
+        private volatile boolean closed;
+
+        Subscriber(WorldEvents source, SseEmitter emitter, long minIntervalNanos) {
+            this.source = source;
+            this.emitter = emitter;
+            this.minIntervalNanos = minIntervalNanos;
+            this.lastSentNanos = System.nanoTime() - minIntervalNanos;
+        }
+
+        /**
+         * Queue a send of the latest state, no earlier than the rate allows.
+         */
+        void due() {
+            if (closed || !pending.compareAndSet(false, true)) {
+                return;
+            }
+            long delay = lastSentNanos + minIntervalNanos - System.nanoTime();
+            try {
+                sender.schedule(this::send, Math.max(0, delay), TimeUnit.NANOSECONDS);
+            } catch (RuntimeException e) {
+                // Sender shut down
+                pending.set(false);
+            }
+        }
+
+        private void send() {
+            PhysicsWorld world = source.world;
+            WorldSnapshot snapshot = world.getSnapshot();
+            long step = snapshot.getStepCount();
+            try {
+                Map<String, Object> state = snapshot.getState();
+                state.put("step", step);
+                emitter.send(SseEmitter.event()
+                    .name("tick")
+                    .id(Long.toString(step))
+                    .data(state, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                close(e);
+                return;
+            }
+            lastSentStep = step;
+            lastSentNanos = System.nanoTime();
+            pending.set(false);
+            // A step finished while this one was being sent
+            if (world.getStepCount() != lastSentStep) {
+                due();
+            }
+        }
+
+        void heartbeat() {
+            if (closed || pending.get()) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                close(e);
+            }
+        }
+
+        private void close(Exception e) {
+            closed = true;
+            emitter.completeWithError(e);
+            unsubscribe(this);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.physics.engine;
+
+import com.physics.model.CircleBody;
+import com.physics.model.PhysicsBody;
+import com.physics.model.RectangleBody;
+import com.physics.model.SquareBody;
+import com.physics.model.Vector2D;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks continuous collision of fast bodies with every broadphase.
+ */
+class FastBodySweepTest {
+
+    private static final double DT = 1.0 / 60.0;
+
+    @ParameterizedTest
+    @EnumSource(BroadphaseType.class)
+    void fastBodyDoesNotTunnelThroughThinWall(BroadphaseType type) {
+        PhysicsWorld world = new PhysicsWorld();
+        world.setBroadphase(type.create(0));
+        world.setGravity(0, 0);
+        world.addObject(new RectangleBody(1, 0, new Vector2D(100, -50), new Vector2D(), 2, 100));
+        // 50 units per step against a wall 2 units thick
+        SquareBody bullet = new SquareBody(2, 1.0, new Vector2D(0, 0), new Vector2D(3000, 0), 2);
+        bullet.setFast(true);
+        world.addObject(bullet);
+
+        for (int i = 0; i < 10; i++) {
+            world.step(DT);
+        }
+        double x = world.getObject(2).map(PhysicsBody::getPosition).orElseThrow().x;
+        assertTrue(x < 100, "bullet should stay in front of the wall, x = " + x);
+    }
+
+    /**
+     * Fast bodies crossing paths with each other and with slow bodies: every
+     * broadphase must find the same impacts as the brute-force scan.
+     */
+    @ParameterizedTest
+    @EnumSource(BroadphaseType.class)
+    void sweepMatchesBruteForce(BroadphaseType type) {
+        assertArrayEquals(runScene(BroadphaseType.BRUTE_FORCE), runScene(type));
+    }
+
+    private static double[] runScene(BroadphaseType type) {
+        PhysicsWorld world = new PhysicsWorld();
+        world.setBroadphase(type.create(0));
+        world.setGravity(0, 0);
+
+        // Thin static walls around a 400 x 400 arena
+        world.addObject(new RectangleBody(0, 0, new Vector2D(-2, -2), new Vector2D(), 404, 2));
+        world.addObject(new RectangleBody(0, 0, new Vector2D(-2, 400), new Vector2D(), 404, 2));
+        world.addObject(new RectangleBody(0, 0, new Vector2D(-2, 0), new Vector2D(), 2, 400));
+        world.addObject(new RectangleBody(0, 0, new Vector2D(400, 0), new Vector2D(), 2, 400));
+
+        Random random = new Random(7);
+        int bodies = 60;
+        for (int i = 0; i < bodies; i++) {
+            Vector2D position = new Vector2D(20 + random.nextDouble() * 360, 20 + random.nextDouble() * 360);
+            boolean fast = i % 3 == 0;
+            double speed = fast ? 1500 : 60;
+            Vector2D velocity = new Vector2D((random.nextDouble() * 2 - 1) * speed, (random.nextDouble() * 2 - 1) * speed);
+            PhysicsBody body = i % 2 == 0
+                    ? new CircleBody(100 + i, 1.0, position, velocity, 3.0)
+                    : new SquareBody(100 + i, 1.0, position, velocity, 5.0);
+            body.setFast(fast);
+            world.addObject(body);
+        }
+
+        for (int i = 0; i < 120; i++) {
+            world.step(DT);
+        }
+        double[] positions = new double[2 * bodies];
+        for (int i = 0; i < bodies; i++) {
+            Vector2D position = world.getObject(100 + i).map(PhysicsBody::getPosition).orElseThrow();
+            positions[2 * i] = position.x;
+            positions[2 * i + 1] = position.y;
+        }
+        return positions;
+    }
+}
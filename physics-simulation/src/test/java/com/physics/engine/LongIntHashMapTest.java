@@ -0,0 +1,113 @@
+package com.physics.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for LongIntHashMap, including entries left behind by clear() and
+ * probe runs shifted back by remove().
+ */
+class LongIntHashMapTest {
+
+    @Test
+    void putAndGet() {
+        LongIntHashMap map = new LongIntHashMap();
+        for (int i = 0; i < 1_000; i++) {
+            map.put(key(i), i);
+        }
+        map.put(key(7), -7);
+
+        assertEquals(1_000, map.size());
+        assertEquals(-7, map.get(key(7), -1));
+        for (int i = 0; i < 1_000; i++) {
+            if (i != 7) {
+                assertEquals(i, map.get(key(i), -1));
+            }
+        }
+        assertEquals(-1, map.get(key(1_000), -1));
+    }
+
+    @Test
+    void clearedEntriesStayGoneAcrossGenerations() {
+        LongIntHashMap map = new LongIntHashMap(16);
+        for (int generation = 0; generation < 50; generation++) {
+            // Each generation keeps a different, overlapping range of keys
+            int first = generation * 10;
+            for (int i = first; i < first + 20; i++) {
+                map.put(key(i), generation);
+            }
+            assertEquals(20, map.size());
+            for (int i = 0; i < first + 30; i++) {
+                int expected = i >= first && i < first + 20 ? generation : -1;
+                assertEquals(expected, map.get(key(i), -1), "key " + i + " in generation " + generation);
+            }
+            map.clear();
+            assertEquals(0, map.size());
+            assertEquals(-1, map.get(key(first), -1));
+        }
+    }
+
+    @Test
+    void growAfterClearDropsOldGenerations() {
+        LongIntHashMap map = new LongIntHashMap(16);
+        for (int i = 0; i < 10; i++) {
+            map.put(key(i), i);
+        }
+        map.clear();
+        // Enough new keys to grow the table several times
+        for (int i = 100; i < 400; i++) {
+            map.put(key(i), i);
+        }
+
+        assertEquals(300, map.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(-1, map.get(key(i), -1));
+        }
+        for (int i = 100; i < 400; i++) {
+            assertEquals(i, map.get(key(i), -1));
+        }
+    }
+
+    @Test
+    void putReplacesValueAfterClear() {
+        LongIntHashMap map = new LongIntHashMap();
+        map.put(key(1), 1);
+        map.clear();
+        map.put(key(1), 2);
+        map.put(key(1), 3);
+
+        assertEquals(1, map.size());
+        assertEquals(3, map.get(key(1), -1));
+    }
+
+    @Test
+    void lookupsWorkAfterBackwardShiftRemoval() {
+        // Small table and body-ID keys, so probe runs are long and wrap around
+        LongIntHashMap map = new LongIntHashMap(16);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++) {
+            long id = random.nextInt(40);
+            if (random.nextBoolean()) {
+                map.put(id, i);
+                expected.put(id, i);
+            } else {
+                assertEquals(expected.remove(id) != null, map.remove(id));
+            }
+            assertEquals(expected.size(), map.size());
+            for (long k = 0; k < 40; k++) {
+                assertEquals(expected.getOrDefault(k, -1), map.get(k, -1), "key " + k + " after operation " + i);
+            }
+        }
+    }
+
+    // Packed body-ID pairs, like the solver's and the collision cache's keys
+    private static long key(int i) {
+        return ((long) i << 32) | (i + 1);
+    }
+}
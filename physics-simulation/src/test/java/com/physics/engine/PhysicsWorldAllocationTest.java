@@ -0,0 +1,120 @@
+package com.physics.engine;
+
+import com.physics.model.CircleBody;
+import com.physics.model.RectangleBody;
+import com.physics.model.SquareBody;
+import com.physics.model.Vector2D;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that a steady-state PhysicsWorld.step() does not allocate.
+ *
+ * Bodies bounce around inside a closed box of static walls, so every measured
+ * step runs force accumulation, integration, the broadphase and contact
+ * resolution. Allocation is read from the per-thread allocation counter.
+ */
+class PhysicsWorldAllocationTest {
+
+    private static final double DT = 1.0 / 60.0;
+    private static final int WARMUP_STEPS = 5_000;
+    private static final int MEASURED_STEPS = 500;
+
+    private static com.sun.management.ThreadMXBean threadBean;
+
+    @BeforeAll
+    static void setUpThreadBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "thread allocation counter not available");
+        threadBean = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported(), "thread allocation counter not supported");
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @ParameterizedTest
+    @EnumSource(BroadphaseType.class)
+    void steadyStateStepDoesNotAllocate(BroadphaseType type) {
+        assertStepDoesNotAllocate(createBoxedWorld(type));
+    }
+
+    @Test
+    void graphColoringStepDoesNotAllocate() {
+        PhysicsWorld world = createBoxedWorld(BroadphaseType.SPATIAL_HASH);
+        world.setContactSolver(ContactSolverMode.GRAPH_COLORING);
+        assertStepDoesNotAllocate(world);
+    }
+
+    @Test
+    void sequentialImpulseStepDoesNotAllocate() {
+        PhysicsWorld world = createBoxedWorld(BroadphaseType.SPATIAL_HASH);
+        world.setContactSolver(ContactSolverMode.SEQUENTIAL_IMPULSE);
+        assertStepDoesNotAllocate(world);
+    }
+
+    private static void assertStepDoesNotAllocate(PhysicsWorld world) {
+        for (int i = 0; i < WARMUP_STEPS; i++) {
+            world.step(DT);
+        }
+
+        long overhead = measureOverhead();
+        long threadId = Thread.currentThread().getId();
+        int collisions = 0;
+
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_STEPS; i++) {
+            world.step(DT);
+            collisions += world.getCollisionCount();
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before - overhead;
+
+        assertTrue(collisions > 0, "scene should produce contacts while measuring");
+        assertEquals(0, allocated, "bytes allocated over " + MEASURED_STEPS + " steps");
+    }
+
+    /**
+     * Bytes reported for two back-to-back reads of the counter with nothing in between.
+     */
+    private static long measureOverhead() {
+        long threadId = Thread.currentThread().getId();
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            long start = threadBean.getThreadAllocatedBytes(threadId);
+            long end = threadBean.getThreadAllocatedBytes(threadId);
+            overhead = Math.min(overhead, end - start);
+        }
+        return overhead;
+    }
+
+    private static PhysicsWorld createBoxedWorld(BroadphaseType type) {
+        PhysicsWorld world = new PhysicsWorld();
+        world.setBroadphase(type.create(0));
+        world.setGravity(0, 0);
+
+        // Static walls (mass 0) enclosing a 200 x 200 arena
+        world.addObject(new RectangleBody(0, 0, new Vector2D(-50, -50), new Vector2D(), 300, 50));
+        world.addObject(new RectangleBody(0, 0, new Vector2D(-50, 200), new Vector2D(), 300, 50));
+        world.addObject(new RectangleBody(0, 0, new Vector2D(-50, 0), new Vector2D(), 50, 200));
+        world.addObject(new RectangleBody(0, 0, new Vector2D(200, 0), new Vector2D(), 50, 200));
+
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            Vector2D position = new Vector2D(10 + random.nextDouble() * 180, 10 + random.nextDouble() * 180);
+            Vector2D velocity = new Vector2D(random.nextDouble() * 40 - 20, random.nextDouble() * 40 - 20);
+            if (i % 2 == 0) {
+                world.addObject(new CircleBody(0, 1.0, position, velocity, 2.0));
+            } else {
+                world.addObject(new SquareBody(0, 1.0, position, velocity, 3.0));
+            }
+        }
+        return world;
+    }
+}
@@ -0,0 +1,88 @@
+package com.physics.engine;
+
+import com.physics.model.CircleBody;
+import com.physics.model.PhysicsBody;
+import com.physics.model.SquareBody;
+import com.physics.model.Vector2D;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks lookups by ID, point and region queries, and that query results
+ * are detached from the world.
+ */
+class PhysicsWorldQueryTest {
+
+    private static final double DT = 1.0 / 60.0;
+
+    @ParameterizedTest
+    @EnumSource(value = BroadphaseType.class, names = {"BRUTE_FORCE", "DYNAMIC_TREE"})
+    void queriesFindBodiesInRegionAndAtPoint(BroadphaseType type) {
+        PhysicsWorld world = createWorld(type);
+
+        List<PhysicsBody> region = world.queryRegion(0, 0, 50, 50);
+        assertEquals(List.of(1, 2), region.stream().map(PhysicsBody::getId).toList());
+
+        // Inside the circle's bounds but outside the circle itself
+        assertEquals(List.of(), world.queryPoint(0.5, 0.5));
+        List<PhysicsBody> point = world.queryPoint(10, 10);
+        assertEquals(1, point.size());
+        assertEquals(1, point.get(0).getId());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BroadphaseType.class, names = {"BRUTE_FORCE", "DYNAMIC_TREE"})
+    void queryResultsAreDetached(BroadphaseType type) {
+        PhysicsWorld world = createWorld(type);
+        PhysicsBody fromRegion = world.queryRegion(0, 0, 50, 50).get(0);
+        PhysicsBody fromPoint = world.queryPoint(10, 10).get(0);
+
+        // Stepping the world does not move the results
+        world.step(DT);
+        assertEquals(10, fromRegion.getPosition().x, 0);
+        assertEquals(10, fromPoint.getPosition().x, 0);
+
+        // Changing a result does not move the body in the world
+        fromRegion.setPosition(new Vector2D(500, 500));
+        assertEquals(10 + 60 * DT, world.getObject(1).orElseThrow().getPosition().x, 1e-9);
+    }
+
+    @Test
+    void lookupByIdFollowsBodiesMovedByRemoval() {
+        PhysicsWorld world = new PhysicsWorld();
+        for (int i = 1; i <= 10; i++) {
+            world.addObject(new SquareBody(i, 1.0, new Vector2D(i * 10, 0), new Vector2D(), 2));
+        }
+        // Each removal moves the last body into the freed slot
+        world.removeObjects(new int[] {1, 4, 5});
+        // The new body takes the slot that was freed last
+        world.addObject(new SquareBody(0, 1.0, new Vector2D(500, 0), new Vector2D(), 2));
+
+        for (int id : new int[] {1, 4, 5}) {
+            assertTrue(world.getObject(id).isEmpty());
+            assertFalse(world.removeObject(id));
+        }
+        for (int id : new int[] {2, 3, 6, 7, 8, 9, 10}) {
+            assertEquals(id * 10, world.getObject(id).orElseThrow().getPosition().x, 0);
+        }
+        assertEquals(500, world.getObject(11).orElseThrow().getPosition().x, 0);
+        assertEquals(8, world.getObjectCount());
+    }
+
+    private static PhysicsWorld createWorld(BroadphaseType type) {
+        PhysicsWorld world = new PhysicsWorld();
+        world.setBroadphase(type.create(0));
+        world.setGravity(0, 0);
+        world.addObject(new CircleBody(1, 1.0, new Vector2D(10, 10), new Vector2D(60, 0), 10));
+        world.addObject(new SquareBody(2, 1.0, new Vector2D(30, 30), new Vector2D(), 5));
+        world.addObject(new SquareBody(3, 1.0, new Vector2D(200, 200), new Vector2D(), 5));
+        return world;
+    }
+}
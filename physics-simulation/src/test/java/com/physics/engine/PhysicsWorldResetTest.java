@@ -0,0 +1,49 @@
+package com.physics.engine;
+
+import com.physics.model.CircleBody;
+import com.physics.model.PhysicsBody;
+import com.physics.model.SquareBody;
+import com.physics.model.Vector2D;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+/**
+ * Checks that bodies cleared out by reset() keep their state apart from
+ * the world, and that the world can be filled again afterwards.
+ */
+class PhysicsWorldResetTest {
+
+    private static final double DT = 1.0 / 60.0;
+
+    @Test
+    void clearedBodiesKeepTheirStateAfterReset() {
+        PhysicsWorld world = new PhysicsWorld();
+        world.setGravity(0, 0);
+        for (int i = 1; i <= 20; i++) {
+            world.addObject(new SquareBody(i, 1.0, new Vector2D(i * 20, 0), new Vector2D(i, 0), 5));
+        }
+        world.step(DT);
+        PhysicsBody first = world.getObject(1).orElseThrow();
+        PhysicsBody last = world.getObject(20).orElseThrow();
+
+        world.reset();
+        assertEquals(20 + DT, first.getPosition().x, 1e-9);
+        assertEquals(400 + 20 * DT, last.getPosition().x, 1e-9);
+
+        // Old views change independently of each other and of the world
+        first.setPosition(new Vector2D(-5, -5));
+        assertEquals(400 + 20 * DT, last.getPosition().x, 1e-9);
+
+        world.setGravity(0, 0);
+        world.addObject(new CircleBody(1, 1.0, new Vector2D(0, 0), new Vector2D(60, 0), 2));
+        world.addObject(last);
+        world.step(DT);
+        assertEquals(2, world.getObjectCount());
+        assertEquals(1, world.getObject(1).orElseThrow().getPosition().x, 1e-9);
+        assertEquals(400 + 40 * DT, world.getObject(20).orElseThrow().getPosition().x, 1e-9);
+        assertEquals(-5, first.getPosition().x, 0);
+        assertNotSame(world.getObject(1).orElseThrow().getStore(), first.getStore());
+    }
+}
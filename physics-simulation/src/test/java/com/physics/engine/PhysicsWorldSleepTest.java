@@ -0,0 +1,88 @@
+package com.physics.engine;
+
+import com.physics.model.PhysicsBody;
+import com.physics.model.RectangleBody;
+import com.physics.model.SquareBody;
+import com.physics.model.Vector2D;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that sleeping bodies are woken when the body supporting them is
+ * removed or moved away outside of a step.
+ */
+class PhysicsWorldSleepTest {
+
+    private static final double DT = 1.0 / 60.0;
+    private static final int FLOOR_ID = 1;
+    private static final int BOX_ID = 2;
+
+    @ParameterizedTest
+    @EnumSource(BroadphaseType.class)
+    void removingStaticFloorWakesBoxResting(BroadphaseType type) {
+        PhysicsWorld world = createSleepingBoxOnFloor(type);
+        double restingY = boxY(world);
+
+        assertTrue(world.removeObject(FLOOR_ID));
+        assertFalse(world.isAllSleeping(), "box should wake when its floor is removed");
+
+        stepFor(world, 60);
+        assertTrue(boxY(world) > restingY + 1, "box should fall once its floor is gone");
+    }
+
+    @ParameterizedTest
+    @EnumSource(BroadphaseType.class)
+    void movingStaticFloorAwayWakesBoxResting(BroadphaseType type) {
+        PhysicsWorld world = createSleepingBoxOnFloor(type);
+        double restingY = boxY(world);
+
+        // What an API update of the floor's position does
+        world.wakeTouching(FLOOR_ID);
+        world.getObject(FLOOR_ID).orElseThrow().setPosition(new Vector2D(500, 100));
+        world.invalidateBounds();
+        world.wakeObject(FLOOR_ID);
+        assertFalse(world.isAllSleeping(), "box should wake when its floor moves away");
+
+        stepFor(world, 60);
+        assertTrue(boxY(world) > restingY + 1, "box should fall once its floor moved away");
+    }
+
+    @ParameterizedTest
+    @EnumSource(BroadphaseType.class)
+    void removingDistantBodyLeavesBoxAsleep(BroadphaseType type) {
+        PhysicsWorld world = createSleepingBoxOnFloor(type);
+        world.addObject(new SquareBody(3, 0, new Vector2D(150, 0), new Vector2D(), 10));
+
+        assertTrue(world.removeObject(3));
+        assertTrue(world.isAllSleeping());
+        assertEquals(1, world.getSleepingCount());
+    }
+
+    private static PhysicsWorld createSleepingBoxOnFloor(BroadphaseType type) {
+        PhysicsWorld world = new PhysicsWorld();
+        world.setBroadphase(type.create(0));
+        world.setGravity(0, 9.81);
+        world.addObject(new RectangleBody(FLOOR_ID, 0, new Vector2D(0, 100), new Vector2D(), 200, 20));
+        world.addObject(new SquareBody(BOX_ID, 1.0, new Vector2D(50, 85), new Vector2D(), 10));
+
+        for (int i = 0; i < 1_000 && !world.isAllSleeping(); i++) {
+            world.step(DT);
+        }
+        assertTrue(world.isAllSleeping(), "box should come to rest and sleep on the floor");
+        return world;
+    }
+
+    private static void stepFor(PhysicsWorld world, int steps) {
+        for (int i = 0; i < steps; i++) {
+            world.step(DT);
+        }
+    }
+
+    private static double boxY(PhysicsWorld world) {
+        return world.getObject(BOX_ID).map(PhysicsBody::getPosition).orElseThrow().y;
+    }
+}
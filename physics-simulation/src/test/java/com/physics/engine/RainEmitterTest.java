@@ -0,0 +1,44 @@
+package com.physics.engine;
+
+import com.physics.model.BodyStore;
+import com.physics.model.PhysicsBody;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the rain emitter adds its bodies into the world's own store.
+ */
+class RainEmitterTest {
+
+    private static final double DT = 1.0 / 60.0;
+
+    @Test
+    void emitsAtRateIntoWorldStore() {
+        PhysicsWorld world = new PhysicsWorld();
+        BodyGenerator generator = new BodyGenerator(BodyGenerator.Shape.MIXED, 1, 2, 1, 2, 7);
+        // 6 bodies per step
+        world.addEmitter(new RainEmitter(generator, 360, 100, 0, 1000, 0));
+
+        for (int i = 0; i < 10; i++) {
+            world.step(DT);
+        }
+        assertEquals(60, world.getObjectCount());
+        // The emitter stops after its last 4 bodies
+        for (int i = 0; i < 7; i++) {
+            world.step(DT);
+        }
+        assertEquals(100, world.getObjectCount());
+
+        Set<BodyStore> stores = new HashSet<>();
+        for (int id = 1; id <= 100; id++) {
+            PhysicsBody body = world.getObject(id).orElseThrow();
+            stores.add(body.getStore());
+        }
+        assertEquals(1, stores.size());
+        assertEquals(0, world.getEmitterCount());
+    }
+}
@@ -0,0 +1,124 @@
+package com.physics.engine;
+
+import com.physics.model.BodyStore;
+import com.physics.model.RectangleBody;
+import com.physics.model.SquareBody;
+import com.physics.model.Vector2D;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Behaviour tests for SequentialImpulseSolver: stacks settle, and cached
+ * impulses warm-start a contact whichever of its bodies comes first.
+ */
+class SequentialImpulseSolverTest {
+
+    private static final double DT = 1.0 / 60.0;
+    private static final double GRAVITY = 9.81;
+    private static final double BOX_SIZE = 10;
+    private static final double FLOOR_Y = 100;
+    private static final int STACK_HEIGHT = 5;
+
+    @Test
+    void stackComesToRest() {
+        PhysicsWorld world = new PhysicsWorld();
+        world.setContactSolver(ContactSolverMode.SEQUENTIAL_IMPULSE);
+        world.setSleeping(false, 0, 1);
+        world.setGravity(0, GRAVITY);
+        world.addObject(new RectangleBody(1, 0, new Vector2D(-50, FLOOR_Y), new Vector2D(), 200, 20));
+        // Boxes dropped with small gaps, so the stack has to land and settle
+        for (int k = 0; k < STACK_HEIGHT; k++) {
+            double y = FLOOR_Y - (k + 1) * (BOX_SIZE + 1);
+            world.addObject(new SquareBody(k + 2, 1.0, new Vector2D(0, y), new Vector2D(), BOX_SIZE));
+        }
+
+        for (int i = 0; i < 600; i++) {
+            world.step(DT);
+        }
+
+        for (int k = 0; k < STACK_HEIGHT; k++) {
+            int id = k + 2;
+            Vector2D position = world.getObject(id).orElseThrow().getPosition();
+            Vector2D velocity = world.getObject(id).orElseThrow().getVelocity();
+            double restingY = FLOOR_Y - (k + 1) * BOX_SIZE;
+            assertEquals(restingY, position.y, 0.5, "box " + k + " should rest on the one below");
+            assertEquals(0, position.x, 1e-9, "box " + k + " should not drift sideways");
+            assertTrue(Math.hypot(velocity.x, velocity.y) < 0.05, "box " + k + " should be at rest, speed "
+                       + Math.hypot(velocity.x, velocity.y));
+        }
+    }
+
+    @Test
+    void warmStartIgnoresBodyOrderOfPair() {
+        BodyStore sameOrder = createStack();
+        BodyStore swappedOrder = createStack();
+        BodyStore cold = createStack();
+        SequentialImpulseSolver sameSolver = createSolver();
+        SequentialImpulseSolver swappedSolver = createSolver();
+        SequentialImpulseSolver coldSolver = createSolver();
+
+        // First step: identical in all three, and fills the impulse caches
+        solve(sameSolver, sameOrder, false);
+        solve(swappedSolver, swappedOrder, false);
+        solve(coldSolver, cold, false);
+        coldSolver.reset();
+
+        // Second step: every pair reported with its bodies the other way round
+        solve(sameSolver, sameOrder, false);
+        solve(swappedSolver, swappedOrder, true);
+        solve(coldSolver, cold, false);
+
+        assertEquals(3, sameSolver.getWarmStartedCount());
+        assertEquals(3, swappedSolver.getWarmStartedCount());
+        assertEquals(0, coldSolver.getWarmStartedCount());
+        for (int slot = 1; slot < sameOrder.size(); slot++) {
+            assertEquals(sameOrder.getVelX(slot), swappedOrder.getVelX(slot), 1e-9);
+            assertEquals(sameOrder.getVelY(slot), swappedOrder.getVelY(slot), 1e-9);
+            assertEquals(sameOrder.getPosY(slot), swappedOrder.getPosY(slot), 1e-9);
+        }
+        // With a single iteration the cached impulses visibly change the result
+        double difference = 0;
+        for (int slot = 1; slot < sameOrder.size(); slot++) {
+            difference += Math.abs(sameOrder.getVelY(slot) - cold.getVelY(slot));
+        }
+        assertTrue(difference > 1e-6, "warm start should change a one-iteration solve");
+    }
+
+    private static SequentialImpulseSolver createSolver() {
+        SequentialImpulseSolver solver = new SequentialImpulseSolver();
+        solver.setIterations(1);
+        return solver;
+    }
+
+    /**
+     * A static floor (slot 0) under three slightly overlapping boxes (slots 1-3).
+     */
+    private static BodyStore createStack() {
+        BodyStore store = new BodyStore(4);
+        new RectangleBody(store, 1, 0, new Vector2D(-50, FLOOR_Y), new Vector2D(), 200, 20);
+        for (int k = 0; k < 3; k++) {
+            double y = FLOOR_Y - (k + 1) * (BOX_SIZE - 0.5);
+            new SquareBody(store, k + 2, 1.0, new Vector2D(0, y), new Vector2D(), BOX_SIZE);
+        }
+        return store;
+    }
+
+    /**
+     * One solve of the stack's contacts after gravity and a sideways push
+     * were applied to every box.
+     */
+    private static void solve(SequentialImpulseSolver solver, BodyStore store, boolean swapped) {
+        for (int slot = 1; slot < store.size(); slot++) {
+            store.setVelocity(slot, store.getVelX(slot) + 0.5, store.getVelY(slot) + GRAVITY * DT);
+        }
+        int[] lower = {0, 1, 2};
+        int[] upper = {1, 2, 3};
+        if (swapped) {
+            solver.solve(store, 3, lower, upper);
+        } else {
+            solver.solve(store, 3, upper, lower);
+        }
+    }
+}
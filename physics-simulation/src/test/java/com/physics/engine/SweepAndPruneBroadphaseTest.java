@@ -0,0 +1,69 @@
+package com.physics.engine;
+
+import com.physics.model.PhysicsBody;
+import com.physics.model.RectangleBody;
+import com.physics.model.SquareBody;
+import com.physics.model.Vector2D;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Regression tests for endpoint ordering in SweepAndPruneBroadphase.
+ */
+class SweepAndPruneBroadphaseTest {
+
+    private static final double DT = 1.0 / 60.0;
+    private static final double GRAVITY = 9.81;
+    private static final int STEPS = 240;
+    private static final double BOX_SIZE = 10;
+    private static final double BOX_START_Y = 80;
+
+    /**
+     * The floor is placed where the falling box's bottom edge lands after the
+     * first step, so the first sort sees the box's max endpoint tied with the
+     * floor's min endpoint. The pair must still be found once the box sinks
+     * into the floor, leaving the box where the other broadphases leave it.
+     */
+    @Test
+    void boxTouchingStaticFloorDoesNotFallThrough() {
+        double floorY = boxYAfterFirstStep() + BOX_SIZE;
+
+        double sweepY = settleBoxOnFloor(BroadphaseType.SWEEP_AND_PRUNE, floorY);
+        double bruteForceY = settleBoxOnFloor(BroadphaseType.BRUTE_FORCE, floorY);
+
+        assertEquals(bruteForceY, sweepY, 1e-9);
+        assertEquals(floorY - BOX_SIZE, sweepY, 0.5);
+    }
+
+    private static double boxYAfterFirstStep() {
+        PhysicsWorld world = new PhysicsWorld();
+        world.setGravity(0, GRAVITY);
+        world.addObject(createBox());
+        world.step(DT);
+        return boxY(world);
+    }
+
+    private static double settleBoxOnFloor(BroadphaseType type, double floorY) {
+        PhysicsWorld world = new PhysicsWorld();
+        world.setBroadphase(type.create(0));
+        world.setGravity(0, GRAVITY);
+
+        // Floor first, so the first sort puts its min endpoint ahead of the tied box max
+        world.addObject(new RectangleBody(1, 0, new Vector2D(0, floorY), new Vector2D(), 200, 20));
+        world.addObject(createBox());
+
+        for (int i = 0; i < STEPS; i++) {
+            world.step(DT);
+        }
+        return boxY(world);
+    }
+
+    private static SquareBody createBox() {
+        return new SquareBody(2, 1.0, new Vector2D(50, BOX_START_Y), new Vector2D(), BOX_SIZE);
+    }
+
+    private static double boxY(PhysicsWorld world) {
+        return world.getObject(2).map(PhysicsBody::getPosition).orElseThrow().y;
+    }
+}
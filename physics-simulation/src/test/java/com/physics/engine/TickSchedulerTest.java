@@ -0,0 +1,79 @@
+package com.physics.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Checks that world commands still get applied once the scheduler that
+ * steps the world has been closed, or after a command or tick failed.
+ */
+class TickSchedulerTest {
+
+    @Test
+    void executeAfterCloseAppliesOnCaller() throws InterruptedException {
+        TickScheduler scheduler = new TickScheduler(1, 8);
+        PhysicsWorld world = new PhysicsWorld();
+        new FixedTimestepLoop(world, scheduler, 60, 5);
+        scheduler.close();
+
+        long steps = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> world.execute(w -> {
+            w.step(1.0 / 60.0);
+            return w.getStepCount();
+        }));
+        assertEquals(1L, steps);
+    }
+
+    @Test
+    void submittedCommandsAreAppliedBeforeClose() throws InterruptedException {
+        TickScheduler scheduler = new TickScheduler(1, 8);
+        PhysicsWorld world = new PhysicsWorld();
+        new FixedTimestepLoop(world, scheduler, 60, 5);
+
+        long steps = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> world.execute(w -> {
+            w.step(1.0 / 60.0);
+            return w.getStepCount();
+        }));
+        scheduler.close();
+        assertEquals(1L, steps);
+    }
+
+    @Test
+    void errorInCommandCompletesItsExecute() throws InterruptedException {
+        TickScheduler scheduler = new TickScheduler(1, 8);
+        PhysicsWorld world = new PhysicsWorld();
+        new FixedTimestepLoop(world, scheduler, 60, 5);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertThrows(StackOverflowError.class, () -> world.execute(w -> {
+                throw new StackOverflowError();
+            }));
+            assertEquals(0L, world.execute(PhysicsWorld::getStepCount));
+        });
+        scheduler.close();
+    }
+
+    @Test
+    void errorInTickPausesWorldAndKeepsItSchedulable() throws InterruptedException {
+        TickScheduler scheduler = new TickScheduler(1, 8);
+        PhysicsWorld world = new PhysicsWorld();
+        FixedTimestepLoop loop = new FixedTimestepLoop(world, scheduler, 60, 5);
+        world.addStepListener((w, store, stepCount) -> {
+            throw new AssertionError("listener failed");
+        });
+        world.start();
+        loop.wakeUp();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            while (world.isRunning()) {
+                Thread.sleep(10);
+            }
+            assertEquals(1L, world.execute(PhysicsWorld::getStepCount));
+        });
+        scheduler.close();
+    }
+}
@@ -0,0 +1,40 @@
+package com.physics.engine;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that destroying a world releases what it borrowed from shared pools.
+ */
+class WorldRegistryTest {
+
+    private WorldRegistry registry;
+
+    @BeforeEach
+    void createRegistry() {
+        registry = new WorldRegistry(60, 5, 1, 8);
+    }
+
+    @AfterEach
+    void closeRegistry() throws InterruptedException {
+        registry.close();
+    }
+
+    @Test
+    void destroyReleasesParallelStepPool() {
+        WorldSession session = registry.create("parallel", null, null);
+        PhysicsWorld world = session.getWorld();
+        world.execute(w -> {
+            w.setParallelism(4, 0);
+            return null;
+        });
+        assertEquals(4, world.getParallelism());
+
+        registry.destroy("parallel");
+
+        assertEquals(1, world.getParallelism());
+    }
+}
@@ -0,0 +1,69 @@
+package com.physics.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that bodies removed from a store keep their state in shared
+ * detached stores instead of one store each, and the reuse of staging stores.
+ */
+class BodyStoreTest {
+
+    @Test
+    void removedBodiesShareDetachedStoresAndKeepTheirState() {
+        BodyStore store = new BodyStore();
+        List<PhysicsBody> bodies = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            bodies.add(new SquareBody(store, i + 1, 1.0, new Vector2D(i, -i), new Vector2D(2 * i, 0), 1));
+        }
+        // Remove from the front, so every removal moves the last body
+        while (store.size() > 0) {
+            store.remove(0);
+        }
+
+        Map<BodyStore, Integer> stores = new IdentityHashMap<>();
+        for (int i = 0; i < bodies.size(); i++) {
+            PhysicsBody body = bodies.get(i);
+            assertNotSame(store, body.getStore());
+            assertEquals(i + 1, body.getId());
+            assertEquals(i, body.getPosition().x, 0);
+            assertEquals(-i, body.getPosition().y, 0);
+            assertEquals(2 * i, body.getVelocity().x, 0);
+            stores.merge(body.getStore(), 1, Integer::sum);
+        }
+        assertEquals(4, stores.size());
+
+        // Detached bodies change independently of each other
+        bodies.get(0).setPosition(new Vector2D(-1, -1));
+        assertEquals(1, bodies.get(1).getPosition().x, 0);
+    }
+
+    @Test
+    void clearMovedEmptiesStagingStoreOnlyOnceBodiesMovedOut() {
+        BodyStore staging = new BodyStore(4);
+        BodyStore target = new BodyStore();
+        PhysicsBody first = new CircleBody(staging, 1, 1.0, new Vector2D(1, 2), new Vector2D(), 1);
+        target.add(first);
+        PhysicsBody second = new CircleBody(staging, 2, 1.0, new Vector2D(3, 4), new Vector2D(), 1);
+        assertThrows(IllegalStateException.class, staging::clearMoved);
+
+        target.add(second);
+        staging.clearMoved();
+        assertEquals(0, staging.size());
+        // Reused slots start from a clean state
+        PhysicsBody third = new CircleBody(staging, 3, 2.0, new Vector2D(5, 6), new Vector2D(), 1);
+        assertEquals(0, third.getSlot());
+        assertEquals(1, first.getPosition().x, 0);
+        assertEquals(3, second.getPosition().x, 0);
+        assertEquals(5, third.getPosition().x, 0);
+        assertEquals(2, target.size());
+    }
+}